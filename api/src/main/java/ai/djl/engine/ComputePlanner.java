@@ -0,0 +1,302 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@code ComputePlanner} shares the CPUs of the host between the models and predictor pools of the
+ * process.
+ *
+ * <p>Engines size their intra-op thread pools for the whole machine by default, so several models
+ * or concurrent predictors running on the same host oversubscribe the cores. The planner assigns a
+ * set of CPUs to each {@link Allocation} based on the {@link CpuTopology}: the CPU quota of the
+ * cgroup, the cpuset of the process and the NUMA nodes. It prefers CPUs that are not used by
+ * another allocation, and keeps the CPUs of an allocation on a single NUMA node when possible.
+ *
+ * <p>The plan is advisory, neither the planner nor the engines apply it. The number of intra-op
+ * threads of an allocation is meant to configure the engine when the model is loaded, for example
+ * with the {@code intraOpNumThreads} option of the {@link ai.djl.repository.zoo.Criteria} for
+ * OnnxRuntime. The thread count of PyTorch is global to the process, set the {@code
+ * ai.djl.pytorch.num_threads} system property to the intra-op threads of the allocations. The CPU
+ * sets can be used to pin the process or its native threads, for example with {@code taskset} or
+ * {@code numactl}. The current plan is returned by {@link #getAllocations()} and {@link
+ * #toString()}.
+ */
+public final class ComputePlanner {
+
+    private static final ComputePlanner INSTANCE = new ComputePlanner(CpuTopology.getInstance());
+
+    private CpuTopology topology;
+    private int[][] nodes;
+    private int[][] load;
+    private List<Allocation> allocations;
+
+    ComputePlanner(CpuTopology topology) {
+        this.topology = topology;
+        nodes = topology.getUsableNodes();
+        load = new int[nodes.length][];
+        for (int i = 0; i < nodes.length; ++i) {
+            load[i] = new int[nodes[i].length];
+        }
+        allocations = new ArrayList<>();
+    }
+
+    /**
+     * Returns the {@code ComputePlanner} of the process.
+     *
+     * @return the {@code ComputePlanner} of the process
+     */
+    public static ComputePlanner getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the {@link CpuTopology} the plan is based on.
+     *
+     * @return the {@link CpuTopology} the plan is based on
+     */
+    public CpuTopology getTopology() {
+        return topology;
+    }
+
+    /**
+     * Returns the number of CPUs that can be assigned.
+     *
+     * @return the number of CPUs that can be assigned
+     */
+    public int getCpuLimit() {
+        return topology.getCpuLimit();
+    }
+
+    /**
+     * Assigns one CPU per worker to a model or predictor pool, each worker uses one intra-op
+     * thread.
+     *
+     * @param name the name of the model or predictor pool
+     * @param workers the number of threads that run the model concurrently
+     * @return the {@link Allocation}
+     * @see #allocate(String, int, int)
+     */
+    public Allocation allocate(String name, int workers) {
+        return allocate(name, workers, 1);
+    }
+
+    /**
+     * Assigns CPUs to a model or predictor pool.
+     *
+     * <p>The allocation reserves {@code workers * threads} CPUs, up to the CPU limit. It takes free
+     * CPUs of the NUMA node that has most of them if they are enough. Otherwise, it shares the
+     * least used CPUs with other allocations.
+     *
+     * @param name the name of the model or predictor pool
+     * @param workers the number of threads that run the model concurrently
+     * @param threads the number of intra-op threads of each worker
+     * @return the {@link Allocation}
+     */
+    public synchronized Allocation allocate(String name, int workers, int threads) {
+        if (workers <= 0 || threads <= 0) {
+            throw new IllegalArgumentException("workers and threads must be positive.");
+        }
+        int best = 0;
+        int bestFree = -1;
+        for (int i = 0; i < nodes.length; ++i) {
+            int free = countFree(i);
+            if (free > bestFree) {
+                best = i;
+                bestFree = free;
+            }
+        }
+        int need = (int) Math.min((long) workers * threads, topology.getCpuLimit());
+
+        int[] cpus = new int[need];
+        List<int[]> assigned = new ArrayList<>(need);
+        if (bestFree >= need) {
+            for (int j = 0; j < nodes[best].length && assigned.size() < need; ++j) {
+                if (load[best][j] == 0) {
+                    assigned.add(new int[] {best, j});
+                }
+            }
+        } else {
+            // share the least used CPUs, starting with the node that has most free CPUs
+            List<int[]> candidates = new ArrayList<>();
+            for (int i = 0; i < nodes.length; ++i) {
+                for (int j = 0; j < nodes[i].length; ++j) {
+                    candidates.add(new int[] {i, j});
+                }
+            }
+            int node = best;
+            candidates.sort(
+                    (a, b) -> {
+                        int diff = load[a[0]][a[1]] - load[b[0]][b[1]];
+                        if (diff != 0) {
+                            return diff;
+                        }
+                        return Boolean.compare(a[0] != node, b[0] != node);
+                    });
+            assigned.addAll(candidates.subList(0, need));
+        }
+        int numaNode = assigned.get(0)[0];
+        for (int i = 0; i < need; ++i) {
+            int[] slot = assigned.get(i);
+            load[slot[0]][slot[1]]++;
+            cpus[i] = nodes[slot[0]][slot[1]];
+            if (slot[0] != numaNode) {
+                numaNode = -1;
+            }
+        }
+        Arrays.sort(cpus);
+        Allocation allocation = new Allocation(name, workers, threads, cpus, numaNode);
+        allocations.add(allocation);
+        return allocation;
+    }
+
+    /**
+     * Returns the current allocations.
+     *
+     * @return the current allocations
+     */
+    public synchronized List<Allocation> getAllocations() {
+        return Collections.unmodifiableList(new ArrayList<>(allocations));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized String toString() {
+        StringBuilder sb = new StringBuilder(100);
+        sb.append(topology);
+        for (Allocation allocation : allocations) {
+            sb.append(System.lineSeparator()).append(allocation);
+        }
+        return sb.toString();
+    }
+
+    synchronized void release(Allocation allocation) {
+        if (!allocations.remove(allocation)) {
+            return;
+        }
+        for (int cpu : allocation.cpus) {
+            for (int i = 0; i < nodes.length; ++i) {
+                int j = indexOf(nodes[i], cpu);
+                if (j >= 0) {
+                    load[i][j]--;
+                }
+            }
+        }
+    }
+
+    private int countFree(int node) {
+        int free = 0;
+        for (int l : load[node]) {
+            if (l == 0) {
+                ++free;
+            }
+        }
+        return free;
+    }
+
+    private static int indexOf(int[] array, int value) {
+        for (int i = 0; i < array.length; ++i) {
+            if (array[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** The CPUs and threads assigned to a model or predictor pool. */
+    public final class Allocation implements AutoCloseable {
+
+        private String name;
+        private int workers;
+        private int intraOpThreads;
+        private int[] cpus;
+        private int numaNode;
+
+        Allocation(String name, int workers, int intraOpThreads, int[] cpus, int numaNode) {
+            this.name = name;
+            this.workers = workers;
+            this.intraOpThreads = intraOpThreads;
+            this.cpus = cpus;
+            this.numaNode = numaNode;
+        }
+
+        /**
+         * Returns the name of the model or predictor pool.
+         *
+         * @return the name of the model or predictor pool
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the number of threads that run the model concurrently.
+         *
+         * @return the number of threads that run the model concurrently
+         */
+        public int getWorkers() {
+            return workers;
+        }
+
+        /**
+         * Returns the number of intra-op threads each worker should use.
+         *
+         * @return the number of intra-op threads each worker should use
+         */
+        public int getIntraOpThreads() {
+            return intraOpThreads;
+        }
+
+        /**
+         * Returns the ids of the CPUs assigned to the allocation.
+         *
+         * @return the ids of the CPUs assigned to the allocation
+         */
+        public int[] getCpus() {
+            return cpus.clone();
+        }
+
+        /**
+         * Returns the index of the NUMA node of the CPUs, or -1 if they span several nodes.
+         *
+         * @return the index of the NUMA node of the CPUs
+         */
+        public int getNumaNode() {
+            return numaNode;
+        }
+
+        /** Returns the CPUs to the planner. */
+        @Override
+        public void close() {
+            release(this);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString() {
+            return name
+                    + ": workers: "
+                    + workers
+                    + ", intra-op threads: "
+                    + intraOpThreads
+                    + ", CPUs: "
+                    + Arrays.toString(cpus)
+                    + ", node: "
+                    + numaNode;
+        }
+    }
+}
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.engine;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * {@code CpuTopology} describes the CPUs that are available to the process.
+ *
+ * <p>On Linux, the CPUs are read from the CPU affinity of the process, which includes the cpuset of
+ * the container, and grouped by NUMA node. The CPU quota of the cgroup, if any, limits the number
+ * of CPUs that can be busy at the same time. On other platforms, all the processors reported by
+ * the JVM are assumed to belong to a single NUMA node.
+ */
+public final class CpuTopology {
+
+    private static final Logger logger = LoggerFactory.getLogger(CpuTopology.class);
+
+    private static final CpuTopology INSTANCE =
+            load(Paths.get("/"), Runtime.getRuntime().availableProcessors());
+
+    private int[] cpus;
+    private int[][] nodes;
+    private float quota;
+
+    CpuTopology(int[] cpus, int[][] nodes, float quota) {
+        this.cpus = cpus;
+        this.nodes = nodes;
+        this.quota = quota;
+    }
+
+    /**
+     * Returns the {@code CpuTopology} of the host.
+     *
+     * @return the {@code CpuTopology} of the host
+     */
+    public static CpuTopology getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the ids of the CPUs the process is allowed to run on.
+     *
+     * @return the ids of the CPUs the process is allowed to run on
+     */
+    public int[] getCpus() {
+        return cpus.clone();
+    }
+
+    /**
+     * Returns the number of NUMA nodes that contain CPUs the process is allowed to run on.
+     *
+     * @return the number of NUMA nodes
+     */
+    public int getNumaNodeCount() {
+        return nodes.length;
+    }
+
+    /**
+     * Returns the ids of the CPUs of a NUMA node the process is allowed to run on.
+     *
+     * @param node the index of the NUMA node, from 0 to {@link #getNumaNodeCount()} - 1
+     * @return the ids of the CPUs of the NUMA node
+     */
+    public int[] getNumaNodeCpus(int node) {
+        return nodes[node].clone();
+    }
+
+    /**
+     * Returns the CPU quota of the cgroup in number of CPUs, or 0 if there is no quota.
+     *
+     * @return the CPU quota of the cgroup in number of CPUs
+     */
+    public float getCpuQuota() {
+        return quota;
+    }
+
+    /**
+     * Returns the number of CPUs that can be busy at the same time.
+     *
+     * @return the number of allowed CPUs, limited by the CPU quota
+     */
+    public int getCpuLimit() {
+        if (quota > 0) {
+            return Math.max(1, Math.min(cpus.length, (int) Math.ceil(quota)));
+        }
+        return cpus.length;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(100);
+        sb.append("CPUs: ").append(toCpuList(cpus)).append(", limit: ").append(getCpuLimit());
+        if (quota > 0) {
+            sb.append(", quota: ").append(quota);
+        }
+        for (int i = 0; i < nodes.length; ++i) {
+            sb.append(", node").append(i).append(": ").append(toCpuList(nodes[i]));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns the CPUs of each NUMA node that the planner may use, keeping only {@link
+     * #getCpuLimit()} CPUs in total.
+     *
+     * @return the usable CPUs of each NUMA node
+     */
+    int[][] getUsableNodes() {
+        int remaining = getCpuLimit();
+        List<int[]> usable = new ArrayList<>();
+        for (int[] node : nodes) {
+            if (remaining == 0) {
+                break;
+            }
+            int count = Math.min(remaining, node.length);
+            usable.add(Arrays.copyOf(node, count));
+            remaining -= count;
+        }
+        return usable.toArray(new int[0][]);
+    }
+
+    static CpuTopology load(Path root, int processors) {
+        String cgroup = getCgroupPath(root);
+        BitSet allowed = getAllowedCpus(root, cgroup, processors);
+        List<int[]> nodes = new ArrayList<>();
+        Path nodeDir = root.resolve("sys/devices/system/node");
+        if (Files.isDirectory(nodeDir)) {
+            List<Integer> ids;
+            try (Stream<Path> stream = Files.list(nodeDir)) {
+                ids =
+                        stream.map(p -> p.getFileName().toString())
+                                .filter(n -> n.matches("node\\d+"))
+                                .map(n -> Integer.parseInt(n.substring(4)))
+                                .sorted()
+                                .collect(Collectors.toList());
+            } catch (IOException e) {
+                logger.debug("Failed to read NUMA nodes", e);
+                ids = Collections.emptyList();
+            }
+            for (int id : ids) {
+                String list = readLine(nodeDir.resolve("node" + id).resolve("cpulist"), "");
+                if (list != null) {
+                    BitSet node = parseCpuList(list);
+                    node.and(allowed);
+                    if (!node.isEmpty()) {
+                        nodes.add(node.stream().toArray());
+                    }
+                }
+            }
+        }
+        int[] cpus = allowed.stream().toArray();
+        if (nodes.isEmpty()) {
+            nodes.add(cpus);
+        }
+        return new CpuTopology(cpus, nodes.toArray(new int[0][]), readQuota(root, cgroup));
+    }
+
+    static BitSet parseCpuList(String list) {
+        BitSet set = new BitSet();
+        for (String range : list.trim().split(",")) {
+            if (range.isEmpty()) {
+                continue;
+            }
+            int pos = range.indexOf('-');
+            try {
+                if (pos < 0) {
+                    set.set(Integer.parseInt(range.trim()));
+                } else {
+                    int from = Integer.parseInt(range.substring(0, pos).trim());
+                    int to = Integer.parseInt(range.substring(pos + 1).trim());
+                    set.set(from, to + 1);
+                }
+            } catch (NumberFormatException e) {
+                logger.debug("Invalid CPU list: {}", list);
+                return new BitSet();
+            }
+        }
+        return set;
+    }
+
+    private static BitSet getAllowedCpus(Path root, String cgroup, int processors) {
+        String status = readLine(root.resolve("proc/self/status"), "Cpus_allowed_list:");
+        if (status != null) {
+            BitSet allowed = parseCpuList(status.substring(status.indexOf(':') + 1));
+            if (!allowed.isEmpty()) {
+                return allowed;
+            }
+        }
+        String cpuset = readCgroupFile(root, cgroup, "cpuset.cpus.effective");
+        if (cpuset != null) {
+            BitSet allowed = parseCpuList(cpuset);
+            if (!allowed.isEmpty()) {
+                return allowed;
+            }
+        }
+        BitSet allowed = new BitSet();
+        allowed.set(0, processors);
+        return allowed;
+    }
+
+    private static String toCpuList(int[] cpus) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < cpus.length; ++i) {
+            int j = i;
+            while (j + 1 < cpus.length && cpus[j + 1] == cpus[j] + 1) {
+                ++j;
+            }
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(cpus[i]);
+            if (j > i) {
+                sb.append('-').append(cpus[j]);
+            }
+            i = j;
+        }
+        return sb.toString();
+    }
+
+    private static float readQuota(Path root, String cgroup) {
+        // cgroup v2: "<quota> <period>" or "max <period>"
+        String max = readCgroupFile(root, cgroup, "cpu.max");
+        if (max != null) {
+            String[] tokens = max.trim().split("\\s+");
+            if (tokens.length == 2 && !"max".equals(tokens[0])) {
+                return toQuota(tokens[0], tokens[1]);
+            }
+            return 0;
+        }
+        // cgroup v1
+        Path dir = root.resolve("sys/fs/cgroup/cpu");
+        String quota = readLine(dir.resolve("cpu.cfs_quota_us"), "");
+        String period = readLine(dir.resolve("cpu.cfs_period_us"), "");
+        if (quota != null && period != null) {
+            return toQuota(quota, period);
+        }
+        return 0;
+    }
+
+    private static float toQuota(String quota, String period) {
+        try {
+            long q = Long.parseLong(quota.trim());
+            long p = Long.parseLong(period.trim());
+            return q > 0 && p > 0 ? (float) q / p : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static String getCgroupPath(Path root) {
+        // cgroup v2 entry: "0::<path>"
+        String line = readLine(root.resolve("proc/self/cgroup"), "0::");
+        return line == null ? "" : line.substring(3);
+    }
+
+    private static String readCgroupFile(Path root, String cgroup, String name) {
+        Path base = root.resolve("sys/fs/cgroup");
+        if (!cgroup.isEmpty() && !"/".equals(cgroup)) {
+            String value = readLine(base.resolve(cgroup.substring(1)).resolve(name), "");
+            if (value != null) {
+                return value;
+            }
+        }
+        return readLine(base.resolve(name), "");
+    }
+
+    private static String readLine(Path file, String prefix) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            return lines.stream().filter(l -> l.startsWith(prefix)).findFirst().orElse(null);
+        } catch (IOException e) {
+            logger.debug("Failed to read {}", file, e);
+            return null;
+        }
+    }
+}
@@ -14,8 +14,11 @@ package ai.djl.inference;
 
 import ai.djl.Device;
 import ai.djl.Model;
+import ai.djl.inference.streaming.ChunkedBytesSupplier;
 import ai.djl.metric.Metrics;
 import ai.djl.metric.Unit;
+import ai.djl.modality.Input;
+import ai.djl.ndarray.BytesSupplier;
 import ai.djl.ndarray.LazyNDArray;
 import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDList;
@@ -23,6 +26,7 @@ import ai.djl.ndarray.NDManager;
 import ai.djl.nn.Block;
 import ai.djl.training.ParameterStore;
 import ai.djl.translate.Batchifier;
+import ai.djl.translate.StreamingTranslator;
 import ai.djl.translate.TranslateException;
 import ai.djl.translate.Translator;
 import ai.djl.translate.TranslatorContext;
@@ -35,6 +39,9 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * The {@code Predictor} interface provides a session for model inference.
@@ -190,6 +197,104 @@ public class Predictor<I, O> implements AutoCloseable {
         }
     }
 
+    /**
+     * Predicts an item for inference and streams the output as it is produced.
+     *
+     * <p>The prediction runs on a shared pool of daemon threads and this method returns
+     * immediately. If the {@link Translator} is a {@link StreamingTranslator}, the output is
+     * appended chunk by chunk, otherwise the whole output is appended as a single chunk once it is
+     * available.
+     *
+     * @param input the input
+     * @return the output stream
+     */
+    public ChunkedBytesSupplier streamingPredict(I input) {
+        return streamingPredict(input, StreamingExecutor.INSTANCE);
+    }
+
+    /**
+     * Predicts an item for inference and streams the output as it is produced.
+     *
+     * <p>The {@code Predictor} is not thread-safe, do not call other methods of this instance until
+     * the stream is completed.
+     *
+     * @param input the input
+     * @param executor the executor to run the prediction with
+     * @return the output stream
+     */
+    public ChunkedBytesSupplier streamingPredict(I input, Executor executor) {
+        return streamingPredict(input, executor, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Predicts an item for inference and streams the output as it is produced.
+     *
+     * <p>The {@code Predictor} is not thread-safe, do not call other methods of this instance until
+     * the stream is completed.
+     *
+     * @param input the input
+     * @param executor the executor to run the prediction with
+     * @param capacity the maximum number of pending chunks before the prediction blocks, see
+     *     {@link ChunkedBytesSupplier#ChunkedBytesSupplier(int)}
+     * @return the output stream
+     */
+    public ChunkedBytesSupplier streamingPredict(I input, Executor executor, int capacity) {
+        ChunkedBytesSupplier output = new ChunkedBytesSupplier(capacity);
+        executor.execute(() -> streamingPredictInternal(input, output));
+        return output;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void streamingPredictInternal(I input, ChunkedBytesSupplier output) {
+        long begin = System.nanoTime();
+        try (PredictorContext context = new PredictorContext()) {
+            if (!prepared) {
+                translator.prepare(context);
+                prepared = true;
+            }
+            NDList ndList = translator.processInput(context, input);
+            Batchifier batchifier = translator.getBatchifier();
+            if (batchifier != null) {
+                ndList = batchifier.batchify(new NDList[] {ndList});
+            }
+            NDList result = predictInternal(context, ndList);
+            if (batchifier != null) {
+                result = batchifier.unbatchify(result)[0];
+            }
+            if (metrics != null) {
+                waitToRead(result);
+                long duration = (System.nanoTime() - begin) / 1000;
+                metrics.addMetric("Inference", duration, Unit.MICROSECONDS);
+            }
+
+            if (translator instanceof StreamingTranslator) {
+                ((StreamingTranslator<I, O>) translator)
+                        .processStreamOutput(context, result, output);
+            } else {
+                O out = translator.processOutput(context, result);
+                BytesSupplier data;
+                if (out instanceof BytesSupplier) {
+                    data = (BytesSupplier) out;
+                } else if (out instanceof Input) {
+                    data = ((Input) out).getData();
+                } else {
+                    data = BytesSupplier.wrapAsJson(out);
+                }
+                output.appendContent(data, true);
+            }
+            output.complete();
+            if (metrics != null) {
+                long duration = (System.nanoTime() - begin) / 1000;
+                metrics.addMetric("Total", duration, Unit.MICROSECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            output.completeExceptionally(e);
+        } catch (Throwable t) {
+            output.completeExceptionally(t);
+        }
+    }
+
     /**
      * Attaches a Metrics param to use for benchmark.
      *
@@ -335,4 +440,16 @@ public class Predictor<I, O> implements AutoCloseable {
             attachments.put(key, value);
         }
     }
+
+    /** Lazily creates the threads used by {@link #streamingPredict(Object)}. */
+    private static final class StreamingExecutor {
+
+        static final ExecutorService INSTANCE =
+                Executors.newCachedThreadPool(
+                        r -> {
+                            Thread thread = new Thread(r, "djl-streaming-predictor");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+    }
 }
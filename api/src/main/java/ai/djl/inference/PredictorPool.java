@@ -0,0 +1,412 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.inference;
+
+import ai.djl.Device;
+import ai.djl.Model;
+import ai.djl.engine.ComputePlanner;
+import ai.djl.engine.EngineException;
+import ai.djl.metric.Metrics;
+import ai.djl.metric.Unit;
+import ai.djl.translate.TranslateException;
+import ai.djl.translate.Translator;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * {@code PredictorPool} shares a bounded number of {@link Predictor}s between threads.
+ *
+ * <p>Each call borrows a {@link Predictor} for its exclusive use, so stateful translators and
+ * engines that don't support concurrent calls on a predictor are safe to use. A thread gets back
+ * the predictor it used last whenever that one is idle, which keeps its engine state and caches
+ * warm. If no predictor is idle and the pool is full, the call waits for a predictor to be
+ * returned.
+ *
+ * <p>A predictor that fails the optional health check, or whose call fails with an {@link
+ * EngineException} or an {@link Error}, is closed and replaced by a new one. A predictor whose
+ * translator rejects an input is kept.
+ *
+ * <p>Every predictor runs the model on its own thread, which uses the intra-op threads of the
+ * engine. The pool reserves CPUs for its predictors from the {@link ComputePlanner}, but the pool
+ * doesn't configure the engine: the number of intra-op threads is set when the model is loaded.
+ * To avoid oversubscribing the cores, plan the allocation first, load the model with its intra-op
+ * threads and pass the allocation to the pool:
+ *
+ * <pre>
+ * ComputePlanner.Allocation allocation = ComputePlanner.getInstance().allocate("resnet", 4);
+ * Criteria&lt;Image, Classifications&gt; criteria = Criteria.builder()
+ *     ...
+ *     .optOption("intraOpNumThreads", String.valueOf(allocation.getIntraOpThreads()))
+ *     .build();
+ * ZooModel&lt;Image, Classifications&gt; model = criteria.loadModel();
+ * PredictorPool&lt;Image, Classifications&gt; pool =
+ *     PredictorPool.builder(model, translator).optAllocation(allocation).build();
+ * </pre>
+ *
+ * @param <I> the input type
+ * @param <O> the output type
+ */
+public class PredictorPool<I, O> implements AutoCloseable {
+
+    /** The name of the metric of the time spent waiting for a predictor. */
+    public static final String WAIT_METRIC = "PredictorPoolWait";
+
+    /** The name of the metric of the percentage of predictors in use. */
+    public static final String UTILIZATION_METRIC = "PredictorPoolUtilization";
+
+    private Model model;
+    private Translator<I, O> translator;
+    private Device device;
+    private int size;
+    private long timeout;
+    private Predicate<Predictor<I, O>> healthCheck;
+    private Metrics metrics;
+    private ComputePlanner.Allocation allocation;
+
+    private Deque<Predictor<I, O>> idle;
+    private ThreadLocal<Predictor<I, O>> lastUsed;
+    private int created;
+    private int busy;
+    private boolean closed;
+
+    PredictorPool(Builder<I, O> builder) {
+        model = builder.model;
+        translator = builder.translator;
+        device = builder.device;
+        size = builder.size;
+        timeout = builder.timeout;
+        healthCheck = builder.healthCheck;
+        allocation = builder.allocation;
+        if (allocation == null) {
+            allocation = ComputePlanner.getInstance().allocate(model.getName(), size);
+        }
+        idle = new ArrayDeque<>(size);
+        lastUsed = new ThreadLocal<>();
+    }
+
+    /**
+     * Creates a builder to build a {@code PredictorPool}.
+     *
+     * @param model the model to create the predictors from
+     * @param translator the translator of the predictors
+     * @param <I> the input type
+     * @param <O> the output type
+     * @return a new builder
+     */
+    public static <I, O> Builder<I, O> builder(Model model, Translator<I, O> translator) {
+        return new Builder<>(model, translator);
+    }
+
+    /**
+     * Predicts an item for inference with a predictor of the pool.
+     *
+     * @param input the input
+     * @return the output object defined by the user
+     * @throws TranslateException if an error occurs during prediction, or no predictor is
+     *     available within the timeout
+     */
+    public O predict(I input) throws TranslateException {
+        Predictor<I, O> predictor = borrow();
+        boolean healthy = false;
+        try {
+            O output = predictor.predict(input);
+            healthy = true;
+            return output;
+        } catch (TranslateException e) {
+            healthy = !isEngineFailure(e);
+            throw e;
+        } finally {
+            release(predictor, healthy);
+        }
+    }
+
+    /**
+     * Predicts a batch for inference with a predictor of the pool.
+     *
+     * @param inputs a list of inputs
+     * @return a list of output objects defined by the user
+     * @throws TranslateException if an error occurs during prediction, or no predictor is
+     *     available within the timeout
+     */
+    public List<O> batchPredict(List<I> inputs) throws TranslateException {
+        Predictor<I, O> predictor = borrow();
+        boolean healthy = false;
+        try {
+            List<O> outputs = predictor.batchPredict(inputs);
+            healthy = true;
+            return outputs;
+        } catch (TranslateException e) {
+            healthy = !isEngineFailure(e);
+            throw e;
+        } finally {
+            release(predictor, healthy);
+        }
+    }
+
+    /**
+     * Attaches a Metrics param to record the wait time and the utilization of the pool, as well
+     * as the metrics of each predictor.
+     *
+     * @param metrics the Metrics class
+     */
+    public void setMetrics(Metrics metrics) {
+        synchronized (this) {
+            this.metrics = metrics;
+            for (Predictor<I, O> predictor : idle) {
+                predictor.setMetrics(metrics);
+            }
+        }
+    }
+
+    /**
+     * Returns the maximum number of predictors in the pool.
+     *
+     * @return the maximum number of predictors in the pool
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of predictors that are in use.
+     *
+     * @return the number of predictors that are in use
+     */
+    public synchronized int getActiveCount() {
+        return busy;
+    }
+
+    /**
+     * Returns the number of intra-op threads of the engine that use the CPUs of the pool without
+     * oversubscribing them when every predictor of the pool is in use.
+     *
+     * <p>This value is advisory, the pool doesn't apply it to the engine. See {@link
+     * Builder#optAllocation(ComputePlanner.Allocation)} to configure the model with it.
+     *
+     * @return the number of intra-op threads per predictor
+     */
+    public int getIntraOpThreads() {
+        return allocation.getIntraOpThreads();
+    }
+
+    /**
+     * Returns the CPUs that the {@link ComputePlanner} assigned to the pool.
+     *
+     * @return the CPUs that the {@link ComputePlanner} assigned to the pool
+     */
+    public ComputePlanner.Allocation getAllocation() {
+        return allocation;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            for (Predictor<I, O> predictor : idle) {
+                predictor.close();
+            }
+            created -= idle.size();
+            idle.clear();
+            notifyAll();
+        }
+        allocation.close();
+    }
+
+    private Predictor<I, O> borrow() throws TranslateException {
+        long begin = System.nanoTime();
+        Predictor<I, O> predictor = null;
+        Metrics poolMetrics;
+        int utilization;
+        synchronized (this) {
+            long deadline = timeout > 0 ? System.currentTimeMillis() + timeout : 0;
+            while (true) {
+                if (closed) {
+                    throw new IllegalStateException("PredictorPool is closed.");
+                }
+                Predictor<I, O> last = lastUsed.get();
+                if (last != null && idle.remove(last)) {
+                    predictor = last;
+                    break;
+                } else if (!idle.isEmpty()) {
+                    // the most recently returned predictor is the warmest one
+                    predictor = idle.pollLast();
+                    break;
+                } else if (created < size) {
+                    created++;
+                    break;
+                }
+                long wait = deadline == 0 ? 0 : deadline - System.currentTimeMillis();
+                if (deadline != 0 && wait <= 0) {
+                    throw new TranslateException("Timed out waiting for an idle predictor.");
+                }
+                try {
+                    wait(wait);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new TranslateException("Interrupted waiting for a predictor.", e);
+                }
+            }
+            busy++;
+            poolMetrics = metrics;
+            utilization = busy * 100 / size;
+        }
+
+        try {
+            if (predictor != null && healthCheck != null && !healthCheck.test(predictor)) {
+                predictor.close();
+                predictor = null;
+            }
+            if (predictor == null) {
+                predictor = model.newPredictor(translator, device);
+                if (poolMetrics != null) {
+                    predictor.setMetrics(poolMetrics);
+                }
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                created--;
+                busy--;
+                notifyAll();
+            }
+            throw e;
+        }
+        lastUsed.set(predictor);
+        if (poolMetrics != null) {
+            long wait = (System.nanoTime() - begin) / 1000;
+            poolMetrics.addMetric(WAIT_METRIC, wait, Unit.MICROSECONDS);
+            poolMetrics.addMetric(UTILIZATION_METRIC, utilization, Unit.PERCENT);
+        }
+        return predictor;
+    }
+
+    private static boolean isEngineFailure(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof EngineException || t instanceof Error) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void release(Predictor<I, O> predictor, boolean healthy) {
+        synchronized (this) {
+            busy--;
+            if (healthy && !closed) {
+                idle.addLast(predictor);
+            } else {
+                created--;
+                predictor.close();
+            }
+            notifyAll();
+        }
+    }
+
+    /** A builder for a {@link PredictorPool}. */
+    public static final class Builder<I, O> {
+
+        Model model;
+        Translator<I, O> translator;
+        Device device;
+        int size = ComputePlanner.getInstance().getCpuLimit();
+        long timeout;
+        Predicate<Predictor<I, O>> healthCheck;
+        ComputePlanner.Allocation allocation;
+
+        Builder(Model model, Translator<I, O> translator) {
+            this.model = model;
+            this.translator = translator;
+        }
+
+        /**
+         * Sets the device of the predictors, defaults to the device of the model.
+         *
+         * @param device the device of the predictors
+         * @return this builder
+         */
+        public Builder<I, O> optDevice(Device device) {
+            this.device = device;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of predictors in the pool, defaults to the number of CPUs that
+         * the process can use.
+         *
+         * @param size the maximum number of predictors in the pool
+         * @return this builder
+         */
+        public Builder<I, O> optSize(int size) {
+            this.size = size;
+            return this;
+        }
+
+        /**
+         * Sets the maximum time in milliseconds to wait for a predictor, 0 to wait indefinitely.
+         *
+         * @param timeout the maximum time in milliseconds to wait for a predictor
+         * @return this builder
+         */
+        public Builder<I, O> optTimeout(long timeout) {
+            this.timeout = timeout;
+            return this;
+        }
+
+        /**
+         * Sets the check that an idle predictor must pass before it is used again.
+         *
+         * @param healthCheck the check that an idle predictor must pass before it is used again
+         * @return this builder
+         */
+        public Builder<I, O> optHealthCheck(Predicate<Predictor<I, O>> healthCheck) {
+            this.healthCheck = healthCheck;
+            return this;
+        }
+
+        /**
+         * Sets the CPUs reserved for the pool, defaults to a new allocation of the {@link
+         * ComputePlanner} with one worker per predictor.
+         *
+         * <p>Planning the allocation before loading the model allows to configure the engine with
+         * {@link ComputePlanner.Allocation#getIntraOpThreads()} threads. This also sets the size
+         * of the pool to the number of workers of the allocation. The pool releases the
+         * allocation when it is closed.
+         *
+         * @param allocation the CPUs reserved for the pool
+         * @return this builder
+         */
+        public Builder<I, O> optAllocation(ComputePlanner.Allocation allocation) {
+            this.allocation = allocation;
+            size = allocation.getWorkers();
+            return this;
+        }
+
+        /**
+         * Builds the {@link PredictorPool}.
+         *
+         * @return the {@link PredictorPool}
+         */
+        public PredictorPool<I, O> build() {
+            if (size <= 0) {
+                throw new IllegalArgumentException("The pool size must be positive.");
+            }
+            if (device == null) {
+                device = model.getNDManager().getDevice();
+            }
+            return new PredictorPool<>(this);
+        }
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.inference.streaming;
+
+import ai.djl.ndarray.BytesSupplier;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A {@link BytesSupplier} that is produced incrementally, one chunk at a time.
+ *
+ * <p>A producer, usually a {@link ai.djl.translate.StreamingTranslator}, appends chunks with
+ * {@link #appendContent(BytesSupplier, boolean)} while a consumer reads them as they become
+ * available with {@link #nextChunk(long, TimeUnit)}:
+ *
+ * <pre>
+ * ChunkedBytesSupplier data = predictor.streamingPredict(input);
+ * while (data.hasNext()) {
+ *     byte[] chunk = data.nextChunk(1, TimeUnit.MINUTES);
+ *     // send the chunk to the client
+ * }
+ * </pre>
+ *
+ * <p>The number of pending chunks is bounded, the producer blocks when the consumer falls behind.
+ * The consumer can stop the producer with {@link #cancel()}.
+ */
+public class ChunkedBytesSupplier implements BytesSupplier {
+
+    private static final Object END = new Object();
+
+    private BlockingQueue<Object> queue;
+    private Semaphore permits;
+    private volatile boolean completed;
+    private volatile boolean cancelled;
+    private volatile Throwable error;
+    private boolean drained;
+
+    /** Constructs a new {@code ChunkedBytesSupplier} instance with unbounded capacity. */
+    public ChunkedBytesSupplier() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructs a new {@code ChunkedBytesSupplier} instance.
+     *
+     * @param capacity the maximum number of pending chunks before the producer blocks
+     */
+    public ChunkedBytesSupplier(int capacity) {
+        queue = new LinkedBlockingQueue<>();
+        if (capacity < Integer.MAX_VALUE) {
+            // the permits bound the pending chunks, the end of stream marker never blocks
+            permits = new Semaphore(capacity);
+        }
+    }
+
+    /**
+     * Appends a chunk, blocking while the supplier is full.
+     *
+     * @param data the chunk to append
+     * @param lastChunk {@code true} if this is the last chunk
+     * @return {@code false} if the consumer has cancelled the stream
+     * @throws InterruptedException if interrupted while waiting for space
+     */
+    public boolean appendContent(BytesSupplier data, boolean lastChunk)
+            throws InterruptedException {
+        checkCompleted();
+        if (cancelled) {
+            return false;
+        }
+        if (permits != null) {
+            permits.acquire();
+        }
+        return offer(data, lastChunk);
+    }
+
+    /**
+     * Appends a chunk, waiting up to the specified time while the supplier is full.
+     *
+     * @param data the chunk to append
+     * @param lastChunk {@code true} if this is the last chunk
+     * @param timeout how long to wait before giving up
+     * @param unit the {@code TimeUnit} of the timeout
+     * @return {@code false} if the consumer has cancelled the stream
+     * @throws InterruptedException if interrupted while waiting for space
+     * @throws TimeoutException if the consumer did not make space in time
+     */
+    public boolean appendContent(
+            BytesSupplier data, boolean lastChunk, long timeout, TimeUnit unit)
+            throws InterruptedException, TimeoutException {
+        checkCompleted();
+        if (cancelled) {
+            return false;
+        }
+        if (permits != null && !permits.tryAcquire(timeout, unit)) {
+            throw new TimeoutException("Timed out waiting for the consumer");
+        }
+        return offer(data, lastChunk);
+    }
+
+    /**
+     * Appends a chunk, blocking while the supplier is full.
+     *
+     * @param data the chunk to append
+     * @param lastChunk {@code true} if this is the last chunk
+     * @return {@code false} if the consumer has cancelled the stream
+     * @throws InterruptedException if interrupted while waiting for space
+     */
+    public boolean appendContent(byte[] data, boolean lastChunk) throws InterruptedException {
+        return appendContent(BytesSupplier.wrap(data), lastChunk);
+    }
+
+    /** Marks the end of the stream, no more chunks can be appended. */
+    public void complete() {
+        if (completed) {
+            return;
+        }
+        completed = true;
+        queue.offer(END);
+    }
+
+    /**
+     * Marks the end of the stream because the producer failed.
+     *
+     * <p>The consumer receives the error once all chunks appended before the failure are read.
+     *
+     * @param error the cause of the failure
+     */
+    public void completeExceptionally(Throwable error) {
+        if (completed) {
+            return;
+        }
+        this.error = error;
+        complete();
+    }
+
+    /**
+     * Cancels the stream from the consumer side.
+     *
+     * <p>Pending chunks are discarded and later {@link #appendContent(BytesSupplier, boolean)}
+     * calls return {@code false} without blocking, so the producer can stop early. Producers
+     * already blocked on a full stream are woken up.
+     */
+    public void cancel() {
+        if (cancelled) {
+            return;
+        }
+        cancelled = true;
+        queue.clear();
+        drained = true;
+        if (permits != null) {
+            // wake up the producers blocked on a full stream, each one hands its permit on
+            permits.release();
+        }
+    }
+
+    /**
+     * Returns {@code true} if the consumer has cancelled the stream.
+     *
+     * @return {@code true} if the consumer has cancelled the stream
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Returns {@code true} if the producer has completed the stream.
+     *
+     * @return {@code true} if the producer has completed the stream
+     */
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    /**
+     * Returns {@code true} if more chunks may be available.
+     *
+     * @return {@code true} if more chunks may be available
+     */
+    public boolean hasNext() {
+        if (drained) {
+            return false;
+        }
+        // an error is reported by the next call to nextChunk()
+        return queue.peek() != END || error != null;
+    }
+
+    /**
+     * Returns the next chunk, waiting up to the specified time for it to be available.
+     *
+     * @param timeout how long to wait before giving up
+     * @param unit the {@code TimeUnit} of the timeout
+     * @return the next chunk
+     * @throws InterruptedException if interrupted while waiting
+     * @throws TimeoutException if no chunk became available in time
+     * @throws NoSuchElementException if the stream has no more chunks
+     * @throws IllegalStateException if the producer failed
+     */
+    public byte[] nextChunk(long timeout, TimeUnit unit)
+            throws InterruptedException, TimeoutException {
+        if (drained) {
+            throw new NoSuchElementException("No more chunks");
+        }
+        Object item = queue.poll(timeout, unit);
+        if (item == null) {
+            throw new TimeoutException("Timed out waiting for the next chunk");
+        }
+        byte[] chunk = toChunk(item);
+        if (chunk == null) {
+            throw new NoSuchElementException("No more chunks");
+        }
+        return chunk;
+    }
+
+    /**
+     * Returns the next chunk if it is already available.
+     *
+     * @return the next chunk, or {@code null} if no chunk is available yet or the stream has ended
+     * @throws IllegalStateException if the producer failed
+     */
+    public byte[] pollChunk() {
+        if (drained) {
+            return null;
+        }
+        Object item = queue.poll();
+        return item == null ? null : toChunk(item);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Blocks until the producer completes the stream, and returns the remaining chunks
+     * concatenated.
+     */
+    @Override
+    public byte[] getAsBytes() {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try {
+            while (hasNext()) {
+                try {
+                    byte[] chunk = nextChunk(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+                    bos.write(chunk, 0, chunk.length);
+                } catch (NoSuchElementException e) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading the stream", e);
+        } catch (TimeoutException e) {
+            throw new AssertionError("Unexpected timeout", e);
+        }
+        return bos.toByteArray();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ByteBuffer toByteBuffer() {
+        return ByteBuffer.wrap(getAsBytes());
+    }
+
+    private void checkCompleted() {
+        if (completed) {
+            throw new IllegalStateException("Cannot append to a completed stream");
+        }
+    }
+
+    private boolean offer(BytesSupplier data, boolean lastChunk) {
+        if (cancelled) {
+            if (permits != null) {
+                // hand the permit on, so every producer blocked before the cancel wakes up
+                permits.release();
+            }
+            return false;
+        }
+        queue.offer(data);
+        if (lastChunk) {
+            complete();
+        }
+        return true;
+    }
+
+    private byte[] toChunk(Object item) {
+        if (item == END) {
+            drained = true;
+            if (error != null) {
+                throw new IllegalStateException("Failed to produce the stream", error);
+            }
+            return null;
+        }
+        if (permits != null) {
+            permits.release();
+        }
+        return ((BytesSupplier) item).getAsBytes();
+    }
+}
@@ -23,16 +23,16 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
 
+import java.io.Serializable;
 import java.lang.reflect.Type;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
 
 /**
  * {@code Classifications} is the container that stores the classification results for
@@ -88,10 +88,16 @@ public class Classifications implements JsonSerializable, Ensembleable<Classific
      */
     public Classifications(List<String> classNames, NDArray probabilities, int topK) {
         this.classNames = classNames;
-        NDArray array = probabilities.toType(DataType.FLOAT64, false);
-        this.probabilities =
-                Arrays.stream(array.toDoubleArray()).boxed().collect(Collectors.toList());
-        array.close();
+        DataType dataType = probabilities.getDataType();
+        if (dataType == DataType.FLOAT32) {
+            this.probabilities = new ProbabilityList(probabilities.toFloatArray());
+        } else if (dataType == DataType.FLOAT64) {
+            this.probabilities = new ProbabilityList(probabilities.toDoubleArray());
+        } else {
+            try (NDArray array = probabilities.toType(DataType.FLOAT64, false)) {
+                this.probabilities = new ProbabilityList(array.toDoubleArray());
+            }
+        }
         this.topK = topK;
     }
 
@@ -107,6 +113,9 @@ public class Classifications implements JsonSerializable, Ensembleable<Classific
     /**
      * Returns the list of probabilities for each class (matching the order of the class names).
      *
+     * <p>When this {@code Classifications} was created from an {@link NDArray}, the returned list
+     * is a read-only view of the primitive probabilities.
+     *
      * @return the list of probabilities for each class (matching the order of the class names)
      */
     public List<Double> getProbabilities() {
@@ -167,10 +176,13 @@ public class Classifications implements JsonSerializable, Ensembleable<Classific
      * @return the list of classification items for the best classes in order of best to worst
      */
     public <T extends Classification> List<T> topK(int k) {
-        List<T> items = items();
-        items.sort(Comparator.comparingDouble(Classification::getProbability).reversed());
-        int count = Math.min(items.size(), k);
-        return items.subList(0, count);
+        int count = Math.max(0, Math.min(probabilities.size(), k));
+        int[] indices = topIndices(count);
+        List<T> list = new ArrayList<>(count);
+        for (int index : indices) {
+            list.add(item(index));
+        }
+        return list;
     }
 
     /**
@@ -180,7 +192,20 @@ public class Classifications implements JsonSerializable, Ensembleable<Classific
      * @return the classification item
      */
     public <T extends Classification> T best() {
-        return item(probabilities.indexOf(Collections.max(probabilities)));
+        int size = probabilities.size();
+        if (size == 0) {
+            throw new NoSuchElementException("No classes to select from");
+        }
+        int best = 0;
+        double max = probability(0);
+        for (int i = 1; i < size; ++i) {
+            double p = probability(i);
+            if (p > max) {
+                max = p;
+                best = i;
+            }
+        }
+        return item(best);
     }
 
     /**
@@ -200,6 +225,89 @@ public class Classifications implements JsonSerializable, Ensembleable<Classific
         return null;
     }
 
+    private double probability(int index) {
+        if (probabilities instanceof ProbabilityList) {
+            return ((ProbabilityList) probabilities).getDouble(index);
+        }
+        return probabilities.get(index);
+    }
+
+    /**
+     * Selects the indices of the {@code k} most likely classes without sorting all classes.
+     *
+     * <p>A bounded min-heap keeps the best {@code k} candidates, so the selection runs in O(n log
+     * k). Ties are broken by the original order of the classes.
+     */
+    private int[] topIndices(int k) {
+        if (k == 0) {
+            return new int[0];
+        }
+        int[] heap = new int[k];
+        int heapSize = 0;
+        int size = probabilities.size();
+        for (int i = 0; i < size; ++i) {
+            if (heapSize < k) {
+                heap[heapSize] = i;
+                siftUp(heap, heapSize++);
+            } else if (isBetter(i, heap[0])) {
+                heap[0] = i;
+                siftDown(heap, 0, heapSize);
+            }
+        }
+        // pop the heap from worst to best
+        int[] result = new int[heapSize];
+        for (int i = heapSize - 1; i >= 0; --i) {
+            result[i] = heap[0];
+            heap[0] = heap[--heapSize];
+            siftDown(heap, 0, heapSize);
+        }
+        return result;
+    }
+
+    private boolean isBetter(int a, int b) {
+        double pa = probability(a);
+        double pb = probability(b);
+        return pa > pb || (pa == pb && a < b);
+    }
+
+    private void siftUp(int[] heap, int index) {
+        int i = index;
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (!isBetter(heap[parent], heap[i])) {
+                break;
+            }
+            swap(heap, parent, i);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int[] heap, int index, int heapSize) {
+        int i = index;
+        while (true) {
+            int worst = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < heapSize && isBetter(heap[worst], heap[left])) {
+                worst = left;
+            }
+            if (right < heapSize && isBetter(heap[worst], heap[right])) {
+                worst = right;
+            }
+            if (worst == i) {
+                return;
+            }
+            swap(heap, i, worst);
+            i = worst;
+        }
+    }
+
+    private static void swap(int[] heap, int i, int j) {
+        int tmp = heap[i];
+        heap[i] = heap[j];
+        heap[j] = tmp;
+    }
+
     /** {@inheritDoc} */
     @Override
     public String toJson() {
@@ -254,6 +362,44 @@ public class Classifications implements JsonSerializable, Ensembleable<Classific
         return new Classifications(classNames, newProbabilities);
     }
 
+    /**
+     * A read-only list of probabilities backed by a primitive array.
+     *
+     * <p>Values are only boxed when they are accessed through the {@link List} interface.
+     */
+    private static final class ProbabilityList extends AbstractList<Double>
+            implements RandomAccess, Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private float[] floats;
+        private double[] doubles;
+
+        ProbabilityList(float[] floats) {
+            this.floats = floats;
+        }
+
+        ProbabilityList(double[] doubles) {
+            this.doubles = doubles;
+        }
+
+        double getDouble(int index) {
+            return floats != null ? floats[index] : doubles[index];
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Double get(int index) {
+            return getDouble(index);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int size() {
+            return floats != null ? floats.length : doubles.length;
+        }
+    }
+
     /**
      * A {@code Classification} stores the classification result for a single class on a single
      * input.
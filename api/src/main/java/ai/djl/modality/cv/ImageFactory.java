@@ -84,6 +84,24 @@ public abstract class ImageFactory {
      */
     public abstract Image fromFile(Path path) throws IOException;
 
+    /**
+     * Gets {@link Image} from file, decoded at a reduced resolution if the image is larger than
+     * the given size.
+     *
+     * <p>The image is at least as large as the given size in both dimensions, so it can be resized
+     * to that size afterwards. Depending on the codec, decoding a reduced image skips most of the
+     * decoding work. The default implementation decodes the image at full resolution.
+     *
+     * @param path the path to the image
+     * @param width the minimum width of the decoded image
+     * @param height the minimum height of the decoded image
+     * @return {@link Image}
+     * @throws IOException Image not found or not readable
+     */
+    public Image fromFile(Path path, int width, int height) throws IOException {
+        return fromFile(path);
+    }
+
     /**
      * Gets {@link Image} from URL.
      *
@@ -121,6 +139,21 @@ public abstract class ImageFactory {
      */
     public abstract Image fromInputStream(InputStream is) throws IOException;
 
+    /**
+     * Gets {@link Image} from {@link InputStream}, decoded at a reduced resolution if the image is
+     * larger than the given size.
+     *
+     * @param is {@link InputStream}
+     * @param width the minimum width of the decoded image
+     * @param height the minimum height of the decoded image
+     * @return {@link Image}
+     * @throws IOException image cannot be read from input stream.
+     * @see #fromFile(Path, int, int)
+     */
+    public Image fromInputStream(InputStream is, int width, int height) throws IOException {
+        return fromInputStream(is);
+    }
+
     /**
      * Gets {@link Image} from varies Java image types.
      *
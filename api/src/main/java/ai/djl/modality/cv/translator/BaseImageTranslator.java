@@ -50,6 +50,7 @@ public abstract class BaseImageTranslator<T> implements Translator<Image, T> {
 
     private Image.Flag flag;
     private Batchifier batchifier;
+    private int[] decodeSize;
 
     /**
      * Constructs an ImageTranslator with the provided builder.
@@ -60,6 +61,9 @@ public abstract class BaseImageTranslator<T> implements Translator<Image, T> {
         flag = builder.flag;
         pipeline = builder.pipeline;
         batchifier = builder.batchifier;
+        if (builder.decodeWidth > 0 && builder.decodeHeight > 0) {
+            decodeSize = new int[] {builder.decodeWidth, builder.decodeHeight};
+        }
     }
 
     /** {@inheritDoc} */
@@ -75,6 +79,17 @@ public abstract class BaseImageTranslator<T> implements Translator<Image, T> {
         return pipeline.transform(new NDList(array));
     }
 
+    /**
+     * Returns the size the input images can be decoded at, if they are resized first.
+     *
+     * @return the width and height, or {@code null} if the images must be decoded at full
+     *     resolution
+     * @see ai.djl.modality.cv.ImageFactory#fromInputStream(InputStream, int, int)
+     */
+    public int[] getDecodeSize() {
+        return decodeSize;
+    }
+
     /**
      * A builder to extend for all classes extending the {@link BaseImageTranslator}.
      *
@@ -88,6 +103,8 @@ public abstract class BaseImageTranslator<T> implements Translator<Image, T> {
         protected Image.Flag flag = Image.Flag.COLOR;
         protected Pipeline pipeline;
         protected Batchifier batchifier = Batchifier.STACK;
+        protected int decodeWidth;
+        protected int decodeHeight;
 
         /**
          * Sets the optional {@link ai.djl.modality.cv.Image.Flag} (default is {@link
@@ -126,6 +143,25 @@ public abstract class BaseImageTranslator<T> implements Translator<Image, T> {
             return self();
         }
 
+        /**
+         * Sets the size the input images can be decoded at.
+         *
+         * <p>This should only be set if the first transform of the {@link Pipeline} resizes the
+         * images to this size, since the images might be decoded at a reduced resolution. By
+         * default the images are decoded at full resolution. When the pipeline is configured with
+         * arguments, the {@code reducedDecoding} argument sets the decode size to the {@code
+         * resize} size.
+         *
+         * @param width the width the first transform resizes the images to
+         * @param height the height the first transform resizes the images to
+         * @return this builder
+         */
+        public T optDecodeSize(int width, int height) {
+            this.decodeWidth = width;
+            this.decodeHeight = height;
+            return self();
+        }
+
         /**
          * Sets the {@link Batchifier} for the {@link Translator}.
          *
@@ -146,6 +182,8 @@ public abstract class BaseImageTranslator<T> implements Translator<Image, T> {
         }
 
         protected void configPreProcess(Map<String, ?> arguments) {
+            // the images can only be decoded at a reduced resolution if they are resized first
+            boolean resizeFirst = pipeline == null;
             if (pipeline == null) {
                 pipeline = new Pipeline();
             }
@@ -155,17 +193,26 @@ public abstract class BaseImageTranslator<T> implements Translator<Image, T> {
                 flag = Image.Flag.valueOf(arguments.get("flag").toString());
             }
             String resize = ArgumentsUtil.stringValue(arguments, "resize", "false");
+            int resizeWidth = -1;
+            int resizeHeight = -1;
             if ("true".equals(resize)) {
-                addTransform(new Resize(width, height));
+                resizeWidth = width;
+                resizeHeight = height;
             } else if (!"false".equals(resize)) {
                 String[] tokens = resize.split("\\s*,\\s*");
+                resizeWidth = (int) Double.parseDouble(tokens[0]);
                 if (tokens.length > 1) {
-                    addTransform(
-                            new Resize(
-                                    (int) Double.parseDouble(tokens[0]),
-                                    (int) Double.parseDouble(tokens[1])));
+                    resizeHeight = (int) Double.parseDouble(tokens[1]);
                 } else {
-                    addTransform(new Resize((int) Double.parseDouble(tokens[0])));
+                    resizeHeight = resizeWidth;
+                }
+            }
+            if (resizeWidth >= 0) {
+                addTransform(new Resize(resizeWidth, resizeHeight));
+                if (resizeFirst
+                        && decodeWidth == 0
+                        && ArgumentsUtil.booleanValue(arguments, "reducedDecoding", false)) {
+                    optDecodeSize(resizeWidth, resizeHeight);
                 }
             }
             if (ArgumentsUtil.booleanValue(arguments, "centerCrop", false)) {
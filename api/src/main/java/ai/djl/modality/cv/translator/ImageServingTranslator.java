@@ -27,12 +27,14 @@ import ai.djl.util.JsonSerializable;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 
 /** A {@link Translator} that can handle generic CV {@link Input} and {@link Output}. */
 public class ImageServingTranslator implements Translator<Input, Output> {
 
     private Translator<Image, ?> translator;
     private ImageFactory factory;
+    private int[] decodeSize;
 
     /**
      * Constructs a new {@code ImageServingTranslator} instance.
@@ -42,6 +44,9 @@ public class ImageServingTranslator implements Translator<Input, Output> {
     public ImageServingTranslator(Translator<Image, ?> translator) {
         this.translator = translator;
         factory = ImageFactory.getInstance();
+        if (translator instanceof BaseImageTranslator) {
+            decodeSize = ((BaseImageTranslator<?>) translator).getDecodeSize();
+        }
     }
 
     /** {@inheritDoc} */
@@ -80,7 +85,14 @@ public class ImageServingTranslator implements Translator<Input, Output> {
             if (data == null) {
                 throw new TranslateException("Input data is empty.");
             }
-            Image image = factory.fromInputStream(new ByteArrayInputStream(data.getAsBytes()));
+            InputStream is = new ByteArrayInputStream(data.getAsBytes());
+            Image image;
+            if (decodeSize == null) {
+                image = factory.fromInputStream(is);
+            } else {
+                // the image is resized first, it can be decoded at a reduced resolution
+                image = factory.fromInputStream(is, decodeSize[0], decodeSize[1]);
+            }
             return translator.processInput(ctx, image);
         } catch (IOException e) {
             throw new TranslateException("Input is not an Image data type", e);
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.modality.nlp.generate;
+
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDList;
+
+/** {@code CausalLMOutput} is the output of a single forward step of a {@link LMBlock}. */
+public class CausalLMOutput {
+
+    private NDArray logits;
+    private NDList pastKeyValues;
+
+    /**
+     * Constructs a new {@code CausalLMOutput} instance.
+     *
+     * @param logits the logits of shape (batch, sequence, vocabulary)
+     * @param pastKeyValues the key and value tensors of all the processed tokens
+     */
+    public CausalLMOutput(NDArray logits, NDList pastKeyValues) {
+        this.logits = logits;
+        this.pastKeyValues = pastKeyValues;
+    }
+
+    /**
+     * Returns the logits of shape (batch, sequence, vocabulary).
+     *
+     * @return the logits of shape (batch, sequence, vocabulary)
+     */
+    public NDArray getLogits() {
+        return logits;
+    }
+
+    /**
+     * Returns the key and value tensors of all the processed tokens.
+     *
+     * <p>The batch must be the first dimension of every tensor.
+     *
+     * @return the key and value tensors of all the processed tokens
+     */
+    public NDList getPastKeyValues() {
+        return pastKeyValues;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.modality.nlp.generate;
+
+import ai.djl.ndarray.NDList;
+import ai.djl.nn.Block;
+import ai.djl.training.ParameterStore;
+
+/**
+ * {@code LMBlock} runs one step of an autoregressive language model that caches the keys and
+ * values of the processed tokens.
+ *
+ * <p>The input contains three int64 tensors: the new token ids and their positions of shape
+ * (batch, newTokens), and the attention mask of shape (batch, pastTokens + newTokens) where
+ * padding is 0. Only the new tokens are processed, the keys and values of the previous tokens are
+ * read from the past key values returned by the previous step.
+ */
+public interface LMBlock {
+
+    /**
+     * Runs one step of the language model.
+     *
+     * @param input the token ids, the position ids and the attention mask
+     * @param pastKeyValues the past key values returned by the previous step, {@code null} for the
+     *     first step
+     * @return the logits of the new tokens and the past key values including the new tokens
+     */
+    CausalLMOutput forward(NDList input, NDList pastKeyValues);
+
+    /**
+     * Creates a {@code LMBlock} from a {@link Block}.
+     *
+     * <p>The block is called with the token ids, the position ids, the attention mask, followed by
+     * the past key values if any. It must return the logits followed by the new past key values.
+     * This convention fits Java blocks as well as TorchScript models traced with flattened past key
+     * values.
+     *
+     * @param block the language model block
+     * @param parameterStore the {@link ParameterStore} of the block
+     * @return a new {@code LMBlock}
+     */
+    static LMBlock of(Block block, ParameterStore parameterStore) {
+        return (input, past) -> {
+            NDList inputs = new NDList(input);
+            if (past != null) {
+                inputs.addAll(past);
+            }
+            NDList output = block.forward(parameterStore, inputs, false);
+            return new CausalLMOutput(output.head(), output.subNDList(1));
+        };
+    }
+}
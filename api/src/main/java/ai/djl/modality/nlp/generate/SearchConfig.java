@@ -0,0 +1,245 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.modality.nlp.generate;
+
+/** {@code SearchConfig} holds the configuration of a {@link TextGenerator}. */
+public final class SearchConfig {
+
+    private int maxNewTokens;
+    private long eosTokenId;
+    private long padTokenId;
+    private int beamSize;
+    private boolean sampling;
+    private int topK;
+    private float topP;
+    private float temperature;
+
+    private SearchConfig(Builder builder) {
+        maxNewTokens = builder.maxNewTokens;
+        eosTokenId = builder.eosTokenId;
+        padTokenId = builder.padTokenId;
+        beamSize = builder.beamSize;
+        sampling = builder.sampling;
+        topK = builder.topK;
+        topP = builder.topP;
+        temperature = builder.temperature;
+    }
+
+    /**
+     * Returns the maximum number of tokens to generate.
+     *
+     * @return the maximum number of tokens to generate
+     */
+    public int getMaxNewTokens() {
+        return maxNewTokens;
+    }
+
+    /**
+     * Returns the end of sequence token id.
+     *
+     * @return the end of sequence token id, or -1 if generation only stops at the maximum length
+     */
+    public long getEosTokenId() {
+        return eosTokenId;
+    }
+
+    /**
+     * Returns the padding token id.
+     *
+     * @return the padding token id
+     */
+    public long getPadTokenId() {
+        return padTokenId;
+    }
+
+    /**
+     * Returns the number of beams.
+     *
+     * @return the number of beams
+     */
+    public int getBeamSize() {
+        return beamSize;
+    }
+
+    /**
+     * Returns {@code true} if the next token is sampled instead of picking the most likely token.
+     *
+     * @return {@code true} if the next token is sampled
+     */
+    public boolean isSampling() {
+        return sampling;
+    }
+
+    /**
+     * Returns the number of most likely tokens to sample from.
+     *
+     * @return the number of most likely tokens to sample from, 0 to sample from all tokens
+     */
+    public int getTopK() {
+        return topK;
+    }
+
+    /**
+     * Returns the cumulative probability of the most likely tokens to sample from.
+     *
+     * @return the cumulative probability of the most likely tokens to sample from
+     */
+    public float getTopP() {
+        return topP;
+    }
+
+    /**
+     * Returns the temperature the logits are divided by before sampling.
+     *
+     * @return the temperature the logits are divided by before sampling
+     */
+    public float getTemperature() {
+        return temperature;
+    }
+
+    /**
+     * Creates a builder to build a {@code SearchConfig}.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** The Builder to construct a {@link SearchConfig} object. */
+    public static final class Builder {
+
+        int maxNewTokens = 30;
+        long eosTokenId = -1;
+        long padTokenId;
+        int beamSize = 1;
+        boolean sampling;
+        int topK;
+        float topP = 1f;
+        float temperature = 1f;
+
+        Builder() {}
+
+        /**
+         * Sets the maximum number of tokens to generate, defaults to 30.
+         *
+         * @param maxNewTokens the maximum number of tokens to generate
+         * @return this builder
+         */
+        public Builder optMaxNewTokens(int maxNewTokens) {
+            this.maxNewTokens = maxNewTokens;
+            return this;
+        }
+
+        /**
+         * Sets the end of sequence token id.
+         *
+         * @param eosTokenId the end of sequence token id
+         * @return this builder
+         */
+        public Builder optEosTokenId(long eosTokenId) {
+            this.eosTokenId = eosTokenId;
+            return this;
+        }
+
+        /**
+         * Sets the padding token id, used after the end of sequence token, defaults to 0.
+         *
+         * @param padTokenId the padding token id
+         * @return this builder
+         */
+        public Builder optPadTokenId(long padTokenId) {
+            this.padTokenId = padTokenId;
+            return this;
+        }
+
+        /**
+         * Sets the number of beams for beam search, defaults to 1 (no beam search).
+         *
+         * @param beamSize the number of beams
+         * @return this builder
+         */
+        public Builder optBeamSize(int beamSize) {
+            this.beamSize = beamSize;
+            return this;
+        }
+
+        /**
+         * Sets whether to sample the next token instead of picking the most likely token.
+         *
+         * @param sampling {@code true} to sample the next token
+         * @return this builder
+         */
+        public Builder optSampling(boolean sampling) {
+            this.sampling = sampling;
+            return this;
+        }
+
+        /**
+         * Sets the number of most likely tokens to sample from, defaults to 0 (all tokens).
+         *
+         * @param topK the number of most likely tokens to sample from
+         * @return this builder
+         */
+        public Builder optTopK(int topK) {
+            this.topK = topK;
+            return this;
+        }
+
+        /**
+         * Sets the cumulative probability of the most likely tokens to sample from, defaults to 1.
+         *
+         * @param topP the cumulative probability of the most likely tokens to sample from
+         * @return this builder
+         */
+        public Builder optTopP(float topP) {
+            this.topP = topP;
+            return this;
+        }
+
+        /**
+         * Sets the temperature the logits are divided by before sampling, defaults to 1.
+         *
+         * @param temperature the temperature
+         * @return this builder
+         */
+        public Builder optTemperature(float temperature) {
+            this.temperature = temperature;
+            return this;
+        }
+
+        /**
+         * Builds a {@link SearchConfig} with the specified configuration.
+         *
+         * @return a new {@link SearchConfig}
+         */
+        public SearchConfig build() {
+            if (maxNewTokens <= 0) {
+                throw new IllegalArgumentException("maxNewTokens must be positive");
+            }
+            if (beamSize <= 0) {
+                throw new IllegalArgumentException("beamSize must be positive");
+            }
+            if (beamSize > 1 && sampling) {
+                throw new IllegalArgumentException("Beam search does not support sampling");
+            }
+            if (topP <= 0 || topP > 1) {
+                throw new IllegalArgumentException("topP must be in (0, 1]");
+            }
+            if (temperature <= 0) {
+                throw new IllegalArgumentException("temperature must be positive");
+            }
+            return new SearchConfig(this);
+        }
+    }
+}
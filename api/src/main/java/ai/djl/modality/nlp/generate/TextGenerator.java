@@ -0,0 +1,358 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.modality.nlp.generate;
+
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDArrays;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * {@code TextGenerator} generates text with an autoregressive {@link LMBlock}.
+ *
+ * <p>The keys and values of the processed tokens are kept between steps, so every step only runs
+ * the model on the newly generated tokens. Greedy search, beam search and top-k/top-p sampling are
+ * supported, see {@link SearchConfig}.
+ *
+ * <p>Sequences of different lengths are batched by padding them on the left and passing an
+ * attention mask where the padding is 0.
+ */
+public class TextGenerator {
+
+    private static final float NEG_INF = -1e9f;
+
+    private LMBlock lmBlock;
+    private SearchConfig config;
+
+    /**
+     * Constructs a new {@code TextGenerator} instance.
+     *
+     * @param lmBlock the language model
+     * @param config the search configuration
+     */
+    public TextGenerator(LMBlock lmBlock, SearchConfig config) {
+        this.lmBlock = lmBlock;
+        this.config = config;
+    }
+
+    /**
+     * Generates the continuation of the input sequences.
+     *
+     * @param inputIds the token ids of shape (batch, sequence)
+     * @return the input token ids followed by the generated token ids
+     */
+    public NDArray generate(NDArray inputIds) {
+        return generate(inputIds, null, null);
+    }
+
+    /**
+     * Generates the continuation of the input sequences.
+     *
+     * <p>The listener is called with the new token of every sequence after each step. With beam
+     * search, the tokens are only final once the search is complete, so the listener is called for
+     * every step of the best beams after the search completes.
+     *
+     * @param inputIds the token ids of shape (batch, sequence), padded on the left
+     * @param attentionMask the attention mask of shape (batch, sequence), {@code null} if no
+     *     sequence is padded
+     * @param listener the listener to receive the generated tokens, can be {@code null}
+     * @return the input token ids followed by the generated token ids, sequences that ended early
+     *     are padded with the padding token
+     */
+    public NDArray generate(NDArray inputIds, NDArray attentionMask, Consumer<long[]> listener) {
+        NDManager manager = inputIds.getManager();
+        int batch = Math.toIntExact(inputIds.getShape().get(0));
+        int seqLength = Math.toIntExact(inputIds.getShape().get(1));
+        long[] ids = toLongArray(inputIds);
+        long[] mask;
+        if (attentionMask == null) {
+            mask = new long[ids.length];
+            Arrays.fill(mask, 1);
+        } else {
+            mask = toLongArray(attentionMask);
+        }
+
+        int beams = config.getBeamSize();
+        Search search = new Search(batch, beams, seqLength, ids, mask);
+        try (NDManager scope = manager.newSubManager()) {
+            search.run(scope, listener);
+        }
+
+        long[][] sequences = search.getBest();
+        int length = search.length;
+        long[] result = new long[batch * (seqLength + length)];
+        for (int b = 0; b < batch; ++b) {
+            int offset = b * (seqLength + length);
+            System.arraycopy(ids, b * seqLength, result, offset, seqLength);
+            System.arraycopy(sequences[b], 0, result, offset + seqLength, length);
+        }
+        return manager.create(result, new Shape(batch, seqLength + length));
+    }
+
+    private NDArray sample(NDArray logits) {
+        NDManager manager = logits.getManager();
+        NDArray scores = logits;
+        if (config.getTemperature() != 1f) {
+            scores = scores.div(config.getTemperature());
+        }
+        long vocabSize = scores.getShape().get(1);
+        int topK = config.getTopK();
+        if (topK > 0 && topK < vocabSize) {
+            long index = vocabSize - topK;
+            NDArray kth = scores.sort(-1).get(":, {}:{}", index, index + 1);
+            scores = scores.add(scores.lt(kth).toType(DataType.FLOAT32, false).mul(NEG_INF));
+        }
+        if (config.getTopP() < 1f) {
+            NDArray probs = scores.softmax(-1);
+            NDArray sorted = probs.sort(-1);
+            // the least likely tokens whose cumulative probability is below 1 - topP are removed
+            NDArray removed =
+                    sorted.cumSum(-1).lte(1f - config.getTopP()).toType(DataType.FLOAT32, false);
+            NDArray threshold = sorted.add(removed.mul(2)).min(new int[] {-1}, true);
+            scores = scores.add(probs.lt(threshold).toType(DataType.FLOAT32, false).mul(NEG_INF));
+        }
+        // Gumbel-max trick: sampling from softmax(scores) on the device
+        NDArray uniform = manager.randomUniform(1e-10f, 1f, scores.getShape());
+        NDArray gumbel = uniform.log().neg().log().neg();
+        return scores.add(gumbel).argMax(-1);
+    }
+
+    private static long[] toLongArray(NDArray array) {
+        if (array.getDataType() == DataType.INT64) {
+            return array.toLongArray();
+        }
+        try (NDArray converted = array.toType(DataType.INT64, true)) {
+            return converted.toLongArray();
+        }
+    }
+
+    /** The state of a search over a batch of sequences. */
+    private final class Search {
+
+        int batch;
+        int beams;
+        int rows;
+        int seqLength;
+        long[] inputIds;
+        long[] inputMask;
+        long[] tokenCount;
+        long[][] tokens;
+        boolean[] finished;
+        float[] scores;
+        int length;
+
+        Search(int batch, int beams, int seqLength, long[] ids, long[] mask) {
+            this.batch = batch;
+            this.beams = beams;
+            this.seqLength = seqLength;
+            rows = batch * beams;
+            // every sequence is repeated for each beam
+            inputIds = new long[rows * seqLength];
+            inputMask = new long[rows * seqLength];
+            tokenCount = new long[rows];
+            for (int r = 0; r < rows; ++r) {
+                int b = r / beams;
+                System.arraycopy(ids, b * seqLength, inputIds, r * seqLength, seqLength);
+                System.arraycopy(mask, b * seqLength, inputMask, r * seqLength, seqLength);
+                for (int i = 0; i < seqLength; ++i) {
+                    tokenCount[r] += mask[b * seqLength + i];
+                }
+            }
+            tokens = new long[rows][config.getMaxNewTokens()];
+            finished = new boolean[rows];
+            if (beams > 1) {
+                // all beams start identical, only expand the first one in the first step
+                scores = new float[rows];
+                for (int r = 0; r < rows; ++r) {
+                    scores[r] = r % beams == 0 ? 0 : NEG_INF;
+                }
+            }
+        }
+
+        void run(NDManager scope, Consumer<long[]> listener) {
+            NDArray input = scope.create(inputIds, new Shape(rows, seqLength));
+            NDArray positions = scope.create(initialPositions(), new Shape(rows, seqLength));
+            NDArray mask = scope.create(inputMask, new Shape(rows, seqLength));
+            NDList past = null;
+            long eos = config.getEosTokenId();
+            for (int step = 0; step < config.getMaxNewTokens(); ++step) {
+                try (NDManager stepManager = scope.newSubManager()) {
+                    input.attach(stepManager);
+                    positions.attach(stepManager);
+                    mask.tempAttach(stepManager);
+                    if (past != null) {
+                        past.tempAttach(stepManager);
+                    }
+                    NDList inputs = new NDList(input, positions, mask);
+                    CausalLMOutput output = lmBlock.forward(inputs, past);
+                    NDArray logits = output.getLogits();
+                    logits.attach(stepManager);
+                    NDList present = output.getPastKeyValues();
+                    present.attach(stepManager);
+
+                    NDArray last = logits.get(":, -1, :").toType(DataType.FLOAT32, false);
+                    long[] next;
+                    if (beams > 1) {
+                        int[] origins = new int[rows];
+                        next = beamStep(last, origins);
+                        NDArray index = stepManager.create(toLong(origins));
+                        NDList reordered = new NDList(present.size());
+                        for (NDArray array : present) {
+                            reordered.add(array.get(index));
+                        }
+                        present = reordered;
+                    } else if (config.isSampling()) {
+                        next = toLongArray(sample(last));
+                    } else {
+                        next = toLongArray(last.argMax(-1));
+                    }
+                    for (int r = 0; r < rows; ++r) {
+                        if (finished[r]) {
+                            next[r] = config.getPadTokenId();
+                        } else if (next[r] == eos) {
+                            finished[r] = true;
+                        }
+                        tokens[r][step] = next[r];
+                    }
+                    length = step + 1;
+                    if (listener != null && beams == 1) {
+                        listener.accept(next);
+                    }
+
+                    NDArray newMask =
+                            mask.concat(stepManager.ones(new Shape(rows, 1), DataType.INT64), 1);
+                    long[] newPositions = new long[rows];
+                    for (int r = 0; r < rows; ++r) {
+                        newPositions[r] = tokenCount[r] + step;
+                    }
+                    present.attach(scope);
+                    newMask.attach(scope);
+                    input = scope.create(next, new Shape(rows, 1));
+                    positions = scope.create(newPositions, new Shape(rows, 1));
+                    mask.close();
+                    mask = newMask;
+                    if (past != null) {
+                        past.close();
+                    }
+                    past = present;
+                }
+                if (allFinished()) {
+                    break;
+                }
+            }
+            if (listener != null && beams > 1) {
+                long[][] best = getBest();
+                for (int step = 0; step < length; ++step) {
+                    long[] column = new long[batch];
+                    for (int b = 0; b < batch; ++b) {
+                        column[b] = best[b][step];
+                    }
+                    listener.accept(column);
+                }
+            }
+        }
+
+        private long[] beamStep(NDArray logits, int[] origins) {
+            NDManager manager = logits.getManager();
+            long vocabSize = logits.getShape().get(1);
+            NDArray logProbs = logits.logSoftmax(-1);
+            boolean anyFinished = false;
+            for (int r = 0; r < rows && !anyFinished; ++r) {
+                anyFinished = finished[r];
+            }
+            if (anyFinished) {
+                // a finished beam can only be extended with padding, which keeps its score
+                float[] padding = new float[Math.toIntExact(vocabSize)];
+                Arrays.fill(padding, NEG_INF);
+                padding[Math.toIntExact(config.getPadTokenId())] = 0;
+                Shape shape = new Shape(rows, vocabSize);
+                NDArray f = manager.create(finished, new Shape(rows, 1)).broadcast(shape);
+                NDArray padRow = manager.create(padding, new Shape(1, vocabSize)).broadcast(shape);
+                logProbs = NDArrays.where(f, padRow, logProbs);
+            }
+            NDArray candidates =
+                    logProbs.add(manager.create(scores, new Shape(rows, 1)))
+                            .reshape(batch, beams * vocabSize);
+            long[] best = toLongArray(candidates.argSort(-1, false).get(":, :{}", beams));
+            long[] flat = new long[rows];
+            for (int r = 0; r < rows; ++r) {
+                flat[r] = (r / beams) * beams * vocabSize + best[r];
+            }
+            scores = candidates.reshape(-1).get(manager.create(flat)).toFloatArray();
+
+            long[] next = new long[rows];
+            long[][] newTokens = new long[rows][];
+            boolean[] newFinished = new boolean[rows];
+            for (int r = 0; r < rows; ++r) {
+                int b = r / beams;
+                origins[r] = Math.toIntExact(b * beams + best[r] / vocabSize);
+                next[r] = best[r] % vocabSize;
+                newTokens[r] = tokens[origins[r]].clone();
+                newFinished[r] = finished[origins[r]];
+            }
+            tokens = newTokens;
+            finished = newFinished;
+            return next;
+        }
+
+        private long[] initialPositions() {
+            long[] positions = new long[rows * seqLength];
+            for (int r = 0; r < rows; ++r) {
+                long position = 0;
+                for (int i = 0; i < seqLength; ++i) {
+                    int index = r * seqLength + i;
+                    // the left padding shares position 0 with the first token
+                    positions[index] = position;
+                    if (inputMask[index] != 0) {
+                        ++position;
+                    }
+                }
+            }
+            return positions;
+        }
+
+        private boolean allFinished() {
+            if (config.getEosTokenId() < 0) {
+                return false;
+            }
+            for (boolean f : finished) {
+                if (!f) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        long[][] getBest() {
+            long[][] best = new long[batch][];
+            for (int b = 0; b < batch; ++b) {
+                // the beams are sorted by score, the first beam is the best
+                best[b] = tokens[b * beams];
+            }
+            return best;
+        }
+    }
+
+    private static long[] toLong(int[] values) {
+        long[] ret = new long[values.length];
+        for (int i = 0; i < values.length; ++i) {
+            ret[i] = values[i];
+        }
+        return ret;
+    }
+}
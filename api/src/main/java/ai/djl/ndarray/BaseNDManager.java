@@ -24,6 +24,7 @@ import org.slf4j.LoggerFactory;
 
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.DoubleBuffer;
 import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
@@ -68,6 +69,31 @@ public abstract class BaseNDManager implements NDManager {
         return getEngine().defaultDevice();
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public ByteBuffer allocateDirect(int capacity) {
+        return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Allocates a direct buffer that stages Java data while an {@link NDArray} is created from it.
+     *
+     * <p>The buffer comes from the thread arena if an arena {@link NDScope} is open, and is
+     * reclaimed when the scope is closed. Only use it when the engine copies the data into the
+     * array, see {@link NDScope#isArenaOpen()}. Use {@link #allocateDirect(int)} for any buffer
+     * that may outlive the scope.
+     *
+     * @param capacity the buffer's capacity, in bytes
+     * @return the new byte buffer
+     */
+    public ByteBuffer allocateStaging(int capacity) {
+        ByteBuffer buf = NDScope.allocateDirect(capacity);
+        if (buf != null) {
+            return buf;
+        }
+        return allocateDirect(capacity);
+    }
+
     /** {@inheritDoc} */
     @Override
     public NDArray create(String[] data, Charset charset, Shape shape) {
@@ -12,26 +12,64 @@
  */
 package ai.djl.ndarray;
 
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Deque;
-import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
 
 /**
  * A class that tracks {@link NDResource} objects created in the try-with-resource block and close
  * them automatically when out of the block scope.
  *
+ * <p>An arena scope additionally serves the direct buffers that the engines stage Java data in to
+ * create {@link NDArray}s (see {@link BaseNDManager#allocateStaging(int)}), from a per thread
+ * memory region. Other direct buffers, like model weights or the outputs of an engine, are never
+ * taken from the arena. The buffers are bump allocated and the whole region is reclaimed at once
+ * when the scope is closed, which makes the Java side pre-processing of a request almost
+ * allocation free. An array created in an arena scope must not be used after the scope is closed,
+ * use {@link #escape(NDArray)} to copy a result out of the scope. The size of the region defaults
+ * to 16 MB and can be changed with the {@code ai.djl.ndscope.arena_size} system property, a buffer
+ * that doesn't fit is allocated as usual.
+ *
+ * <pre>
+ * try (NDScope scope = new NDScope(true)) {
+ *     NDArray array = manager.create(data);
+ *     ...
+ *     return scope.escape(result);
+ * }
+ * </pre>
+ *
  * <p>This class has been derived from {@code org.bytedeco.javacpp.PointerScope} by Samuel Audet
  */
 public class NDScope implements AutoCloseable {
 
     private static final ThreadLocal<Deque<NDScope>> SCOPE_STACK =
             ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<Arena> ARENA = ThreadLocal.withInitial(Arena::new);
 
-    private IdentityHashMap<NDArray, NDArray> resources;
+    private List<NDArray> resources;
+    private int arenaMark;
 
     /** Constructs a new {@code NDScope} instance. */
     public NDScope() {
-        resources = new IdentityHashMap<>();
+        this(false);
+    }
+
+    /**
+     * Constructs a new {@code NDScope} instance.
+     *
+     * @param arena whether the direct buffers allocated in this scope come from the thread arena
+     */
+    public NDScope(boolean arena) {
+        resources = new ArrayList<>();
+        arenaMark = -1;
+        if (arena) {
+            arenaMark = ARENA.get().open();
+        }
         SCOPE_STACK.get().addLast(this);
     }
 
@@ -45,7 +83,7 @@ public class NDScope implements AutoCloseable {
         if (queue.isEmpty()) {
             return;
         }
-        queue.getLast().resources.put(array, array);
+        queue.getLast().resources.add(array);
     }
 
     /**
@@ -58,15 +96,89 @@ public class NDScope implements AutoCloseable {
         if (queue.isEmpty()) {
             return;
         }
-        queue.getLast().resources.remove(array);
+        queue.getLast().remove(array);
+    }
+
+    /**
+     * Copies an {@link NDArray} out of this scope.
+     *
+     * <p>The copy is not backed by the arena memory and is tracked by the enclosing scope, if any,
+     * so it stays valid after this scope is closed.
+     *
+     * @param array the {@link NDArray} to copy
+     * @return the copy of the {@link NDArray}
+     */
+    public NDArray escape(NDArray array) {
+        Arena arena = ARENA.get();
+        boolean suspended = arena.suspended;
+        arena.suspended = true;
+        NDArray copy;
+        try {
+            copy = array.duplicate();
+        } finally {
+            arena.suspended = suspended;
+        }
+        Deque<NDScope> queue = SCOPE_STACK.get();
+        if (!queue.isEmpty()) {
+            queue.getLast().remove(copy);
+        }
+        Iterator<NDScope> it = queue.descendingIterator();
+        while (it.hasNext()) {
+            if (it.next() == this) {
+                if (it.hasNext()) {
+                    it.next().resources.add(copy);
+                }
+                break;
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Returns whether an {@link NDArray} is tracked by this scope.
+     *
+     * @param array the {@link NDArray} object
+     * @return {@code true} if the array was created while this scope was the innermost one, and is
+     *     not unregistered
+     */
+    public boolean contains(NDArray array) {
+        // arrays are mostly looked up shortly after they are created
+        for (int i = resources.size() - 1; i >= 0; --i) {
+            if (resources.get(i) == array) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Stops tracking the {@link NDArray}s of this scope, they are tracked by the enclosing scope
+     * instead, if any.
+     */
+    public void unregisterAll() {
+        Iterator<NDScope> it = SCOPE_STACK.get().descendingIterator();
+        while (it.hasNext()) {
+            if (it.next() == this) {
+                if (it.hasNext()) {
+                    it.next().resources.addAll(resources);
+                }
+                break;
+            }
+        }
+        resources.clear();
     }
 
     /** {@inheritDoc} */
     @Override
     public void close() {
-        for (NDArray array : resources.keySet()) {
+        for (NDArray array : resources) {
             array.close();
         }
+        resources.clear();
+        if (arenaMark >= 0) {
+            ARENA.get().reset(arenaMark);
+            arenaMark = -1;
+        }
         SCOPE_STACK.get().remove(this);
     }
 
@@ -79,4 +191,88 @@ public class NDScope implements AutoCloseable {
     public void suppressNotUsedWarning() {
         // do nothing
     }
+
+    /**
+     * Returns whether the direct buffers staged on the current thread come from an arena.
+     *
+     * <p>The arena memory is reused once the scope is closed, even by the arrays that were
+     * unregistered from the scope. An engine whose arrays keep a reference to the staging buffer
+     * must copy the data when this method returns {@code true}.
+     *
+     * @return whether an arena {@code NDScope} is open on the current thread
+     */
+    public static boolean isArenaOpen() {
+        return ARENA.get().isOpen();
+    }
+
+    /**
+     * Allocates a zero filled direct buffer from the arena of the current thread.
+     *
+     * @param capacity the buffer's capacity, in bytes
+     * @return the buffer, or {@code null} if no arena scope is open or the arena is full
+     */
+    static ByteBuffer allocateDirect(int capacity) {
+        return ARENA.get().allocate(capacity);
+    }
+
+    private void remove(NDArray array) {
+        // arrays are mostly unregistered shortly after they are created
+        for (int i = resources.size() - 1; i >= 0; --i) {
+            if (resources.get(i) == array) {
+                resources.remove(i);
+                return;
+            }
+        }
+    }
+
+    /** The bump allocated direct memory region of a thread. */
+    private static final class Arena {
+
+        private static final int ALIGNMENT = 64;
+        private static final byte[] ZEROS = new byte[4096];
+
+        private ByteBuffer buffer;
+        private int position;
+        private int depth;
+        boolean suspended;
+
+        int open() {
+            depth++;
+            return position;
+        }
+
+        void reset(int mark) {
+            depth--;
+            position = mark;
+        }
+
+        boolean isOpen() {
+            return depth > 0 && !suspended;
+        }
+
+        ByteBuffer allocate(int capacity) {
+            if (!isOpen()) {
+                return null;
+            }
+            if (buffer == null) {
+                int size = Integer.getInteger("ai.djl.ndscope.arena_size", 16 * 1024 * 1024);
+                buffer = ByteBuffer.allocateDirect(size);
+            }
+            int offset = (position + ALIGNMENT - 1) & -ALIGNMENT;
+            if (capacity > buffer.capacity() - offset) {
+                return null;
+            }
+            ByteBuffer dup = buffer.duplicate();
+            ((Buffer) dup).position(offset);
+            ((Buffer) dup).limit(offset + capacity);
+            ByteBuffer slice = dup.slice().order(ByteOrder.nativeOrder());
+            // the region is reused, but callers rely on the zero fill of allocateDirect
+            while (slice.hasRemaining()) {
+                slice.put(ZEROS, 0, Math.min(ZEROS.length, slice.remaining()));
+            }
+            ((Buffer) slice).rewind();
+            position = offset + capacity;
+            return slice;
+        }
+    }
 }
@@ -17,15 +17,11 @@ import ai.djl.ndarray.index.dim.NDIndexAll;
 import ai.djl.ndarray.index.dim.NDIndexBooleans;
 import ai.djl.ndarray.index.dim.NDIndexElement;
 import ai.djl.ndarray.index.dim.NDIndexFixed;
-import ai.djl.ndarray.index.dim.NDIndexNull;
 import ai.djl.ndarray.index.dim.NDIndexPick;
 import ai.djl.ndarray.index.dim.NDIndexSlice;
-import ai.djl.ndarray.index.dim.NDIndexTake;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 /**
@@ -48,11 +44,6 @@ import java.util.stream.Stream;
  */
 public class NDIndex {
 
-    /* Android regex requires escape } char as well */
-    private static final Pattern ITEM_PATTERN =
-            Pattern.compile(
-                    "(\\*)|((-?\\d+|\\{\\})?:(-?\\d+|\\{\\})?(:(-?\\d+|\\{\\}))?)|(-?\\d+|\\{\\})|null");
-
     private int rank;
     private List<NDIndexElement> indices;
     private int ellipsisIndex;
@@ -204,28 +195,7 @@ public class NDIndex {
      * @see #NDIndex(String, Object...)
      */
     public final NDIndex addIndices(String indices, Object... args) {
-        String[] indexItems = indices.split(",");
-        rank += indexItems.length;
-        int argIndex = 0;
-        for (int i = 0; i < indexItems.length; ++i) {
-            if ("...".equals(indexItems[i].trim())) {
-                // make sure ellipsis appear only once
-                if (ellipsisIndex != -1) {
-                    throw new IllegalArgumentException(
-                            "an index can only have a single ellipsis (\"...\")");
-                }
-                ellipsisIndex = i;
-            } else {
-                argIndex = addIndexItem(indexItems[i], argIndex, args);
-            }
-        }
-        if (ellipsisIndex != -1) {
-            rank--;
-        }
-        if (argIndex != args.length) {
-            throw new IllegalArgumentException("Incorrect number of index arguments");
-        }
-        return this;
+        return NDIndexTemplate.compile(indices).appendTo(this, args);
     }
 
     /**
@@ -339,96 +309,22 @@ public class NDIndex {
         return indices.stream();
     }
 
-    private int addIndexItem(String indexItem, int argIndex, Object[] args) {
-        indexItem = indexItem.trim();
-        Matcher m = ITEM_PATTERN.matcher(indexItem);
-        if (!m.matches()) {
-            throw new IllegalArgumentException("Invalid argument index: " + indexItem);
-        }
-        // "null" case
-        if ("null".equals(indexItem)) {
-            indices.add(new NDIndexNull());
-            return argIndex;
-        }
-        // "*" case
-        String star = m.group(1);
-        if (star != null) {
-            indices.add(new NDIndexAll());
-            return argIndex;
-        }
-        // "number" number only case
-        String digit = m.group(7);
-        if (digit != null) {
-            if ("{}".equals(digit)) {
-                Object arg = args[argIndex];
-                if (arg instanceof Integer) {
-                    indices.add(new NDIndexFixed((Integer) arg));
-                    return argIndex + 1;
-                } else if (arg instanceof Long) {
-                    indices.add(new NDIndexFixed((Long) arg));
-                    return argIndex + 1;
-                } else if (arg instanceof NDArray) {
-                    NDArray array = (NDArray) arg;
-                    if (array.getDataType().isBoolean()) {
-                        indices.add(new NDIndexBooleans(array));
-                        return argIndex + 1;
-                    } else if (array.getDataType().isInteger()
-                            || array.getDataType().isFloating()) {
-                        indices.add(new NDIndexTake(array));
-                        return argIndex + 1;
-                    }
-                } else if (arg == null) {
-                    indices.add(new NDIndexNull());
-                    return argIndex + 1;
-                }
-                throw new IllegalArgumentException("Unknown argument: " + arg);
-            } else {
-                indices.add(new NDIndexFixed(Long.parseLong(digit)));
-                return argIndex;
-            }
-        }
-
-        // Slice
-        Long min = null;
-        Long max = null;
-        Long step = null;
-        if (m.group(3) != null) {
-            min = parseSliceItem(m.group(3), argIndex, args);
-            if ("{}".equals(m.group(3))) {
-                argIndex++;
-            }
-        }
-        if (m.group(4) != null) {
-            max = parseSliceItem(m.group(4), argIndex, args);
-            if ("{}".equals(m.group(4))) {
-                argIndex++;
-            }
-        }
-        if (m.group(6) != null) {
-            step = parseSliceItem(m.group(6), argIndex, args);
-            if ("{}".equals(m.group(6))) {
-                argIndex++;
-            }
-        }
-        if (min == null && max == null && step == null) {
-            indices.add(new NDIndexAll());
-        } else {
-            indices.add(new NDIndexSlice(min, max, step));
-        }
-        return argIndex;
+    void addElement(NDIndexElement element) {
+        indices.add(element);
     }
 
-    private Long parseSliceItem(String sliceItem, int argIndex, Object... args) {
-        if ("{}".equals(sliceItem)) {
-            Object arg = args[argIndex];
-            if (arg instanceof Integer) {
-                return ((Integer) arg).longValue();
-            } else if (arg instanceof Long) {
-                return (Long) arg;
+    void addEllipsis(int index, int numItems) {
+        if (index != -1) {
+            // make sure ellipsis appear only once
+            if (ellipsisIndex != -1) {
+                throw new IllegalArgumentException(
+                        "an index can only have a single ellipsis (\"...\")");
             }
-            throw new IllegalArgumentException("Unknown slice argument: " + arg);
-        } else {
-            return Long.parseLong(sliceItem);
+            ellipsisIndex = index;
+        }
+        rank += numItems;
+        if (ellipsisIndex != -1) {
+            rank--;
         }
     }
 }
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.ndarray.index;
+
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.index.dim.NDIndexAll;
+import ai.djl.ndarray.index.dim.NDIndexBooleans;
+import ai.djl.ndarray.index.dim.NDIndexElement;
+import ai.djl.ndarray.index.dim.NDIndexFixed;
+import ai.djl.ndarray.index.dim.NDIndexNull;
+import ai.djl.ndarray.index.dim.NDIndexSlice;
+import ai.djl.ndarray.index.dim.NDIndexTake;
+import ai.djl.ndarray.index.full.NDIndexFullSlice;
+import ai.djl.ndarray.types.Shape;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An {@code NDIndexTemplate} is an index string of {@link NDIndex#NDIndex(String, Object...)}
+ * that is parsed only once.
+ *
+ * <p>The arguments of the "{}" placeholders are bound on each use. A template without any
+ * placeholder keeps the slice it resolved for the last shape, so indexing arrays of the same shape
+ * skips the index resolution as well.
+ *
+ * <pre>
+ * private static final NDIndexTemplate ROW = NDIndexTemplate.compile("{}, :");
+ *
+ * NDArray row = ROW.get(array, i);
+ * </pre>
+ *
+ * <p>{@code NDIndexTemplate} is immutable and can be shared by multiple threads.
+ */
+public final class NDIndexTemplate {
+
+    /* Android regex requires escape } char as well */
+    private static final Pattern ITEM_PATTERN =
+            Pattern.compile(
+                    "(\\*)|((-?\\d+|\\{\\})?:(-?\\d+|\\{\\})?(:(-?\\d+|\\{\\}))?)|(-?\\d+|\\{\\})|null");
+
+    private static final int MAX_CACHE_SIZE = 512;
+    private static final Map<String, NDIndexTemplate> CACHE = new ConcurrentHashMap<>();
+
+    private static final int ALL = 0;
+    private static final int NULL = 1;
+    private static final int FIXED = 2;
+    private static final int ARG = 3;
+    private static final int SLICE = 4;
+
+    private int[] types;
+    private Long[][] slices;
+    private int ellipsisIndex;
+    private int numArgs;
+    private volatile ResolvedSlice resolved;
+
+    private NDIndexTemplate(int[] types, Long[][] slices, int ellipsisIndex, int numArgs) {
+        this.types = types;
+        this.slices = slices;
+        this.ellipsisIndex = ellipsisIndex;
+        this.numArgs = numArgs;
+    }
+
+    /**
+     * Parses an index string into a template.
+     *
+     * <p>The templates of the index strings are cached, so calling this method again with the same
+     * string doesn't parse it again. The cache is cleared once it holds 512 templates, so index
+     * strings built on the fly don't grow it without bounds.
+     *
+     * @param indices a comma separated list of indices, see {@link NDIndex#NDIndex(String,
+     *     Object...)}
+     * @return the template of the index string
+     * @throws IllegalArgumentException if the index string is invalid
+     */
+    public static NDIndexTemplate compile(String indices) {
+        NDIndexTemplate template = CACHE.get(indices);
+        if (template == null) {
+            template = parse(indices);
+            // cleared rather than evicted in LRU order, so the lookups don't need a lock
+            if (CACHE.size() >= MAX_CACHE_SIZE) {
+                CACHE.clear();
+            }
+            CACHE.put(indices, template);
+        }
+        return template;
+    }
+
+    /**
+     * Returns the number of "{}" placeholders in the template.
+     *
+     * @return the number of "{}" placeholders in the template
+     */
+    public int getNumArgs() {
+        return numArgs;
+    }
+
+    /**
+     * Creates a new {@link NDIndex} with the given arguments.
+     *
+     * @param args arguments to replace the "{}" placeholders. Can be an integer, long, boolean
+     *     {@link NDArray}, or integer {@link NDArray}.
+     * @return a new {@link NDIndex}
+     */
+    public NDIndex bind(Object... args) {
+        return appendTo(new NDIndex(), args);
+    }
+
+    /**
+     * Returns a partial {@code NDArray} with the given arguments.
+     *
+     * @param array the array to index
+     * @param args arguments to replace the "{}" placeholders
+     * @return the partial {@code NDArray}
+     */
+    public NDArray get(NDArray array, Object... args) {
+        if (numArgs > 0 || args.length > 0) {
+            return array.get(bind(args));
+        }
+        Shape shape = array.getShape();
+        ResolvedSlice slice = resolved;
+        if (slice == null || !slice.shape.equals(shape)) {
+            NDIndex index = bind();
+            NDIndexFullSlice fullSlice = NDIndexFullSlice.fromIndex(index, shape).orElse(null);
+            if (fullSlice == null || (index.getRank() == 0 && shape.isScalar())) {
+                return array.get(index);
+            }
+            slice = new ResolvedSlice(shape, fullSlice);
+            resolved = slice;
+        }
+        return array.getNDArrayInternal()
+                .getIndexer(array.getManager())
+                .get(array, slice.fullSlice);
+    }
+
+    NDIndex appendTo(NDIndex index, Object[] args) {
+        if (args.length != numArgs) {
+            throw new IllegalArgumentException("Incorrect number of index arguments");
+        }
+        int argIndex = 0;
+        for (int i = 0; i < types.length; ++i) {
+            switch (types[i]) {
+                case ALL:
+                    index.addElement(new NDIndexAll());
+                    break;
+                case NULL:
+                    index.addElement(new NDIndexNull());
+                    break;
+                case FIXED:
+                    index.addElement(new NDIndexFixed(slices[i][0]));
+                    break;
+                case ARG:
+                    index.addElement(toElement(args[argIndex++]));
+                    break;
+                case SLICE:
+                    Long[] slice = slices[i];
+                    Long min = slice[0];
+                    Long max = slice[1];
+                    Long step = slice[2];
+                    if (slice[3] != null) {
+                        min = toSliceItem(args[argIndex++]);
+                    }
+                    if (slice[4] != null) {
+                        max = toSliceItem(args[argIndex++]);
+                    }
+                    if (slice[5] != null) {
+                        step = toSliceItem(args[argIndex++]);
+                    }
+                    index.addElement(new NDIndexSlice(min, max, step));
+                    break;
+                default:
+                    // the ellipsis doesn't add any element
+                    break;
+            }
+        }
+        index.addEllipsis(ellipsisIndex, types.length);
+        return index;
+    }
+
+    private static NDIndexTemplate parse(String indices) {
+        String[] indexItems = indices.split(",");
+        int[] types = new int[indexItems.length];
+        Long[][] slices = new Long[indexItems.length][];
+        int ellipsisIndex = -1;
+        int numArgs = 0;
+        for (int i = 0; i < indexItems.length; ++i) {
+            String indexItem = indexItems[i].trim();
+            if ("...".equals(indexItem)) {
+                // make sure ellipsis appear only once
+                if (ellipsisIndex != -1) {
+                    throw new IllegalArgumentException(
+                            "an index can only have a single ellipsis (\"...\")");
+                }
+                ellipsisIndex = i;
+                types[i] = -1;
+                continue;
+            }
+            Matcher m = ITEM_PATTERN.matcher(indexItem);
+            if (!m.matches()) {
+                throw new IllegalArgumentException("Invalid argument index: " + indexItem);
+            }
+            if ("null".equals(indexItem)) {
+                types[i] = NULL;
+            } else if (m.group(1) != null) {
+                types[i] = ALL;
+            } else if (m.group(7) != null) {
+                String digit = m.group(7);
+                if ("{}".equals(digit)) {
+                    types[i] = ARG;
+                    ++numArgs;
+                } else {
+                    types[i] = FIXED;
+                    slices[i] = new Long[] {Long.parseLong(digit)};
+                }
+            } else {
+                // the first three values are constants, the last three mark the placeholders
+                Long[] slice = new Long[6];
+                for (int j = 0; j < 3; ++j) {
+                    String item = m.group(j == 2 ? 6 : j + 3);
+                    if ("{}".equals(item)) {
+                        slice[j + 3] = 0L;
+                        ++numArgs;
+                    } else if (item != null) {
+                        slice[j] = Long.parseLong(item);
+                    }
+                }
+                boolean all = true;
+                for (Long value : slice) {
+                    all &= value == null;
+                }
+                types[i] = all ? ALL : SLICE;
+                slices[i] = slice;
+            }
+        }
+        return new NDIndexTemplate(types, slices, ellipsisIndex, numArgs);
+    }
+
+    private static NDIndexElement toElement(Object arg) {
+        if (arg instanceof Integer) {
+            return new NDIndexFixed((Integer) arg);
+        } else if (arg instanceof Long) {
+            return new NDIndexFixed((Long) arg);
+        } else if (arg instanceof NDArray) {
+            NDArray array = (NDArray) arg;
+            if (array.getDataType().isBoolean()) {
+                return new NDIndexBooleans(array);
+            } else if (array.getDataType().isInteger() || array.getDataType().isFloating()) {
+                return new NDIndexTake(array);
+            }
+        } else if (arg == null) {
+            return new NDIndexNull();
+        }
+        throw new IllegalArgumentException("Unknown argument: " + arg);
+    }
+
+    private static Long toSliceItem(Object arg) {
+        if (arg instanceof Integer) {
+            return ((Integer) arg).longValue();
+        } else if (arg instanceof Long) {
+            return (Long) arg;
+        }
+        throw new IllegalArgumentException("Unknown slice argument: " + arg);
+    }
+
+    private static final class ResolvedSlice {
+
+        Shape shape;
+        NDIndexFullSlice fullSlice;
+
+        ResolvedSlice(Shape shape, NDIndexFullSlice fullSlice) {
+            this.shape = shape;
+            this.fullSlice = fullSlice;
+        }
+    }
+}
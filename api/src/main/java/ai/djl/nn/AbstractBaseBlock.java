@@ -76,7 +76,18 @@ public abstract class AbstractBaseBlock implements Block {
         if (training && !isInitialized()) {
             initialize(paramsManager, DataType.FLOAT32, inputs.getShapes());
         }
-        return forwardInternal(parameterStore, inputs, training, params);
+        BlockProfiler profiler = BlockProfiler.current();
+        if (profiler == null) {
+            return forwardInternal(parameterStore, inputs, training, params);
+        }
+        profiler.begin(this);
+        NDList outputs = null;
+        try {
+            outputs = forwardInternal(parameterStore, inputs, training, params);
+            return outputs;
+        } finally {
+            profiler.end(outputs);
+        }
     }
 
     /** {@inheritDoc} */
@@ -90,7 +101,18 @@ public abstract class AbstractBaseBlock implements Block {
         if (!isInitialized()) {
             initialize(paramsManager, DataType.FLOAT32, data.getShapes());
         }
-        return forwardInternal(parameterStore, data, labels, params);
+        BlockProfiler profiler = BlockProfiler.current();
+        if (profiler == null) {
+            return forwardInternal(parameterStore, data, labels, params);
+        }
+        profiler.begin(this);
+        NDList outputs = null;
+        try {
+            outputs = forwardInternal(parameterStore, data, labels, params);
+            return outputs;
+        } finally {
+            profiler.end(outputs);
+        }
     }
 
     /**
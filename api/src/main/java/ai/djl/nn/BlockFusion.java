@@ -0,0 +1,156 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.nn;
+
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.types.Shape;
+import ai.djl.nn.convolutional.Convolution;
+import ai.djl.nn.core.Linear;
+import ai.djl.nn.norm.BatchNorm;
+import ai.djl.util.Pair;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * {@code BlockFusion} rewrites a {@link Block} tree for inference by fusing operators.
+ *
+ * <p>Inside every {@link SequentialBlock} of the tree, a {@link Convolution} or {@link Linear}
+ * block directly followed by a {@link BatchNorm} over its output channel axis is replaced with a
+ * {@link FusedBlock}. The batch normalization is folded into the weight and bias of the preceding
+ * operator:
+ *
+ * <pre>
+ * scale = gamma / sqrt(runningVar + epsilon)
+ * weight' = weight * scale
+ * bias' = (bias - runningMean) * scale + beta
+ * </pre>
+ *
+ * <p>An element-wise activation block created by {@link Activation}, for example {@link
+ * Activation#reluBlock()}, directly following the batch normalization is moved into the same
+ * {@link FusedBlock}, which applies it to the output of the folded operator.
+ *
+ * <p>The rewritten block is only valid for inference, and its parameters can no longer be loaded
+ * into the original architecture. The block must be initialized, or have its parameters loaded,
+ * before it is fused.
+ */
+public final class BlockFusion {
+
+    private static final Set<String> ACTIVATIONS =
+            new HashSet<>(
+                    Arrays.asList(
+                            "ReLU", "ReLU6", "sigmoid", "Tanh", "softPlus", "softSign", "SELU",
+                            "GELU"));
+
+    private BlockFusion() {}
+
+    /**
+     * Folds every {@link BatchNorm} that follows a {@link Convolution} or {@link Linear} block in
+     * the given block tree.
+     *
+     * @param block the block to optimize in place
+     * @return the number of {@link BatchNorm} blocks that were folded
+     */
+    public static int fuse(Block block) {
+        int count = 0;
+        for (Pair<String, Block> pair : block.getChildren()) {
+            count += fuse(pair.getValue());
+        }
+        if (block instanceof SequentialBlock) {
+            count += fuseSequence((SequentialBlock) block);
+        }
+        return count;
+    }
+
+    private static int fuseSequence(SequentialBlock block) {
+        BlockList children = block.children;
+        BlockList fused = new BlockList(children.size());
+        int count = 0;
+        int i = 0;
+        while (i < children.size()) {
+            Pair<String, Block> pair = children.get(i);
+            Block current = pair.getValue();
+            Block next = i + 1 < children.size() ? children.get(i + 1).getValue() : null;
+            if (isFoldable(current, next)) {
+                Block activation = null;
+                int consumed = 2;
+                if (i + 2 < children.size()) {
+                    Block candidate = children.get(i + 2).getValue();
+                    if (candidate instanceof LambdaBlock
+                            && ACTIVATIONS.contains(((LambdaBlock) candidate).getName())) {
+                        activation = candidate;
+                        consumed = 3;
+                    }
+                }
+                fused.add(pair.getKey(), fold(current, (BatchNorm) next, activation));
+                count++;
+                i += consumed;
+            } else {
+                fused.add(pair);
+                i++;
+            }
+        }
+        if (count > 0) {
+            block.children = fused;
+        }
+        return count;
+    }
+
+    private static boolean isFoldable(Block block, Block next) {
+        if (!(next instanceof BatchNorm)) {
+            return false;
+        }
+        int axis = ((BatchNorm) next).getAxis();
+        if (block instanceof Convolution) {
+            return axis == 1;
+        }
+        if (block instanceof Linear && block.isInitialized()) {
+            // the output channel of a linear block is its last axis, (N, units) or (N, T, units)
+            Shape[] inputShapes = block.getInputShapes();
+            int rank = inputShapes.length == 0 ? 0 : inputShapes[0].dimension();
+            return rank >= 2 && (axis == rank - 1 || axis == -1);
+        }
+        return false;
+    }
+
+    private static FusedBlock fold(Block op, BatchNorm batchNorm, Block activation) {
+        ParameterList params = op.getDirectParameters();
+        NDArray weight = params.get("weight").getArray();
+        Parameter biasParam = params.get("bias");
+
+        ParameterList bnParams = batchNorm.getDirectParameters();
+        NDArray gamma = bnParams.get("gamma").getArray();
+        NDArray beta = bnParams.get("beta").getArray();
+        NDArray mean = bnParams.get("runningMean").getArray();
+        NDArray var = bnParams.get("runningVar").getArray();
+
+        // broadcast the per output channel scale over the remaining weight dimensions
+        long[] dims = new long[weight.getShape().dimension()];
+        Arrays.fill(dims, 1);
+        dims[0] = -1;
+        try (NDArray variance = var.add(batchNorm.getEpsilon());
+                NDArray std = variance.sqrt();
+                NDArray scale = gamma.div(std);
+                NDArray channelScale = scale.reshape(new Shape(dims))) {
+            NDArray newWeight = weight.mul(channelScale);
+            NDArray newBias;
+            if (biasParam == null) {
+                newBias = mean.neg().muli(scale).addi(beta);
+            } else {
+                newBias = biasParam.getArray().sub(mean).muli(scale).addi(beta);
+            }
+            return new FusedBlock(op, newWeight, newBias, activation);
+        }
+    }
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.nn;
+
+import ai.djl.ndarray.LazyNDArray;
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDList;
+import ai.djl.util.JsonUtils;
+import ai.djl.util.Pair;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A class that profiles the forward pass of every {@link Block} executed on the current thread in
+ * the try-with-resource block.
+ *
+ * <p>For each block path, the profiler aggregates the number of calls, the inclusive time, the
+ * self time (inclusive time minus the time spent in child blocks) and the size of the outputs.
+ *
+ * <pre>
+ * try (BlockProfiler profiler = new BlockProfiler(true)) {
+ *     predictor.predict(input);
+ *     System.out.println(profiler);
+ * }
+ * </pre>
+ *
+ * <p>Profiling is opt-in. When no profiler is open, the only cost on the forward pass is a single
+ * atomic read.
+ */
+public class BlockProfiler implements AutoCloseable {
+
+    private static final ThreadLocal<BlockProfiler> PROFILER = new ThreadLocal<>();
+    private static final AtomicInteger ACTIVE = new AtomicInteger();
+
+    private boolean synchronize;
+    private BlockProfiler previous;
+    private Map<String, Node> roots;
+    private Deque<Frame> stack;
+    private Map<Block, Map<Block, String>> childNames;
+    private boolean closed;
+
+    /** Constructs a new {@code BlockProfiler} instance that does not wait for lazy arrays. */
+    public BlockProfiler() {
+        this(false);
+    }
+
+    /**
+     * Constructs a new {@code BlockProfiler} instance for the current thread.
+     *
+     * @param synchronize whether to wait for the outputs of {@link LazyNDArray} to be computed
+     *     before stopping the clock of each block
+     */
+    public BlockProfiler(boolean synchronize) {
+        this.synchronize = synchronize;
+        roots = new LinkedHashMap<>();
+        stack = new ArrayDeque<>();
+        childNames = new IdentityHashMap<>();
+        previous = PROFILER.get();
+        PROFILER.set(this);
+        ACTIVE.incrementAndGet();
+    }
+
+    /**
+     * Returns the {@code BlockProfiler} of the current thread.
+     *
+     * @return the {@code BlockProfiler} of the current thread, or {@code null} if profiling is
+     *     disabled
+     */
+    public static BlockProfiler current() {
+        if (ACTIVE.get() == 0) {
+            return null;
+        }
+        return PROFILER.get();
+    }
+
+    /**
+     * Returns the profiled blocks that were called at the top level.
+     *
+     * @return the profiled blocks that were called at the top level
+     */
+    public List<Node> getRoots() {
+        return new ArrayList<>(roots.values());
+    }
+
+    /**
+     * Returns the profiling result as a JSON string.
+     *
+     * @return the profiling result as a JSON string
+     */
+    public String toJson() {
+        return JsonUtils.GSON_PRETTY.toJson(roots.values());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(256);
+        for (Node node : roots.values()) {
+            node.appendTo(sb, 0);
+        }
+        return sb.toString();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (previous == null) {
+            PROFILER.remove();
+        } else {
+            PROFILER.set(previous);
+        }
+        ACTIVE.decrementAndGet();
+    }
+
+    void begin(Block block) {
+        Node node;
+        if (stack.isEmpty()) {
+            String name = block.getClass().getSimpleName();
+            node = roots.computeIfAbsent(name, k -> new Node(k, k));
+        } else {
+            Frame parent = stack.getLast();
+            node = parent.node.child(getChildName(parent.block, block));
+        }
+        stack.addLast(new Frame(block, node, System.nanoTime()));
+    }
+
+    void end(NDList outputs) {
+        if (synchronize && outputs != null) {
+            for (NDArray array : outputs) {
+                if (array instanceof LazyNDArray) {
+                    ((LazyNDArray) array).waitToRead();
+                }
+            }
+        }
+        Frame frame = stack.removeLast();
+        long elapsed = System.nanoTime() - frame.begin;
+        Node node = frame.node;
+        node.calls++;
+        node.inclusiveNanos += elapsed;
+        node.selfNanos += elapsed - frame.childNanos;
+        if (outputs != null) {
+            for (NDArray array : outputs) {
+                node.outputElements += array.size();
+                node.outputBytes += array.size() * array.getDataType().getNumOfBytes();
+            }
+        }
+        if (!stack.isEmpty()) {
+            stack.getLast().childNanos += elapsed;
+        }
+    }
+
+    private String getChildName(Block parent, Block block) {
+        // the names are looked up per parent instance, blocks of the same path may differ
+        Map<Block, String> names =
+                childNames.computeIfAbsent(
+                        parent,
+                        k -> {
+                            Map<Block, String> map = new IdentityHashMap<>();
+                            for (Pair<String, Block> pair : k.getChildren()) {
+                                map.put(pair.getValue(), pair.getKey());
+                            }
+                            return map;
+                        });
+        String childName = names.get(block);
+        if (childName == null) {
+            // the block is not a registered child, for example a LambdaBlock created on the fly
+            childName = block.getClass().getSimpleName();
+        }
+        return childName;
+    }
+
+    /** The aggregated profiling result of a block path. */
+    public static final class Node {
+
+        private String name;
+        private String path;
+        private long calls;
+        private long inclusiveNanos;
+        private long selfNanos;
+        private long outputElements;
+        private long outputBytes;
+        private Map<String, Node> children = new LinkedHashMap<>();
+
+        Node(String name, String path) {
+            this.name = name;
+            this.path = path;
+        }
+
+        /**
+         * Returns the name of the block.
+         *
+         * @return the name of the block
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the path of the block, the names of the parent blocks separated by "/".
+         *
+         * @return the path of the block
+         */
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * Returns the number of times the block was called.
+         *
+         * @return the number of times the block was called
+         */
+        public long getCalls() {
+            return calls;
+        }
+
+        /**
+         * Returns the total time in nanoseconds spent in the block, including the child blocks.
+         *
+         * @return the total time in nanoseconds spent in the block
+         */
+        public long getInclusiveNanos() {
+            return inclusiveNanos;
+        }
+
+        /**
+         * Returns the total time in nanoseconds spent in the block, excluding the child blocks.
+         *
+         * @return the total time in nanoseconds spent in the block itself
+         */
+        public long getSelfNanos() {
+            return selfNanos;
+        }
+
+        /**
+         * Returns the total number of elements in the outputs of the block.
+         *
+         * @return the total number of elements in the outputs of the block
+         */
+        public long getOutputElements() {
+            return outputElements;
+        }
+
+        /**
+         * Returns the total number of bytes in the outputs of the block.
+         *
+         * @return the total number of bytes in the outputs of the block
+         */
+        public long getOutputBytes() {
+            return outputBytes;
+        }
+
+        /**
+         * Returns the profiled child blocks.
+         *
+         * @return the profiled child blocks
+         */
+        public List<Node> getChildren() {
+            return new ArrayList<>(children.values());
+        }
+
+        Node child(String childName) {
+            return children.computeIfAbsent(childName, k -> new Node(k, path + '/' + k));
+        }
+
+        void appendTo(StringBuilder sb, int depth) {
+            for (int i = 0; i < depth; ++i) {
+                sb.append("  ");
+            }
+            sb.append(name)
+                    .append(": calls=")
+                    .append(calls)
+                    .append(", total=")
+                    .append(String.format("%.3f", inclusiveNanos / 1_000_000d))
+                    .append(" ms, self=")
+                    .append(String.format("%.3f", selfNanos / 1_000_000d))
+                    .append(" ms, output=")
+                    .append(outputBytes)
+                    .append(" bytes\n");
+            for (Node child : children.values()) {
+                child.appendTo(sb, depth + 1);
+            }
+        }
+    }
+
+    private static final class Frame {
+
+        Block block;
+        Node node;
+        long begin;
+        long childNanos;
+
+        Frame(Block block, Node node, long begin) {
+            this.block = block;
+            this.node = node;
+            this.begin = begin;
+        }
+    }
+}
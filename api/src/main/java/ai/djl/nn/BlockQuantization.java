@@ -0,0 +1,259 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.nn;
+
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.NDScope;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.nn.convolutional.Convolution;
+import ai.djl.nn.core.Embedding;
+import ai.djl.nn.core.Linear;
+import ai.djl.training.ParameterStore;
+import ai.djl.training.dataset.Batch;
+import ai.djl.training.dataset.Dataset;
+import ai.djl.translate.TranslateException;
+import ai.djl.util.Pair;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@code BlockQuantization} rewrites a {@link Block} tree for inference by storing the weights in
+ * {@link DataType#INT8} or {@link DataType#FLOAT16}.
+ *
+ * <p>Inside every {@link SequentialBlock} and {@link ParallelBlock} of the tree, each {@link
+ * Convolution}, {@link Linear} and {@link Embedding} block is replaced with a {@link
+ * QuantizedBlock}. The FP32 weight of the original block is released, which shrinks an {@link
+ * DataType#INT8} model by about 4x.
+ *
+ * <p>With a calibration {@link Dataset}, a block is only quantized if the relative error of the
+ * model output over the calibration data stays within the given tolerance. The blocks that are
+ * sensitive to quantization keep their FP32 weight.
+ *
+ * <p>The quantized parameters are saved in the {@code .params} format as usual. To load them, build
+ * the original architecture and call {@link #quantize(Block, DataType)} on the uninitialized block
+ * before loading the parameters. The calibration returns the paths of the quantized blocks, store
+ * them with the model and rebuild it with {@link #quantize(Block, DataType, Collection)}:
+ *
+ * <pre>
+ * List&lt;String&gt; paths =
+ *     BlockQuantization.quantize(block, DataType.INT8, calibration, manager, 0.01f);
+ * model.save(modelDir, "model"); // store the paths next to the model
+ *
+ * Block rebuilt = buildBlock();
+ * BlockQuantization.quantize(rebuilt, DataType.INT8, paths);
+ * model.setBlock(rebuilt);
+ * model.load(modelDir, "model");
+ * </pre>
+ */
+public final class BlockQuantization {
+
+    private BlockQuantization() {}
+
+    /**
+     * Quantizes every {@link Convolution}, {@link Linear} and {@link Embedding} block in the given
+     * block tree.
+     *
+     * @param block the block to optimize in place
+     * @param dataType the data type of the quantized weights, {@link DataType#INT8} or {@link
+     *     DataType#FLOAT16}
+     * @return the number of blocks that were quantized
+     */
+    public static int quantize(Block block, DataType dataType) {
+        List<Candidate> candidates = new ArrayList<>();
+        findCandidates(block, "", candidates);
+        for (Candidate candidate : candidates) {
+            candidate.apply(dataType);
+            candidate.commit();
+        }
+        return candidates.size();
+    }
+
+    /**
+     * Quantizes the {@link Convolution}, {@link Linear} and {@link Embedding} blocks at the given
+     * paths of the block tree.
+     *
+     * <p>This rebuilds the architecture of a model quantized with a calibration {@link Dataset},
+     * before loading its parameters.
+     *
+     * @param block the block to optimize in place
+     * @param dataType the data type of the quantized weights, {@link DataType#INT8} or {@link
+     *     DataType#FLOAT16}
+     * @param paths the paths of the blocks to quantize, as returned by {@link #quantize(Block,
+     *     DataType, Dataset, NDManager, float)}
+     * @return the number of blocks that were quantized
+     * @throws IllegalArgumentException if a path is not a quantizable block of the tree
+     */
+    public static int quantize(Block block, DataType dataType, Collection<String> paths) {
+        List<Candidate> candidates = new ArrayList<>();
+        findCandidates(block, "", candidates);
+        Set<String> remaining = new HashSet<>(paths);
+        int count = 0;
+        for (Candidate candidate : candidates) {
+            if (remaining.remove(candidate.path)) {
+                candidate.apply(dataType);
+                candidate.commit();
+                count++;
+            }
+        }
+        if (!remaining.isEmpty()) {
+            throw new IllegalArgumentException("Quantizable blocks not found: " + remaining);
+        }
+        return count;
+    }
+
+    /**
+     * Quantizes the {@link Convolution}, {@link Linear} and {@link Embedding} blocks in the given
+     * block tree whose quantization keeps the model output close to the original one.
+     *
+     * <p>The blocks are tried one after another. A block stays quantized if the relative L2 error
+     * of every output over the calibration data, compared to the original FP32 model, is at most
+     * {@code tolerance}. The returned paths identify the quantized blocks, they are needed to
+     * load the quantized parameters with {@link #quantize(Block, DataType, Collection)}.
+     *
+     * @param block the initialized block to optimize in place
+     * @param dataType the data type of the quantized weights, {@link DataType#INT8} or {@link
+     *     DataType#FLOAT16}
+     * @param calibration a small sample of the inference data
+     * @param manager the manager used to read the calibration data
+     * @param tolerance the maximum relative error of the model output
+     * @return the paths of the blocks that were quantized
+     * @throws IOException if the calibration data cannot be read
+     * @throws TranslateException if the calibration data cannot be processed
+     */
+    public static List<String> quantize(
+            Block block,
+            DataType dataType,
+            Dataset calibration,
+            NDManager manager,
+            float tolerance)
+            throws IOException, TranslateException {
+        if (!block.isInitialized()) {
+            throw new IllegalStateException("The block must be initialized to be calibrated.");
+        }
+        List<Candidate> candidates = new ArrayList<>();
+        findCandidates(block, "", candidates);
+        List<String> quantized = new ArrayList<>();
+        try (NDManager calibrationManager = manager.newSubManager()) {
+            ParameterStore parameterStore = new ParameterStore(calibrationManager, false);
+            List<NDList> inputs = new ArrayList<>();
+            List<NDList> expected = new ArrayList<>();
+            for (Batch batch : calibration.getData(calibrationManager)) {
+                NDList data = batch.getData();
+                inputs.add(data);
+                expected.add(block.forward(parameterStore, data, false));
+            }
+            for (Candidate candidate : candidates) {
+                candidate.apply(dataType);
+                if (getError(block, parameterStore, inputs, expected) <= tolerance) {
+                    candidate.commit();
+                    quantized.add(candidate.path);
+                } else {
+                    candidate.revert();
+                }
+            }
+        }
+        return quantized;
+    }
+
+    private static void findCandidates(Block block, String prefix, List<Candidate> candidates) {
+        boolean replaceable = block instanceof SequentialBlock || block instanceof ParallelBlock;
+        BlockList children = block.getChildren();
+        for (int i = 0; i < children.size(); ++i) {
+            Pair<String, Block> child = children.get(i);
+            String path = prefix.isEmpty() ? child.getKey() : prefix + '/' + child.getKey();
+            if (replaceable && isQuantizable(child.getValue())) {
+                candidates.add(new Candidate((AbstractBlock) block, i, path));
+            } else {
+                findCandidates(child.getValue(), path, candidates);
+            }
+        }
+    }
+
+    private static boolean isQuantizable(Block block) {
+        return block instanceof Convolution
+                || block instanceof Linear
+                || block instanceof Embedding;
+    }
+
+    private static float getError(
+            Block block,
+            ParameterStore parameterStore,
+            List<NDList> inputs,
+            List<NDList> expected) {
+        float max = 0;
+        for (int i = 0; i < inputs.size(); ++i) {
+            try (NDScope scope = new NDScope()) {
+                scope.suppressNotUsedWarning();
+                NDList result = block.forward(parameterStore, inputs.get(i), false);
+                NDList reference = expected.get(i);
+                for (int j = 0; j < reference.size(); ++j) {
+                    NDArray ref = reference.get(j).toType(DataType.FLOAT32, false);
+                    NDArray diff = result.get(j).toType(DataType.FLOAT32, false).sub(ref);
+                    float norm = Math.max(ref.square().sum().getFloat(), Float.MIN_NORMAL);
+                    float error = diff.square().sum().getFloat();
+                    max = Math.max(max, (float) Math.sqrt(error / norm));
+                }
+            }
+        }
+        return max;
+    }
+
+    /** A {@link Convolution}, {@link Linear} or {@link Embedding} child of a block. */
+    private static final class Candidate {
+
+        private AbstractBlock parent;
+        private int index;
+        private String path;
+        private Pair<String, Block> original;
+
+        Candidate(AbstractBlock parent, int index, String path) {
+            this.parent = parent;
+            this.index = index;
+            this.path = path;
+            original = parent.children.get(index);
+        }
+
+        void apply(DataType dataType) {
+            QuantizedBlock quantized = new QuantizedBlock(original.getValue(), dataType);
+            parent.children.remove(index);
+            parent.children.add(index, original.getKey(), quantized);
+        }
+
+        void revert() {
+            Block quantized = parent.children.remove(index);
+            parent.children.add(index, original.getKey(), original.getValue());
+            // the bias is shared with the original block
+            ParameterList params = quantized.getDirectParameters();
+            params.get("weight").close();
+            Parameter scale = params.get("scale");
+            if (scale != null) {
+                scale.close();
+            }
+        }
+
+        void commit() {
+            // release the FP32 weight, the bias is shared with the quantized block
+            Block op = original.getValue();
+            Parameter weight =
+                    op.getDirectParameters().get(op instanceof Embedding ? "embedding" : "weight");
+            weight.close();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.nn;
+
+import ai.djl.Device;
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.internal.NDArrayEx;
+import ai.djl.ndarray.types.Shape;
+import ai.djl.nn.convolutional.Convolution;
+import ai.djl.nn.core.Linear;
+import ai.djl.training.ParameterStore;
+import ai.djl.util.PairList;
+
+/**
+ * {@code FusedBlock} is an inference-only {@link Block} that replaces a {@link Convolution} or
+ * {@link Linear} block followed by a {@link ai.djl.nn.norm.BatchNorm} and optionally an
+ * element-wise activation.
+ *
+ * <p>The batch normalization is folded into the weight and bias of the convolution or linear
+ * operator, so a forward pass runs a single operator with bias plus the activation.
+ *
+ * @see BlockFusion
+ */
+public class FusedBlock extends AbstractBlock {
+
+    private static final byte VERSION = 1;
+
+    private Block op;
+    private Block activation;
+    private Parameter weight;
+    private Parameter bias;
+
+    /**
+     * Creates a {@code FusedBlock}.
+     *
+     * @param op the original {@link Convolution} or {@link Linear} block
+     * @param weight the folded weight
+     * @param bias the folded bias
+     * @param activation the element-wise activation to apply to the output, can be {@code null}
+     */
+    FusedBlock(Block op, NDArray weight, NDArray bias, Block activation) {
+        super(VERSION);
+        this.op = op;
+        this.activation = activation;
+        this.weight =
+                addParameter(
+                        Parameter.builder()
+                                .setName("weight")
+                                .setType(Parameter.Type.WEIGHT)
+                                .optShape(weight.getShape())
+                                .optArray(weight)
+                                .optRequiresGrad(false)
+                                .build());
+        this.bias =
+                addParameter(
+                        Parameter.builder()
+                                .setName("bias")
+                                .setType(Parameter.Type.BIAS)
+                                .optShape(bias.getShape())
+                                .optArray(bias)
+                                .optRequiresGrad(false)
+                                .build());
+        if (op instanceof AbstractBaseBlock) {
+            AbstractBaseBlock base = (AbstractBaseBlock) op;
+            inputShapes = base.inputShapes;
+            inputNames = base.inputNames;
+        }
+    }
+
+    /**
+     * Returns the original {@link Convolution} or {@link Linear} block.
+     *
+     * @return the original {@link Convolution} or {@link Linear} block
+     */
+    public Block getOperator() {
+        return op;
+    }
+
+    /**
+     * Returns the fused activation.
+     *
+     * @return the fused activation, or {@code null} if no activation was fused
+     */
+    public Block getActivation() {
+        return activation;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected NDList forwardInternal(
+            ParameterStore parameterStore,
+            NDList inputs,
+            boolean training,
+            PairList<String, Object> params) {
+        NDArray input = inputs.singletonOrThrow();
+        Device device = input.getDevice();
+        NDArray weightArr = parameterStore.getValue(weight, device, training);
+        NDArray biasArr = parameterStore.getValue(bias, device, training);
+        NDArrayEx ex = input.getNDArrayInternal();
+        NDList result;
+        if (op instanceof Convolution) {
+            Convolution conv = (Convolution) op;
+            result =
+                    ex.convolution(
+                            input,
+                            weightArr,
+                            biasArr,
+                            conv.getStride(),
+                            conv.getPadding(),
+                            conv.getDilation(),
+                            conv.getGroups());
+        } else {
+            result = ex.linear(input, weightArr, biasArr);
+        }
+        if (activation != null) {
+            result = activation.forward(parameterStore, result, training, params);
+        }
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Shape[] getOutputShapes(Shape[] inputShapes) {
+        return op.getOutputShapes(inputShapes);
+    }
+}
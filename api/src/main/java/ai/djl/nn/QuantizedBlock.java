@@ -0,0 +1,188 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.nn;
+
+import ai.djl.Device;
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.internal.NDArrayEx;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
+import ai.djl.nn.convolutional.Convolution;
+import ai.djl.nn.core.Embedding;
+import ai.djl.nn.core.Linear;
+import ai.djl.training.ParameterStore;
+import ai.djl.util.PairList;
+
+import java.util.Arrays;
+
+/**
+ * {@code QuantizedBlock} is an inference-only {@link Block} that replaces a {@link Convolution},
+ * {@link Linear} or {@link Embedding} block with a copy whose weight is stored in {@link
+ * DataType#INT8} or {@link DataType#FLOAT16}.
+ *
+ * <p>An {@link DataType#INT8} weight is quantized symmetrically with one scale per output channel,
+ * or per row of the embedding table. The weight is dequantized on the fly in each forward pass. For
+ * an embedding, only the looked up rows are dequantized, so the full table stays in its compact
+ * form.
+ *
+ * @see BlockQuantization
+ */
+public class QuantizedBlock extends AbstractBlock {
+
+    private static final byte VERSION = 1;
+
+    private Block op;
+    private DataType dataType;
+    private Parameter weight;
+    private Parameter scale;
+    private Parameter bias;
+
+    /**
+     * Creates a {@code QuantizedBlock}.
+     *
+     * <p>If the original block is initialized, its weight is quantized. Otherwise, the parameters
+     * of the {@code QuantizedBlock} are expected to be loaded.
+     *
+     * @param op the original {@link Convolution}, {@link Linear} or {@link Embedding} block
+     * @param dataType the data type of the quantized weight, {@link DataType#INT8} or {@link
+     *     DataType#FLOAT16}
+     */
+    QuantizedBlock(Block op, DataType dataType) {
+        super(VERSION);
+        if (dataType != DataType.INT8 && dataType != DataType.FLOAT16) {
+            throw new IllegalArgumentException("Unsupported quantization type: " + dataType);
+        }
+        this.op = op;
+        this.dataType = dataType;
+        ParameterList params = op.getDirectParameters();
+        Parameter opWeight = params.get(op instanceof Embedding ? "embedding" : "weight");
+        Parameter opBias = params.get("bias");
+
+        NDArray[] quantized = null;
+        if (opWeight.isInitialized()) {
+            quantized = quantize(opWeight.getArray(), dataType);
+        }
+        weight = addParameter(newParameter("weight", Parameter.Type.WEIGHT, quantized, 0));
+        if (dataType == DataType.INT8) {
+            scale = addParameter(newParameter("scale", Parameter.Type.OTHER, quantized, 1));
+        }
+        if (opBias != null) {
+            NDArray[] biasArr = opBias.isInitialized() ? new NDArray[] {opBias.getArray()} : null;
+            bias = addParameter(newParameter("bias", Parameter.Type.BIAS, biasArr, 0));
+        }
+        if (op instanceof AbstractBaseBlock) {
+            AbstractBaseBlock base = (AbstractBaseBlock) op;
+            inputShapes = base.inputShapes;
+            inputNames = base.inputNames;
+        }
+    }
+
+    /**
+     * Returns the original {@link Convolution}, {@link Linear} or {@link Embedding} block.
+     *
+     * @return the original block
+     */
+    public Block getOperator() {
+        return op;
+    }
+
+    /**
+     * Returns the data type of the quantized weight.
+     *
+     * @return the data type of the quantized weight
+     */
+    public DataType getQuantizedType() {
+        return dataType;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected NDList forwardInternal(
+            ParameterStore parameterStore,
+            NDList inputs,
+            boolean training,
+            PairList<String, Object> params) {
+        NDArray input = inputs.head();
+        Device device = input.getDevice();
+        NDArray weightArr = parameterStore.getValue(weight, device, training);
+        NDArray scaleArr = scale == null ? null : parameterStore.getValue(scale, device, training);
+        if (op instanceof Embedding) {
+            // dequantize only the rows that are looked up
+            NDArray rows = weightArr.get(input).toType(DataType.FLOAT32, false);
+            if (scaleArr != null) {
+                rows = rows.muli(scaleArr.get(input));
+            }
+            return new NDList(rows);
+        }
+
+        NDArray dequantized = weightArr.toType(input.getDataType(), false);
+        if (scaleArr != null) {
+            dequantized = dequantized.muli(scaleArr);
+        }
+        NDArray biasArr = bias == null ? null : parameterStore.getValue(bias, device, training);
+        NDArrayEx ex = input.getNDArrayInternal();
+        if (op instanceof Convolution) {
+            Convolution conv = (Convolution) op;
+            return ex.convolution(
+                    input,
+                    dequantized,
+                    biasArr,
+                    conv.getStride(),
+                    conv.getPadding(),
+                    conv.getDilation(),
+                    conv.getGroups());
+        }
+        return ex.linear(input, dequantized, biasArr);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Shape[] getOutputShapes(Shape[] inputShapes) {
+        return op.getOutputShapes(inputShapes);
+    }
+
+    private static Parameter newParameter(
+            String name, Parameter.Type type, NDArray[] arrays, int index) {
+        Parameter.Builder builder =
+                Parameter.builder().setName(name).setType(type).optRequiresGrad(false);
+        if (arrays != null) {
+            NDArray array = arrays[index];
+            builder.optShape(array.getShape()).optArray(array);
+        }
+        return builder.build();
+    }
+
+    private static NDArray[] quantize(NDArray weight, DataType dataType) {
+        if (dataType == DataType.FLOAT16) {
+            return new NDArray[] {weight.toType(DataType.FLOAT16, true)};
+        }
+        // the scale broadcasts over every dimension but the output channel
+        Shape shape = weight.getShape();
+        long[] dims = new long[shape.dimension()];
+        Arrays.fill(dims, 1);
+        dims[0] = -1;
+        try (NDArray abs = weight.abs();
+                NDArray flat = abs.reshape(shape.get(0), -1);
+                NDArray absMax = flat.max(new int[] {1});
+                NDArray clamped = absMax.maximum(Float.MIN_NORMAL);
+                NDArray channelScale = clamped.div(127f)) {
+            NDArray scale = channelScale.reshape(new Shape(dims));
+            try (NDArray scaled = weight.div(scale);
+                    NDArray rounded = scaled.round();
+                    NDArray clipped = rounded.clip(-127, 127)) {
+                return new NDArray[] {clipped.toType(DataType.INT8, true), scale};
+            }
+        }
+    }
+}
@@ -16,6 +16,7 @@ import ai.djl.MalformedModelException;
 import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDList;
 import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.NDScope;
 import ai.djl.ndarray.types.DataType;
 import ai.djl.ndarray.types.Shape;
 import ai.djl.training.ParameterStore;
@@ -42,6 +43,7 @@ public class SequentialBlock extends AbstractBlock {
 
     private static final byte VERSION = 3;
     private boolean returnIntermediate;
+    private Shape[][] plannedShapes;
 
     /**
      * Creates an empty sequential block. Use {@code add} and {@code addAll} to add blocks to be
@@ -176,6 +178,61 @@ public class SequentialBlock extends AbstractBlock {
         return this;
     }
 
+    /**
+     * Compiles an inference execution plan for this block and all nested {@code SequentialBlock}s.
+     *
+     * <p>The output shapes of every child are computed ahead of time with {@link
+     * Block#getOutputShapes(Shape[])}, which validates that the chain is consistent for the given
+     * input shapes. Once compiled, an inference forward pass closes every intermediate {@link
+     * NDArray} as soon as the next child has consumed it, instead of keeping it attached to the
+     * caller's {@link NDManager} until the manager is closed. This reduces the peak memory per
+     * request. Only the arrays created during the forward pass, as tracked by an {@link NDScope},
+     * are closed: parameters, cached constants, the inputs of the block and arrays that are passed
+     * through unchanged to the next child are kept. Engines whose arrays are not tracked by {@link
+     * NDScope} keep all intermediate results.
+     *
+     * <p>The plan only applies to inference. Training and {@link #isReturnIntermediate()} keep
+     * all intermediate results.
+     *
+     * @param inputShapes the expected shapes of the input
+     * @return this {@code SequentialBlock}
+     */
+    public SequentialBlock compile(Shape... inputShapes) {
+        if (children.isEmpty()) {
+            throw new IllegalArgumentException("The sequential block is empty");
+        }
+        Shape[][] shapes = new Shape[children.size()][];
+        Shape[] current = inputShapes;
+        int i = 0;
+        for (Block block : children.values()) {
+            if (block instanceof SequentialBlock) {
+                ((SequentialBlock) block).compile(current);
+            }
+            current = block.getOutputShapes(current);
+            shapes[i++] = current;
+        }
+        plannedShapes = shapes;
+        return this;
+    }
+
+    /**
+     * Returns whether the block has been compiled with {@link #compile(Shape...)}.
+     *
+     * @return whether the block has been compiled
+     */
+    public boolean isCompiled() {
+        return plannedShapes != null;
+    }
+
+    /**
+     * Returns the output shapes of each child computed by {@link #compile(Shape...)}.
+     *
+     * @return the output shapes of each child, or {@code null} if the block is not compiled
+     */
+    public Shape[][] getPlannedShapes() {
+        return plannedShapes;
+    }
+
     /** {@inheritDoc} */
     @Override
     protected NDList forwardInternal(
@@ -183,6 +240,9 @@ public class SequentialBlock extends AbstractBlock {
             NDList inputs,
             boolean training,
             PairList<String, Object> params) {
+        if (!training && !returnIntermediate && plannedShapes != null) {
+            return forwardCompiled(parameterStore, inputs, params);
+        }
         List<NDList> past = new ArrayList<>(children.size());
         NDList current = inputs;
         for (Block block : children.values()) {
@@ -216,6 +276,46 @@ public class SequentialBlock extends AbstractBlock {
         return current;
     }
 
+    private NDList forwardCompiled(
+            ParameterStore parameterStore, NDList inputs, PairList<String, Object> params) {
+        // the scope only tells which arrays are created by this forward pass
+        NDScope scope = new NDScope();
+        try {
+            NDList current = inputs;
+            for (Block block : children.values()) {
+                NDList next = block.forward(parameterStore, current, false, params);
+                if (current != inputs) {
+                    release(scope, current, inputs, next);
+                }
+                current = next;
+            }
+            return current;
+        } finally {
+            scope.unregisterAll();
+            scope.close();
+        }
+    }
+
+    private static void release(NDScope scope, NDList intermediate, NDList inputs, NDList next) {
+        for (NDArray array : intermediate) {
+            // parameters, cached constants and arrays passed through are not created in the scope
+            if (scope.contains(array)
+                    && !containsIdentity(next, array)
+                    && !containsIdentity(inputs, array)) {
+                array.close();
+            }
+        }
+    }
+
+    private static boolean containsIdentity(NDList list, NDArray array) {
+        for (NDArray element : list) {
+            if (element == array) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /** {@inheritDoc} */
     @Override
     public void initializeChildBlocks(NDManager manager, DataType dataType, Shape... inputShapes) {
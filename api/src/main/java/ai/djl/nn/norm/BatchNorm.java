@@ -185,6 +185,24 @@ public class BatchNorm extends AbstractBlock {
         inChannels = is.readLong();
     }
 
+    /**
+     * Returns the axis in which channel is specified.
+     *
+     * @return the axis in which channel is specified
+     */
+    public int getAxis() {
+        return axis;
+    }
+
+    /**
+     * Returns the epsilon value to prevent division by 0.
+     *
+     * @return the epsilon value to prevent division by 0
+     */
+    public float getEpsilon() {
+        return epsilon;
+    }
+
     /**
      * Applies Batch Normalization for each channel across a batch of data.
      *
@@ -71,9 +71,11 @@ public class Criteria<I, O> {
     private Map<String, Object> arguments;
     private Map<String, String> options;
     private TranslatorFactory factory;
+    private Translator<I, O> translator;
     private Block block;
     private String modelName;
     private Progress progress;
+    private WarmUp<I> warmUp;
 
     Criteria(Builder<I, O> builder) {
         this.application = builder.application;
@@ -88,9 +90,11 @@ public class Criteria<I, O> {
         this.arguments = builder.arguments;
         this.options = builder.options;
         this.factory = builder.factory;
+        this.translator = builder.translator;
         this.block = builder.block;
         this.modelName = builder.modelName;
         this.progress = builder.progress;
+        this.warmUp = builder.warmUp;
     }
 
     /**
@@ -165,7 +169,16 @@ public class Criteria<I, O> {
                 }
 
                 try {
-                    return loader.loadModel(this);
+                    ZooModel<I, O> model = loader.loadModel(this);
+                    if (warmUp != null) {
+                        try {
+                            model.setWarmUpMetrics(warmUp.run(model));
+                        } catch (Throwable t) {
+                            model.close();
+                            throw t;
+                        }
+                    }
+                    return model;
                 } catch (ModelNotFoundException e) {
                     lastException = e;
                     logger.trace("", e);
@@ -289,6 +302,16 @@ public class Criteria<I, O> {
         return factory;
     }
 
+    /**
+     * Returns the {@link Translator} the {@link TranslatorFactory} was created from, if it was set
+     * with {@link Builder#optTranslator(Translator)}.
+     *
+     * @return the {@link Translator}, or {@code null}
+     */
+    Translator<I, O> getTranslator() {
+        return translator;
+    }
+
     /**
      * Returns the optional {@link Block} to be used for {@link ZooModel}.
      *
@@ -316,6 +339,15 @@ public class Criteria<I, O> {
         return progress;
     }
 
+    /**
+     * Returns the inputs to warm up the model with.
+     *
+     * @return the inputs to warm up the model with
+     */
+    public WarmUp<I> getWarmUp() {
+        return warmUp;
+    }
+
     /** {@inheritDoc} */
     @Override
     public String toString() {
@@ -350,6 +382,10 @@ public class Criteria<I, O> {
         if (factory == null) {
             sb.append("\tNo translator supplied\n");
         }
+        if (warmUp != null) {
+            sb.append("\tWarmUp: ").append(warmUp.getShapes().size()).append(" shapes, ");
+            sb.append(warmUp.getInputs().size()).append(" inputs\n");
+        }
         return sb.toString();
     }
 
@@ -359,21 +395,27 @@ public class Criteria<I, O> {
      * @return a new {@link Builder}
      */
     public Builder<I, O> toBuilder() {
-        return Criteria.builder()
-                .setTypes(inputClass, outputClass)
-                .optApplication(application)
-                .optEngine(engine)
-                .optDevice(device)
-                .optGroupId(groupId)
-                .optArtifactId(artifactId)
-                .optModelZoo(modelZoo)
-                .optFilters(filters)
-                .optArguments(arguments)
-                .optOptions(options)
-                .optTranslatorFactory(factory)
-                .optBlock(block)
-                .optModelName(modelName)
-                .optProgress(progress);
+        Builder<I, O> builder =
+                Criteria.builder()
+                        .setTypes(inputClass, outputClass)
+                        .optApplication(application)
+                        .optEngine(engine)
+                        .optDevice(device)
+                        .optGroupId(groupId)
+                        .optArtifactId(artifactId)
+                        .optModelZoo(modelZoo)
+                        .optFilters(filters)
+                        .optArguments(arguments)
+                        .optOptions(options)
+                        .optTranslatorFactory(factory)
+                        .optBlock(block)
+                        .optModelName(modelName)
+                        .optProgress(progress)
+                        .optWarmUp(warmUp);
+        if (translator != null) {
+            builder.optTranslator(translator);
+        }
+        return builder;
     }
 
     /**
@@ -407,6 +449,7 @@ public class Criteria<I, O> {
         String modelName;
         Progress progress;
         Translator<I, O> translator;
+        WarmUp<I> warmUp;
 
         Builder() {
             application = Application.UNDEFINED;
@@ -430,6 +473,7 @@ public class Criteria<I, O> {
             modelName = parent.modelName;
             progress = parent.progress;
             translator = (Translator<I, O>) parent.translator;
+            warmUp = (WarmUp<I>) parent.warmUp;
         }
 
         /**
@@ -682,6 +726,18 @@ public class Criteria<I, O> {
             return this;
         }
 
+        /**
+         * Sets the inputs to run through the model before {@link Criteria#loadModel()} returns it.
+         *
+         * @param warmUp the inputs to warm up the model with
+         * @return this {@code Builder}
+         * @see WarmUp
+         */
+        public Builder<I, O> optWarmUp(WarmUp<I> warmUp) {
+            this.warmUp = warmUp;
+            return this;
+        }
+
         /**
          * Builds a {@link Criteria} instance.
          *
@@ -0,0 +1,520 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.repository.zoo;
+
+import ai.djl.MalformedModelException;
+import ai.djl.Model;
+import ai.djl.engine.ComputePlanner;
+import ai.djl.inference.PredictorPool;
+import ai.djl.ndarray.NDArray;
+import ai.djl.nn.Block;
+import ai.djl.nn.Parameter;
+import ai.djl.util.Utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * {@code ModelCache} shares the models loaded by {@link Criteria#loadModel()} within the JVM.
+ *
+ * <p>The models are keyed by their criteria: two {@link Criteria} that select the same model with
+ * the same engine, device, filters, arguments and options share one loaded model. {@link
+ * #get(Criteria)} returns a new handle on the shared model, and closing the handle releases it
+ * instead of closing the model. A model that is no longer referenced by any handle stays loaded
+ * until it is evicted, in least recently used order, to keep the estimated memory of the loaded
+ * models within the budget.
+ *
+ * <p>Concurrent requests for a model that is being loaded wait for that load, and the number of
+ * models that are loaded at the same time is bounded.
+ *
+ * <pre>
+ * try (ZooModel&lt;Image, Classifications&gt; model = ModelCache.getInstance().get(criteria);
+ *         Predictor&lt;Image, Classifications&gt; predictor = model.newPredictor()) {
+ *     return predictor.predict(image);
+ * }
+ * </pre>
+ */
+public final class ModelCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ModelCache.class);
+
+    private static final ModelCache INSTANCE = newDefaultInstance();
+
+    private long maxMemory;
+    private Semaphore loadPermits;
+    private Map<Key, Entry> entries;
+    private Map<Key, CompletableFuture<Entry>> loading;
+    private long memory;
+
+    ModelCache(Builder builder) {
+        maxMemory = builder.maxMemory;
+        loadPermits = new Semaphore(builder.maxConcurrentLoads);
+        // access ordered, the first entry is the least recently used one
+        entries = new LinkedHashMap<>(16, 0.75f, true);
+        loading = new HashMap<>();
+    }
+
+    /**
+     * Returns the JVM wide {@code ModelCache}.
+     *
+     * <p>Its memory budget and load concurrency can be set with the {@code
+     * DJL_MODEL_CACHE_MEMORY} (in bytes) and {@code DJL_MODEL_CACHE_LOADS} environment variables or
+     * system properties.
+     *
+     * @return the JVM wide {@code ModelCache}
+     */
+    public static ModelCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Creates a builder to build a {@code ModelCache}.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns a handle on the model that matches the criteria, loading it if it isn't loaded yet.
+     *
+     * <p>The handle must be closed to release the model.
+     *
+     * @param criteria the criteria of the model
+     * @param <I> the input type of the model
+     * @param <O> the output type of the model
+     * @return a handle on the shared model
+     * @throws IOException for various exceptions loading data from the repository
+     * @throws ModelNotFoundException if no model with the specified criteria is found
+     * @throws MalformedModelException if the model data is malformed
+     */
+    public <I, O> ZooModel<I, O> get(Criteria<I, O> criteria)
+            throws IOException, ModelNotFoundException, MalformedModelException {
+        Key key = getKey(criteria);
+        while (true) {
+            CompletableFuture<Entry> future;
+            boolean owner = false;
+            synchronized (this) {
+                Entry entry = entries.get(key);
+                if (entry != null) {
+                    return entry.acquire();
+                }
+                future = loading.get(key);
+                if (future == null) {
+                    future = new CompletableFuture<>();
+                    loading.put(key, future);
+                    owner = true;
+                }
+            }
+            if (owner) {
+                return load(key, criteria, future);
+            }
+
+            Entry entry = await(future);
+            synchronized (this) {
+                // the model may have been evicted before this thread got its handle
+                if (!entry.closed) {
+                    return entry.acquire();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of loaded models.
+     *
+     * @return the number of loaded models
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the estimated memory of the loaded models in bytes.
+     *
+     * @return the estimated memory of the loaded models in bytes
+     */
+    public synchronized long getMemoryUsage() {
+        return memory;
+    }
+
+    /**
+     * Closes all the models that are not referenced by any handle.
+     *
+     * @return the number of models that were closed
+     */
+    public int evictIdle() {
+        List<Entry> evicted = new ArrayList<>();
+        synchronized (this) {
+            Iterator<Entry> it = entries.values().iterator();
+            while (it.hasNext()) {
+                Entry entry = it.next();
+                if (entry.refCount == 0) {
+                    it.remove();
+                    remove(entry);
+                    evicted.add(entry);
+                }
+            }
+        }
+        closeAll(evicted);
+        return evicted.size();
+    }
+
+    private <I, O> ZooModel<I, O> load(
+            Key key, Criteria<I, O> criteria, CompletableFuture<Entry> future)
+            throws IOException, ModelNotFoundException, MalformedModelException {
+        try {
+            ZooModel<I, O> model;
+            loadPermits.acquireUninterruptibly();
+            try {
+                model = criteria.loadModel();
+            } finally {
+                loadPermits.release();
+            }
+            long size;
+            try {
+                size = estimateMemory(model);
+            } catch (Throwable t) {
+                model.close();
+                throw t;
+            }
+            Entry entry = new Entry(model, size);
+            ZooModel<I, O> handle;
+            synchronized (this) {
+                loading.remove(key);
+                entries.put(key, entry);
+                memory += entry.memory;
+                handle = entry.acquire();
+            }
+            logger.debug("Model {} is loaded, estimated memory: {}", key, entry.memory);
+            future.complete(entry);
+            evict();
+            return handle;
+        } catch (Throwable t) {
+            // the waiting threads must be woken up, even by an Error of the engine
+            synchronized (this) {
+                loading.remove(key);
+            }
+            future.completeExceptionally(t);
+            throw t;
+        }
+    }
+
+    private static Entry await(CompletableFuture<Entry> future)
+            throws IOException, ModelNotFoundException, MalformedModelException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the model to load", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof ModelNotFoundException) {
+                throw (ModelNotFoundException) cause;
+            } else if (cause instanceof MalformedModelException) {
+                throw (MalformedModelException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw (RuntimeException) cause;
+        }
+    }
+
+    private void release(Entry entry) {
+        synchronized (this) {
+            entry.refCount--;
+        }
+        evict();
+    }
+
+    private void evict() {
+        List<Entry> evicted = new ArrayList<>();
+        synchronized (this) {
+            Iterator<Entry> it = entries.values().iterator();
+            while (memory > maxMemory && it.hasNext()) {
+                Entry entry = it.next();
+                if (entry.refCount == 0) {
+                    it.remove();
+                    remove(entry);
+                    evicted.add(entry);
+                }
+            }
+        }
+        closeAll(evicted);
+    }
+
+    private void remove(Entry entry) {
+        memory -= entry.memory;
+        entry.closed = true;
+    }
+
+    private static void closeAll(List<Entry> evicted) {
+        for (Entry entry : evicted) {
+            logger.debug("Evicting model: {}", entry.model.getName());
+            entry.model.close();
+        }
+    }
+
+    static Key getKey(Criteria<?, ?> criteria) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(criteria.getApplication())
+                .append('|')
+                .append(criteria.getInputClass())
+                .append('|')
+                .append(criteria.getOutputClass())
+                .append('|')
+                .append(criteria.getEngine())
+                .append('|')
+                .append(criteria.getDevice())
+                .append('|')
+                .append(criteria.getGroupId())
+                .append('|')
+                .append(criteria.getArtifactId())
+                .append('|')
+                .append(criteria.getModelName())
+                .append('|');
+        ModelZoo zoo = criteria.getModelZoo();
+        if (zoo != null) {
+            List<String> loaders = new ArrayList<>();
+            for (ModelLoader loader : zoo.getModelLoaders()) {
+                if (loader instanceof BaseModelLoader) {
+                    BaseModelLoader base = (BaseModelLoader) loader;
+                    loaders.add(base.mrl.getRepository().getBaseUri() + "#" + base.mrl);
+                } else {
+                    loaders.add(loader.getArtifactId());
+                }
+            }
+            Collections.sort(loaders);
+            sb.append(zoo.getGroupId()).append(loaders);
+        }
+        sb.append('|').append(sorted(criteria.getFilters()));
+        sb.append('|').append(sorted(criteria.getArguments()));
+        sb.append('|').append(sorted(criteria.getOptions()));
+        // the factory created by optTranslator() is new for every criteria, use its translator
+        Object translator = criteria.getTranslator();
+        if (translator == null) {
+            translator = criteria.getTranslatorFactory();
+        }
+        return new Key(sb.toString(), translator, criteria.getBlock());
+    }
+
+    private static <V> Map<String, V> sorted(Map<String, V> map) {
+        return map == null ? null : new TreeMap<>(map);
+    }
+
+    static long estimateMemory(Model model) {
+        long size = 0;
+        Block block = model.getBlock();
+        if (block != null) {
+            for (Parameter parameter : block.getParameters().values()) {
+                if (parameter.isInitialized()) {
+                    NDArray array = parameter.getArray();
+                    size += array.size() * array.getDataType().getNumOfBytes();
+                }
+            }
+        }
+        Path modelPath = model.getModelPath();
+        if (size == 0 && modelPath != null && Files.isDirectory(modelPath)) {
+            // the weights of a symbolic model aren't exposed, use the size of its files instead
+            try (Stream<Path> stream = Files.walk(modelPath)) {
+                size = stream.filter(Files::isRegularFile).mapToLong(ModelCache::fileSize).sum();
+            } catch (IOException e) {
+                logger.debug("Failed to list model files: {}", modelPath, e);
+            }
+        }
+        return size;
+    }
+
+    private static long fileSize(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static ModelCache newDefaultInstance() {
+        Builder builder = builder();
+        String value = Utils.getEnvOrSystemProperty("DJL_MODEL_CACHE_MEMORY");
+        if (value != null) {
+            builder.optMaxMemory(Long.parseLong(value));
+        }
+        value = Utils.getEnvOrSystemProperty("DJL_MODEL_CACHE_LOADS");
+        if (value != null) {
+            builder.optMaxConcurrentLoads(Integer.parseInt(value));
+        }
+        return builder.build();
+    }
+
+    /** The key of a model, blocks and translators can't be compared and are shared by identity. */
+    static final class Key {
+
+        private String criteria;
+        private Object translator;
+        private Block block;
+
+        Key(String criteria, Object translator, Block block) {
+            this.criteria = criteria;
+            this.translator = translator;
+            this.block = block;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return translator == other.translator
+                    && block == other.block
+                    && criteria.equals(other.criteria);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            int hash = criteria.hashCode();
+            hash = 31 * hash + System.identityHashCode(translator);
+            return 31 * hash + System.identityHashCode(block);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString() {
+            return criteria;
+        }
+    }
+
+    /** A loaded model and the number of handles on it. */
+    private final class Entry {
+
+        ZooModel<?, ?> model;
+        long memory;
+        int refCount;
+        boolean closed;
+
+        Entry(ZooModel<?, ?> model, long memory) {
+            this.model = model;
+            this.memory = memory;
+        }
+
+        /** Must be called while holding the lock of the cache. */
+        @SuppressWarnings("unchecked")
+        <I, O> ZooModel<I, O> acquire() {
+            refCount++;
+            return new Handle<>(this, (ZooModel<I, O>) model);
+        }
+    }
+
+    /** A {@link ZooModel} that releases the shared model when it is closed. */
+    private final class Handle<I, O> extends ZooModel<I, O> {
+
+        private Entry entry;
+        private AtomicBoolean released;
+
+        Handle(Entry entry, ZooModel<I, O> model) {
+            super(model.getWrappedModel(), model.getTranslator());
+            this.entry = entry;
+            released = new AtomicBoolean();
+            setWarmUpMetrics(model.getWarmUpMetrics());
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        @SuppressWarnings("unchecked")
+        public PredictorPool<I, O> getPredictorPool() {
+            // the handles share the pool of the shared model
+            return (PredictorPool<I, O>) entry.model.getPredictorPool();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                release(entry);
+            }
+        }
+    }
+
+    /** A builder for a {@link ModelCache}. */
+    public static final class Builder {
+
+        long maxMemory = Long.MAX_VALUE;
+        int maxConcurrentLoads = ComputePlanner.getInstance().getCpuLimit();
+
+        Builder() {}
+
+        /**
+         * Sets the estimated memory in bytes above which the idle models are evicted, unlimited by
+         * default.
+         *
+         * <p>The memory of a model is estimated from the size of its parameters, or of its files
+         * if the parameters aren't exposed by the engine.
+         *
+         * @param maxMemory the memory budget in bytes
+         * @return this builder
+         */
+        public Builder optMaxMemory(long maxMemory) {
+            this.maxMemory = maxMemory;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of models that are loaded at the same time, defaults to the
+         * number of CPUs that the process can use.
+         *
+         * @param maxConcurrentLoads the maximum number of models that are loaded at the same time
+         * @return this builder
+         */
+        public Builder optMaxConcurrentLoads(int maxConcurrentLoads) {
+            this.maxConcurrentLoads = maxConcurrentLoads;
+            return this;
+        }
+
+        /**
+         * Builds the {@link ModelCache}.
+         *
+         * @return the {@link ModelCache}
+         */
+        public ModelCache build() {
+            if (maxConcurrentLoads <= 0) {
+                throw new IllegalArgumentException("maxConcurrentLoads must be positive.");
+            }
+            return new ModelCache(this);
+        }
+    }
+}
@@ -0,0 +1,370 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.repository.zoo;
+
+import ai.djl.MalformedModelException;
+import ai.djl.inference.Predictor;
+import ai.djl.inference.PredictorPool;
+import ai.djl.metric.Dimension;
+import ai.djl.metric.Metric;
+import ai.djl.metric.Metrics;
+import ai.djl.metric.Unit;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
+import ai.djl.translate.NoopTranslator;
+import ai.djl.translate.TranslateException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+
+/**
+ * {@code WarmUp} describes the inputs that are run through a model while it is loaded by {@link
+ * Criteria#loadModel()}.
+ *
+ * <p>The first inferences of a model are usually much slower than the following ones: engines
+ * profile and optimize the graph, or allocate their memory lazily. Running representative inputs
+ * before the model is returned keeps this cost out of the first requests.
+ *
+ * <p>The inputs are either given as shapes, which are run as zero filled {@link NDList}s through a
+ * {@link NoopTranslator}, or as sample inputs, which are run through the {@link
+ * ZooModel#getPredictorPool() predictor pool} of the model, so the predictors that serve the
+ * requests are warmed up as well. The time of each run is recorded in the {@link
+ * ZooModel#getWarmUpMetrics() warm-up metrics}.
+ *
+ * <p>The warm-up runs on the thread that loads the model, or on the threads of the executor set
+ * with {@link Builder#optExecutor(Executor)}. Pass the executor that will call the model to
+ * initialize the per thread state of the engine on the threads that serve the requests.
+ *
+ * <pre>
+ * Criteria&lt;Image, Classifications&gt; criteria =
+ *     Criteria.builder()
+ *         .setTypes(Image.class, Classifications.class)
+ *         ...
+ *         .optWarmUp(WarmUp.&lt;Image&gt;builder()
+ *             .addShapes(new Shape(1, 3, 224, 224))
+ *             .addInput(sampleImage)
+ *             .optThreads(4)
+ *             .optExecutor(executor)
+ *             .build())
+ *         .build();
+ * </pre>
+ *
+ * @param <I> the input type of the model
+ */
+public final class WarmUp<I> {
+
+    /** The name of the warm-up latency {@link Metric}. */
+    public static final String METRIC_NAME = "WarmUp";
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmUp.class);
+
+    private List<Shape[]> shapes;
+    private DataType dataType;
+    private List<I> inputs;
+    private int iterations;
+    private int threads;
+    private Executor executor;
+
+    WarmUp(Builder<I> builder) {
+        shapes = builder.shapes;
+        dataType = builder.dataType;
+        inputs = builder.inputs;
+        iterations = builder.iterations;
+        threads = builder.threads;
+        executor = builder.executor;
+    }
+
+    /**
+     * Creates a builder to build a {@code WarmUp}.
+     *
+     * @param <I> the input type of the model
+     * @return a new builder
+     */
+    public static <I> Builder<I> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Returns the input shapes to warm up the model with.
+     *
+     * @return the input shapes, one array of shapes per model invocation
+     */
+    public List<Shape[]> getShapes() {
+        return Collections.unmodifiableList(shapes);
+    }
+
+    /**
+     * Returns the sample inputs to warm up the model with.
+     *
+     * @return the sample inputs
+     */
+    public List<I> getInputs() {
+        return Collections.unmodifiableList(inputs);
+    }
+
+    /**
+     * Returns the number of times each input is run on each thread.
+     *
+     * @return the number of times each input is run on each thread
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Returns the number of threads that warm up the model concurrently.
+     *
+     * @return the number of threads that warm up the model concurrently
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Returns the executor that runs the warm-up.
+     *
+     * @return the executor that runs the warm-up, or {@code null} if it isn't set
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Runs the warm-up inputs through the model.
+     *
+     * @param model the model to warm up
+     * @return the latency of each warm-up run
+     * @throws MalformedModelException if the model fails to run a warm-up input
+     */
+    public Metrics run(ZooModel<I, ?> model) throws MalformedModelException {
+        Metrics metrics = new Metrics();
+        long begin = System.nanoTime();
+        if (threads == 1 && executor == null) {
+            runOnThread(model, metrics, 0);
+        } else {
+            ExecutorService pool = null;
+            Executor exec = executor;
+            if (exec == null) {
+                pool = Executors.newFixedThreadPool(threads);
+                exec = pool;
+            }
+            try {
+                List<FutureTask<Void>> tasks = new ArrayList<>(threads);
+                for (int i = 0; i < threads; ++i) {
+                    int thread = i;
+                    FutureTask<Void> task =
+                            new FutureTask<>(
+                                    () -> {
+                                        runOnThread(model, metrics, thread);
+                                        return null;
+                                    });
+                    tasks.add(task);
+                    exec.execute(task);
+                }
+                for (FutureTask<Void> task : tasks) {
+                    task.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new MalformedModelException("Model warm-up is interrupted", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof MalformedModelException) {
+                    throw (MalformedModelException) cause;
+                }
+                throw new MalformedModelException("Failed to warm up model", cause);
+            } finally {
+                if (pool != null) {
+                    pool.shutdownNow();
+                }
+            }
+        }
+        long duration = (System.nanoTime() - begin) / 1_000_000;
+        logger.info("Model {} warmed up in {} ms.", model.getName(), duration);
+        return metrics;
+    }
+
+    private void runOnThread(ZooModel<I, ?> model, Metrics metrics, int thread)
+            throws MalformedModelException {
+        if (!shapes.isEmpty()) {
+            try (Predictor<NDList, NDList> predictor = model.newPredictor(new NoopTranslator());
+                    NDManager manager = model.getNDManager().newSubManager()) {
+                for (Shape[] inputShapes : shapes) {
+                    String label = Arrays.toString(inputShapes);
+                    long[] times = new long[iterations];
+                    for (int i = 0; i < iterations; ++i) {
+                        try (NDManager scope = manager.newSubManager()) {
+                            NDList input = new NDList(inputShapes.length);
+                            for (Shape shape : inputShapes) {
+                                input.add(scope.zeros(shape, dataType));
+                            }
+                            long begin = System.nanoTime();
+                            predictor.predict(input);
+                            times[i] = System.nanoTime() - begin;
+                        }
+                    }
+                    record(metrics, label, thread, times);
+                }
+            } catch (TranslateException e) {
+                throw new MalformedModelException("Failed to warm up model", e);
+            }
+        }
+        if (!inputs.isEmpty()) {
+            PredictorPool<I, ?> pool = model.getPredictorPool();
+            try {
+                for (int j = 0; j < inputs.size(); ++j) {
+                    long[] times = new long[iterations];
+                    for (int i = 0; i < iterations; ++i) {
+                        long begin = System.nanoTime();
+                        pool.predict(inputs.get(j));
+                        times[i] = System.nanoTime() - begin;
+                    }
+                    record(metrics, "input" + j, thread, times);
+                }
+            } catch (TranslateException e) {
+                throw new MalformedModelException("Failed to warm up model", e);
+            }
+        }
+    }
+
+    private static void record(Metrics metrics, String label, int thread, long[] times) {
+        Dimension dimension = new Dimension("Input", label);
+        synchronized (metrics) {
+            for (long time : times) {
+                metrics.addMetric(
+                        new Metric(METRIC_NAME, time / 1000, Unit.MICROSECONDS, dimension));
+            }
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug(
+                    "Warm-up {} on thread {}: first run {} ms, last run {} ms",
+                    label,
+                    thread,
+                    times[0] / 1_000_000,
+                    times[times.length - 1] / 1_000_000);
+        }
+    }
+
+    /** A builder for a {@link WarmUp}. */
+    public static final class Builder<I> {
+
+        List<Shape[]> shapes = new ArrayList<>();
+        DataType dataType = DataType.FLOAT32;
+        List<I> inputs = new ArrayList<>();
+        int iterations = 2;
+        int threads = 1;
+        Executor executor;
+
+        Builder() {}
+
+        /**
+         * Adds the input shapes of one model invocation.
+         *
+         * <p>The model is run with zero filled arrays of these shapes, bypassing the translator.
+         *
+         * @param inputShapes the shape of each input array
+         * @return this builder
+         */
+        public Builder<I> addShapes(Shape... inputShapes) {
+            shapes.add(inputShapes);
+            return this;
+        }
+
+        /**
+         * Sets the data type of the arrays created for the input shapes, defaults to {@link
+         * DataType#FLOAT32}.
+         *
+         * @param dataType the data type of the arrays created for the input shapes
+         * @return this builder
+         */
+        public Builder<I> optDataType(DataType dataType) {
+            this.dataType = dataType;
+            return this;
+        }
+
+        /**
+         * Adds a sample input that is run through the model translator.
+         *
+         * @param input the sample input
+         * @return this builder
+         */
+        public Builder<I> addInput(I input) {
+            inputs.add(input);
+            return this;
+        }
+
+        /**
+         * Sets the number of times each input is run on each thread, defaults to 2.
+         *
+         * @param iterations the number of times each input is run on each thread
+         * @return this builder
+         */
+        public Builder<I> optIterations(int iterations) {
+            this.iterations = iterations;
+            return this;
+        }
+
+        /**
+         * Sets the number of warm-up tasks that run concurrently, defaults to 1.
+         *
+         * <p>Without an {@link #optExecutor(Executor) executor}, the tasks run on a temporary
+         * thread pool, which only warms up the state of the model and of the predictor pool.
+         *
+         * @param threads the number of threads that warm up the model concurrently
+         * @return this builder
+         */
+        public Builder<I> optThreads(int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * Sets the executor that runs the warm-up tasks.
+         *
+         * <p>Set it to the executor that will call the model, with as many {@link
+         * #optThreads(int) threads} as it has, so the per thread state of the engine is
+         * initialized on the threads that serve the requests. The executor isn't shut down.
+         *
+         * @param executor the executor that runs the warm-up tasks
+         * @return this builder
+         */
+        public Builder<I> optExecutor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Builds the {@link WarmUp}.
+         *
+         * @return the {@link WarmUp}
+         */
+        public WarmUp<I> build() {
+            if (iterations <= 0 || threads <= 0) {
+                throw new IllegalArgumentException("iterations and threads must be positive.");
+            }
+            return new WarmUp<>(this);
+        }
+    }
+}
@@ -15,6 +15,8 @@ package ai.djl.repository.zoo;
 import ai.djl.Device;
 import ai.djl.Model;
 import ai.djl.inference.Predictor;
+import ai.djl.inference.PredictorPool;
+import ai.djl.metric.Metrics;
 import ai.djl.ndarray.NDManager;
 import ai.djl.ndarray.types.DataType;
 import ai.djl.ndarray.types.Shape;
@@ -42,6 +44,8 @@ public class ZooModel<I, O> implements Model {
 
     private Model model;
     private Translator<I, O> translator;
+    private Metrics warmUpMetrics;
+    private PredictorPool<I, O> predictorPool;
 
     /**
      * Constructs a {@code ZooModel} given the model and translator.
@@ -149,6 +153,26 @@ public class ZooModel<I, O> implements Model {
         return model.newPredictor(translator, device);
     }
 
+    /**
+     * Returns the {@link PredictorPool} of this model that uses the default translator.
+     *
+     * <p>The pool is created on first use. Its size defaults to the number of CPUs that the process
+     * can use, and can be set with the {@code ai.djl.predictor_pool.size} system property.
+     *
+     * @return the {@link PredictorPool} of this model
+     */
+    public synchronized PredictorPool<I, O> getPredictorPool() {
+        if (predictorPool == null) {
+            PredictorPool.Builder<I, O> builder = PredictorPool.builder(this, translator);
+            Integer size = Integer.getInteger("ai.djl.predictor_pool.size");
+            if (size != null) {
+                builder.optSize(size);
+            }
+            predictorPool = builder.build();
+        }
+        return predictorPool;
+    }
+
     /**
      * Returns the default translator.
      *
@@ -158,6 +182,20 @@ public class ZooModel<I, O> implements Model {
         return translator;
     }
 
+    /**
+     * Returns the latency of each warm-up run performed when the model was loaded.
+     *
+     * @return the warm-up latencies, or {@code null} if the model was not warmed up
+     * @see WarmUp
+     */
+    public Metrics getWarmUpMetrics() {
+        return warmUpMetrics;
+    }
+
+    void setWarmUpMetrics(Metrics warmUpMetrics) {
+        this.warmUpMetrics = warmUpMetrics;
+    }
+
     /** {@inheritDoc} */
     @Override
     public PairList<String, Shape> describeInput() {
@@ -221,6 +259,12 @@ public class ZooModel<I, O> implements Model {
     /** {@inheritDoc} */
     @Override
     public void close() {
+        synchronized (this) {
+            if (predictorPool != null) {
+                predictorPool.close();
+                predictorPool = null;
+            }
+        }
         model.close();
     }
 }
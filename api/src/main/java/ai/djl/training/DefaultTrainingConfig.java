@@ -41,6 +41,7 @@ public class DefaultTrainingConfig implements TrainingConfig {
     private ExecutorService executorService;
     private List<Evaluator> evaluators;
     private List<TrainingListener> listeners;
+    private boolean parameterSharding;
 
     /**
      * Creates an instance of {@code DefaultTrainingConfig} with the given {@link Loss}. {@code
@@ -118,6 +119,19 @@ public class DefaultTrainingConfig implements TrainingConfig {
         return this;
     }
 
+    /**
+     * Sets whether to shard the optimizer state across the training devices.
+     *
+     * @param parameterSharding {@code true} to let each device own the optimizer state of a subset
+     *     of the parameters
+     * @return this {@code DefaultTrainingConfig}
+     * @see ShardedParameterServer
+     */
+    public DefaultTrainingConfig optParameterSharding(boolean parameterSharding) {
+        this.parameterSharding = parameterSharding;
+        return this;
+    }
+
     /**
      * Sets the {@link ExecutorService} with the global {@link ForkJoinPool#commonPool()}.
      *
@@ -216,4 +230,10 @@ public class DefaultTrainingConfig implements TrainingConfig {
     public List<TrainingListener> getTrainingListeners() {
         return listeners;
     }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean isParameterSharding() {
+        return parameterSharding;
+    }
 }
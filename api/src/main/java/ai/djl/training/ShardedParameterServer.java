@@ -0,0 +1,140 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.training;
+
+import ai.djl.Device;
+import ai.djl.ndarray.NDArray;
+import ai.djl.training.optimizer.Optimizer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@code ShardedParameterServer} is a {@link ParameterServer} that partitions the optimizer state
+ * across the training devices.
+ *
+ * <p>Every parameter is owned by exactly one device. Gradients are reduced onto the owning device,
+ * the optimizer only updates the replica on the owning device, and the updated value is then
+ * broadcast to the replicas on the other devices. Because the {@link Optimizer} keeps its state
+ * (for example the means and variances of {@link ai.djl.training.optimizer.Adam}) per device, the
+ * optimizer state is only allocated on the owning device. This reduces the optimizer memory per
+ * device by roughly the number of devices.
+ *
+ * <p>Parameters are assigned to devices greedily by size, so each device owns about the same
+ * number of elements.
+ */
+public class ShardedParameterServer implements ParameterServer {
+
+    private Optimizer optimizer;
+    private Map<String, Integer> shards;
+    private long[] shardSizes;
+
+    /**
+     * Create a new instance of {@code ShardedParameterServer} for the given optimizer.
+     *
+     * @param optimizer an optimizer
+     */
+    public ShardedParameterServer(Optimizer optimizer) {
+        this.optimizer = optimizer;
+        shards = new ConcurrentHashMap<>();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void init(String parameterId, NDArray[] value) {}
+
+    /** {@inheritDoc} */
+    @Override
+    public void update(String parameterId, NDArray[] grads, NDArray[] params) {
+        int owner = getShard(parameterId, params);
+        NDArray master = params[owner];
+        Device ownerDevice = master.getDevice();
+        // reduce gradient from all devices to the owning device
+        for (int i = 0; i < grads.length; i++) {
+            if (i == owner) {
+                continue;
+            }
+            try (NDArray gradCopy = grads[i].toDevice(ownerDevice, true)) {
+                grads[owner].addi(gradCopy);
+            }
+        }
+        // only the owning device holds optimizer state for this parameter, the update count
+        // still advances once per replica like with the LocalParameterServer
+        for (int i = 1; i < params.length; i++) {
+            optimizer.skipUpdate(parameterId);
+        }
+        optimizer.update(parameterId, master, grads[owner]);
+
+        // broadcast the updated shard to all other replicas
+        for (int i = 0; i < params.length; i++) {
+            if (i == owner) {
+                continue;
+            }
+            Device device = params[i].getDevice();
+            if (device.equals(ownerDevice)) {
+                master.copyTo(params[i]);
+            } else {
+                try (NDArray copy = master.toDevice(device, true)) {
+                    copy.copyTo(params[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the device that owns the given parameter.
+     *
+     * @param parameterId the parameter ID
+     * @return the index of the owning device, or -1 if the parameter has not been assigned yet
+     */
+    public int getShard(String parameterId) {
+        return shards.getOrDefault(parameterId, -1);
+    }
+
+    /**
+     * Returns the number of parameter elements owned by each device.
+     *
+     * @return the number of parameter elements owned by each device
+     */
+    public synchronized long[] getShardSizes() {
+        return shardSizes == null ? new long[0] : shardSizes.clone();
+    }
+
+    private int getShard(String parameterId, NDArray[] params) {
+        Integer shard = shards.get(parameterId);
+        if (shard != null) {
+            return shard;
+        }
+        synchronized (this) {
+            return shards.computeIfAbsent(parameterId, k -> assign(params));
+        }
+    }
+
+    private int assign(NDArray[] params) {
+        if (shardSizes == null || shardSizes.length != params.length) {
+            shardSizes = new long[params.length];
+        }
+        int owner = 0;
+        for (int i = 1; i < shardSizes.length; ++i) {
+            if (shardSizes[i] < shardSizes[owner]) {
+                owner = i;
+            }
+        }
+        shardSizes[owner] += params[owner].size();
+        return owner;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {}
+}
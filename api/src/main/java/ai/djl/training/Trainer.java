@@ -29,6 +29,7 @@ import ai.djl.training.listener.EpochTrainingListener;
 import ai.djl.training.listener.EvaluatorTrainingListener;
 import ai.djl.training.listener.TrainingListener;
 import ai.djl.training.loss.Loss;
+import ai.djl.training.optimizer.Optimizer;
 import ai.djl.translate.TranslateException;
 
 import org.slf4j.Logger;
@@ -36,6 +37,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -99,8 +101,13 @@ public class Trainer implements AutoCloseable {
         evaluators.add(loss); // track loss as an evaluator by default
         executorService = trainingConfig.getExecutorService();
 
-        ParameterServer parameterServer =
-                manager.getEngine().newParameterServer(trainingConfig.getOptimizer());
+        Optimizer optimizer = trainingConfig.getOptimizer();
+        ParameterServer parameterServer;
+        if (trainingConfig.isParameterSharding()) {
+            parameterServer = new ShardedParameterServer(optimizer);
+        } else {
+            parameterServer = manager.getEngine().newParameterServer(optimizer);
+        }
 
         parameterStore = new ParameterStore(manager, false);
         parameterStore.setParameterServer(parameterServer, devices);
@@ -149,7 +156,8 @@ public class Trainer implements AutoCloseable {
      * @throws TranslateException if there is an error while processing input
      */
     public Iterable<Batch> iterateDataset(Dataset dataset) throws IOException, TranslateException {
-        return dataset.getData(getManager(), executorService);
+        Iterable<Batch> iterable = dataset.getData(getManager(), executorService);
+        return () -> new TimedIterator(iterable.iterator());
     }
 
     /**
@@ -282,7 +290,23 @@ public class Trainer implements AutoCloseable {
      * @param listenerConsumer a consumer that executes the method
      */
     public void notifyListeners(Consumer<TrainingListener> listenerConsumer) {
+        long begin = System.nanoTime();
         listeners.forEach(listenerConsumer);
+        notifyPhase("listeners", begin, System.nanoTime());
+    }
+
+    /**
+     * Notifies the {@link TrainingListener}s that a timed phase of the training step has completed.
+     *
+     * @param phase the name of the phase
+     * @param begin the {@link System#nanoTime()} when the phase began
+     * @param end the {@link System#nanoTime()} when the phase ended
+     * @see TrainingListener#onPhase(Trainer, String, long, long)
+     */
+    public void notifyPhase(String phase, long begin, long end) {
+        for (TrainingListener listener : listeners) {
+            listener.onPhase(this, phase, begin, end);
+        }
     }
 
     /**
@@ -371,8 +395,40 @@ public class Trainer implements AutoCloseable {
      * @param begin the time difference start (this method is called at the time difference end)
      */
     public void addMetric(String metricName, long begin) {
-        if (metrics != null && begin > 0L) {
-            metrics.addMetric(metricName, System.nanoTime() - begin);
+        if (begin > 0L) {
+            long end = System.nanoTime();
+            if (metrics != null) {
+                metrics.addMetric(metricName, end - begin);
+            }
+            notifyPhase(metricName, begin, end);
+        }
+    }
+
+    /** An {@link Iterator} that records the time spent waiting for the next {@link Batch}. */
+    private final class TimedIterator implements Iterator<Batch> {
+
+        private Iterator<Batch> iterator;
+
+        TimedIterator(Iterator<Batch> iterator) {
+            this.iterator = iterator;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Batch next() {
+            long begin = System.nanoTime();
+            try {
+                return iterator.next();
+            } finally {
+                // only reported to the listeners, a metric per batch would grow without bound
+                notifyPhase("data", begin, System.nanoTime());
+            }
         }
     }
 }
@@ -112,4 +112,16 @@ public interface TrainingConfig {
      * @return a list of {@link TrainingListener}s
      */
     List<TrainingListener> getTrainingListeners();
+
+    /**
+     * Returns whether the optimizer state should be sharded across the training devices.
+     *
+     * <p>When enabled, the {@link Trainer} uses a {@link ShardedParameterServer} so that each
+     * device only keeps the optimizer state for the parameters it owns.
+     *
+     * @return {@code true} if the optimizer state should be sharded across the devices
+     */
+    default boolean isParameterSharding() {
+        return false;
+    }
 }
@@ -112,7 +112,9 @@ public class EvaluatorTrainingListener extends TrainingListenerAdapter {
             evaluator.resetAccumulator(TRAIN_ALL);
         }
 
+        long begin = System.nanoTime();
         updateEvaluators(trainer, batchData, new String[] {TRAIN_EPOCH, TRAIN_PROGRESS, TRAIN_ALL});
+        trainer.notifyPhase("evaluator", begin, System.nanoTime());
         Metrics metrics = trainer.getMetrics();
         if (metrics != null) {
             for (Evaluator evaluator : trainer.getEvaluators()) {
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.training.listener;
+
+import ai.djl.training.Trainer;
+import ai.djl.util.JsonUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link TrainingListener} that records a per-step timeline of the training phases.
+ *
+ * <p>Every phase reported by the {@link Trainer} is recorded: the time blocked waiting for the
+ * next batch ("data"), "forward", "backward", "step", the evaluator updates ("evaluator") and the
+ * time spent notifying the listeners ("listeners"). Phases are tagged with the step they belong to
+ * and the thread that ran them.
+ *
+ * <p>If an outputDir is provided, the file "$outputDir/trace.json" will be created after training
+ * in the Chrome trace-event format. It can be opened with {@code chrome://tracing} or <a
+ * href="https://ui.perfetto.dev">Perfetto</a>.
+ */
+public class TraceTrainingListener extends TrainingListenerAdapter {
+
+    private static final Logger logger = LoggerFactory.getLogger(TraceTrainingListener.class);
+
+    private String outputDir;
+    private int maxEvents;
+    private long startTime;
+    private AtomicInteger step;
+    private AtomicInteger count;
+    private ConcurrentLinkedQueue<TraceEvent> events;
+
+    /** Constructs a {@link TraceTrainingListener} that does not output data to a file. */
+    public TraceTrainingListener() {
+        this(null);
+    }
+
+    /**
+     * Constructs a {@link TraceTrainingListener} that outputs the trace in the given directory.
+     *
+     * @param outputDir the directory to output the trace in
+     */
+    public TraceTrainingListener(String outputDir) {
+        this(outputDir, 1_000_000);
+    }
+
+    /**
+     * Constructs a {@link TraceTrainingListener} that outputs the trace in the given directory.
+     *
+     * @param outputDir the directory to output the trace in
+     * @param maxEvents the maximum number of events to record, later events are dropped
+     */
+    public TraceTrainingListener(String outputDir, int maxEvents) {
+        this.outputDir = outputDir;
+        this.maxEvents = maxEvents;
+        startTime = System.nanoTime();
+        step = new AtomicInteger();
+        count = new AtomicInteger();
+        events = new ConcurrentLinkedQueue<>();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void onTrainingBegin(Trainer trainer) {
+        startTime = System.nanoTime();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void onPhase(Trainer trainer, String phase, long begin, long end) {
+        int current = "step".equals(phase) ? step.getAndIncrement() : step.get();
+        int n = count.incrementAndGet();
+        if (n > maxEvents) {
+            if (n == maxEvents + 1) {
+                logger.warn("Trace is full, dropping events after {} events.", maxEvents);
+            }
+            return;
+        }
+        long threadId = Thread.currentThread().getId();
+        events.add(new TraceEvent(phase, begin - startTime, end - begin, threadId, current));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void onTrainingEnd(Trainer trainer) {
+        if (outputDir == null) {
+            return;
+        }
+        try {
+            Path dir = Paths.get(outputDir);
+            Files.createDirectories(dir);
+            writeTrace(dir.resolve("trace.json"));
+        } catch (IOException e) {
+            logger.error("Failed dump training trace", e);
+        }
+    }
+
+    /**
+     * Returns the number of steps recorded so far.
+     *
+     * @return the number of steps recorded so far
+     */
+    public int getSteps() {
+        return step.get();
+    }
+
+    /**
+     * Returns the total time in nanoseconds spent in each phase.
+     *
+     * @return the total time in nanoseconds spent in each phase
+     */
+    public Map<String, Long> getPhaseTotals() {
+        Map<String, Long> totals = new LinkedHashMap<>();
+        for (TraceEvent event : events) {
+            totals.merge(event.name, event.duration, Long::sum);
+        }
+        return totals;
+    }
+
+    /**
+     * Writes the recorded timeline in the Chrome trace-event JSON format.
+     *
+     * @param file the file to write to
+     * @throws IOException if failed to write the file
+     */
+    public void writeTrace(Path file) throws IOException {
+        List<Map<String, Object>> traceEvents = new ArrayList<>();
+        for (TraceEvent event : events) {
+            traceEvents.add(event.toJson());
+        }
+        Map<String, Object> trace = new LinkedHashMap<>();
+        trace.put("traceEvents", traceEvents);
+        trace.put("displayTimeUnit", "ms");
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            JsonUtils.GSON.toJson(trace, writer);
+        }
+    }
+
+    private static final class TraceEvent {
+
+        String name;
+        long begin;
+        long duration;
+        long threadId;
+        int step;
+
+        TraceEvent(String name, long begin, long duration, long threadId, int step) {
+            this.name = name;
+            this.begin = begin;
+            this.duration = duration;
+            this.threadId = threadId;
+            this.step = step;
+        }
+
+        Map<String, Object> toJson() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("name", name);
+            map.put("cat", "listeners".equals(name) ? "listener" : "training");
+            map.put("ph", "X");
+            // trace-event timestamps are in microseconds
+            map.put("ts", begin / 1000d);
+            map.put("dur", duration / 1000d);
+            map.put("pid", 0);
+            map.put("tid", threadId);
+            map.put("args", Collections.singletonMap("step", step));
+            return map;
+        }
+    }
+}
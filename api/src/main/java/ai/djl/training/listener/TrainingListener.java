@@ -72,6 +72,20 @@ public interface TrainingListener {
      */
     void onTrainingEnd(Trainer trainer);
 
+    /**
+     * Listens to the completion of a timed phase of the training step.
+     *
+     * <p>Phases include waiting for data ("data"), "forward", "backward", "step", the evaluator
+     * updates ("evaluator") and the time spent notifying the listeners ("listeners"). This method
+     * may be called from multiple threads concurrently.
+     *
+     * @param trainer the trainer the listener is attached to
+     * @param phase the name of the phase
+     * @param begin the {@link System#nanoTime()} when the phase began
+     * @param end the {@link System#nanoTime()} when the phase ended
+     */
+    default void onPhase(Trainer trainer, String phase, long begin, long end) {}
+
     /** Contains default {@link TrainingListener} sets. */
     interface Defaults {
 
@@ -135,6 +135,19 @@ public abstract class Optimizer {
         return numUpdate;
     }
 
+    /**
+     * Advances the update count of a parameter without updating it.
+     *
+     * <p>A {@link ai.djl.training.ParameterServer} that only updates one replica of a parameter
+     * calls it for every other replica, so the learning rate schedule and the bias correction see
+     * the same update count as when each replica is updated.
+     *
+     * @param parameterId the parameter that is not updated
+     */
+    public void skipUpdate(String parameterId) {
+        updateCount(parameterId);
+    }
+
     /**
      * Updates the parameters according to the gradients.
      *
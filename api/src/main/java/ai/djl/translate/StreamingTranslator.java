@@ -0,0 +1,47 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.translate;
+
+import ai.djl.inference.streaming.ChunkedBytesSupplier;
+import ai.djl.ndarray.NDList;
+
+/**
+ * A {@link Translator} that can emit its output incrementally.
+ *
+ * <p>When used with {@link ai.djl.inference.Predictor#streamingPredict(Object)}, the output is
+ * written to a {@link ChunkedBytesSupplier} as soon as each part is available, for example one
+ * token at a time for text generation. The translator can run additional forward passes through
+ * {@link TranslatorContext#getBlock()} while producing the output.
+ *
+ * @param <I> the input type
+ * @param <O> the output type
+ */
+public interface StreamingTranslator<I, O> extends Translator<I, O> {
+
+    /**
+     * Processes the output NDList and appends the result to the {@link ChunkedBytesSupplier}.
+     *
+     * <p>The stream is completed by the {@link ai.djl.inference.Predictor} when this method
+     * returns. Implementations should stop early when {@link
+     * ChunkedBytesSupplier#appendContent(ai.djl.ndarray.BytesSupplier, boolean)} returns {@code
+     * false}.
+     *
+     * @param ctx the toolkit used for post-processing
+     * @param list the output NDList after inference
+     * @param output the stream to append the output to
+     * @throws Exception if an error occurs during processing output
+     */
+    @SuppressWarnings("PMD.SignatureDeclareThrowsException")
+    void processStreamOutput(TranslatorContext ctx, NDList list, ChunkedBytesSupplier output)
+            throws Exception;
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.engine;
+
+import ai.djl.util.Utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.BitSet;
+
+public class ComputePlannerTest {
+
+    @Test
+    public void testCpuTopology() throws IOException {
+        BitSet set = CpuTopology.parseCpuList("0-2,5,7-8\n");
+        Assert.assertEquals(set.stream().toArray(), new int[] {0, 1, 2, 5, 7, 8});
+
+        Path root = Paths.get("build/cpu_topology");
+        Utils.deleteQuietly(root);
+        write(root.resolve("proc/self/status"), "Name:\tjava\nCpus_allowed_list:\t0-7\n");
+        write(root.resolve("proc/self/cgroup"), "0::/\n");
+        write(root.resolve("sys/fs/cgroup/cpu.max"), "600000 100000\n");
+        write(root.resolve("sys/devices/system/node/node0/cpulist"), "0-3\n");
+        write(root.resolve("sys/devices/system/node/node1/cpulist"), "4-7\n");
+
+        CpuTopology topology = CpuTopology.load(root, 8);
+        Assert.assertEquals(topology.getCpus().length, 8);
+        Assert.assertEquals(topology.getNumaNodeCount(), 2);
+        Assert.assertEquals(topology.getNumaNodeCpus(1), new int[] {4, 5, 6, 7});
+        Assert.assertEquals(topology.getCpuQuota(), 6f);
+        Assert.assertEquals(topology.getCpuLimit(), 6);
+
+        CpuTopology fallback = CpuTopology.load(root.resolve("none"), 2);
+        Assert.assertEquals(fallback.getCpus(), new int[] {0, 1});
+        Assert.assertEquals(fallback.getCpuQuota(), 0f);
+    }
+
+    @Test
+    public void testComputePlanner() {
+        int[][] nodes = {{0, 1, 2, 3}, {4, 5, 6, 7}};
+        ComputePlanner planner = new ComputePlanner(new CpuTopology(new int[8], nodes, 6));
+
+        // a pool reserves one CPU per worker by default
+        ComputePlanner.Allocation a = planner.allocate("a", 2);
+        Assert.assertEquals(a.getCpus(), new int[] {0, 1});
+        Assert.assertEquals(a.getIntraOpThreads(), 1);
+        Assert.assertEquals(a.getNumaNode(), 0);
+
+        ComputePlanner.Allocation b = planner.allocate("b", 1, 2);
+        Assert.assertEquals(b.getCpus(), new int[] {2, 3});
+        Assert.assertEquals(b.getIntraOpThreads(), 2);
+        Assert.assertEquals(b.getNumaNode(), 0);
+
+        // only 2 CPUs of the second node fit in the quota, the least used ones are shared
+        ComputePlanner.Allocation c = planner.allocate("c", 2, 2);
+        Assert.assertEquals(c.getCpus(), new int[] {0, 1, 4, 5});
+        Assert.assertEquals(c.getIntraOpThreads(), 2);
+        Assert.assertEquals(c.getNumaNode(), -1);
+        Assert.assertEquals(planner.getAllocations().size(), 3);
+
+        b.close();
+        b.close();
+        Assert.assertEquals(planner.getAllocations().size(), 2);
+        ComputePlanner.Allocation d = planner.allocate("d", 1);
+        Assert.assertEquals(d.getCpus(), new int[] {2});
+        Assert.assertTrue(planner.toString().contains("d: workers: 1"));
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> planner.allocate("e", 1, 0));
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.inference.streaming;
+
+import ai.djl.ndarray.BytesSupplier;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class ChunkedBytesSupplierTest {
+
+    @Test
+    public void testChunks() throws InterruptedException, TimeoutException {
+        ChunkedBytesSupplier data = new ChunkedBytesSupplier();
+        Assert.assertTrue(data.hasNext());
+        Assert.assertNull(data.pollChunk());
+        Assert.assertThrows(TimeoutException.class, () -> data.nextChunk(1, TimeUnit.MILLISECONDS));
+
+        data.appendContent(BytesSupplier.wrap("Hello"), false);
+        data.appendContent(BytesSupplier.wrap(" "), false);
+        Assert.assertEquals(data.nextChunk(1, TimeUnit.SECONDS), bytes("Hello"));
+        data.appendContent(BytesSupplier.wrap("world"), true);
+        Assert.assertTrue(data.isCompleted());
+        Assert.assertThrows(
+                IllegalStateException.class, () -> data.appendContent(new byte[0], false));
+
+        Assert.assertTrue(data.hasNext());
+        Assert.assertEquals(data.getAsString(), " world");
+        Assert.assertFalse(data.hasNext());
+    }
+
+    @Test
+    public void testBackpressure() throws InterruptedException, TimeoutException {
+        ChunkedBytesSupplier data = new ChunkedBytesSupplier(2);
+        data.appendContent(BytesSupplier.wrap("a"), false);
+        data.appendContent(BytesSupplier.wrap("b"), false, 1, TimeUnit.SECONDS);
+        BytesSupplier chunk = BytesSupplier.wrap("c");
+        Assert.assertThrows(
+                TimeoutException.class,
+                () -> data.appendContent(chunk, false, 10, TimeUnit.MILLISECONDS));
+
+        Thread producer =
+                new Thread(
+                        () -> {
+                            try {
+                                for (int i = 0; i < 10; ++i) {
+                                    data.appendContent(bytes(String.valueOf(i)), false);
+                                }
+                                data.complete();
+                            } catch (InterruptedException e) {
+                                data.completeExceptionally(e);
+                            }
+                        });
+        producer.start();
+        Assert.assertEquals(data.getAsString(), "ab0123456789");
+        producer.join();
+    }
+
+    @Test
+    public void testError() throws InterruptedException, TimeoutException {
+        ChunkedBytesSupplier data = new ChunkedBytesSupplier();
+        data.appendContent(BytesSupplier.wrap("partial"), false);
+        data.completeExceptionally(new IllegalArgumentException("failed"));
+        Assert.assertEquals(data.nextChunk(1, TimeUnit.SECONDS), bytes("partial"));
+        Assert.assertTrue(data.hasNext());
+        Assert.assertThrows(
+                IllegalStateException.class, () -> data.nextChunk(1, TimeUnit.SECONDS));
+        Assert.assertFalse(data.hasNext());
+    }
+
+    @Test
+    public void testCancel() throws InterruptedException {
+        ChunkedBytesSupplier data = new ChunkedBytesSupplier(1);
+        data.appendContent(BytesSupplier.wrap("a"), false);
+        Thread producer =
+                new Thread(
+                        () -> {
+                            try {
+                                // blocks until the consumer cancels the stream
+                                Assert.assertFalse(data.appendContent(bytes("b"), false));
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        });
+        producer.start();
+        data.cancel();
+        producer.join(10000);
+        Assert.assertFalse(producer.isAlive());
+        Assert.assertTrue(data.isCancelled());
+        Assert.assertFalse(data.hasNext());
+        Assert.assertNull(data.pollChunk());
+        // the producer never blocks again once the stream is cancelled
+        for (int i = 0; i < 3; ++i) {
+            Assert.assertFalse(data.appendContent(bytes("c"), false));
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
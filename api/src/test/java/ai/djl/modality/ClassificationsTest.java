@@ -0,0 +1,119 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.modality;
+
+import ai.djl.modality.Classifications.Classification;
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDManager;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class ClassificationsTest {
+
+    @Test
+    public void testTopK() {
+        List<String> classNames = Arrays.asList("a", "b", "c", "d", "e", "f");
+        List<Double> probs = Arrays.asList(0.1, 0.3, 0.05, 0.3, 0.2, 0.05);
+        Classifications classifications = new Classifications(classNames, probs);
+
+        List<Classification> topK = classifications.topK(3);
+        Assert.assertEquals(topK.size(), 3);
+        // ties keep the original order of the classes
+        Assert.assertEquals(topK.get(0).getClassName(), "b");
+        Assert.assertEquals(topK.get(1).getClassName(), "d");
+        Assert.assertEquals(topK.get(2).getClassName(), "e");
+        Assert.assertEquals(topK.get(2).getProbability(), 0.2);
+
+        topK = classifications.topK(10);
+        Assert.assertEquals(topK.size(), 6);
+        Assert.assertEquals(topK.get(4).getClassName(), "c");
+        Assert.assertEquals(topK.get(5).getClassName(), "f");
+
+        Assert.assertTrue(classifications.topK(0).isEmpty());
+        Assert.assertEquals(classifications.best().getClassName(), "b");
+        Assert.assertEquals(classifications.get("e").getProbability(), 0.2);
+    }
+
+    @Test
+    public void testNDArray() {
+        List<String> classNames = Arrays.asList("a", "b", "c", "d", "e", "f");
+        try (NDManager manager = NDManager.newBaseManager()) {
+            NDArray array = manager.create(new float[] {0.1f, 0.3f, 0.05f, 0.3f, 0.2f, 0.05f});
+            Classifications classifications = new Classifications(classNames, array);
+
+            List<Classification> topK = classifications.topK(3);
+            Assert.assertEquals(topK.size(), 3);
+            Assert.assertEquals(topK.get(0).getClassName(), "b");
+            Assert.assertEquals(topK.get(1).getClassName(), "d");
+            Assert.assertEquals(topK.get(2).getClassName(), "e");
+            Assert.assertEquals(topK.get(2).getProbability(), 0.2f, 1e-6);
+            Assert.assertEquals(classifications.topK(10).size(), 6);
+            Assert.assertEquals(classifications.best().getClassName(), "b");
+            Assert.assertEquals(classifications.get("c").getProbability(), 0.05f, 1e-6);
+            Assert.assertEquals(classifications.items().size(), 6);
+
+            // the probabilities are a read-only view that is not replaced by the getter
+            List<Double> probs = classifications.getProbabilities();
+            Assert.assertEquals(probs.size(), 6);
+            Assert.assertEquals(probs.get(1), 0.3f, 1e-6);
+            Assert.assertSame(classifications.getProbabilities(), probs);
+            Assert.assertThrows(UnsupportedOperationException.class, () -> probs.set(0, 1.0));
+
+            array = manager.create(new double[] {0.4, 0.6});
+            classifications = new Classifications(Arrays.asList("x", "y"), array);
+            Assert.assertEquals(classifications.best().getClassName(), "y");
+            Assert.assertEquals(classifications.getProbabilities(), Arrays.asList(0.4, 0.6));
+        }
+    }
+
+    @Test
+    public void testTopKMatchesSort() {
+        int size = 1000;
+        List<String> classNames = new ArrayList<>(size);
+        List<Double> probs = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            classNames.add(String.valueOf(i));
+            probs.add((double) ((i * 7919) % 101));
+        }
+        Classifications classifications = new Classifications(classNames, probs);
+
+        List<Classification> expected = classifications.items();
+        expected.sort(
+                (a, b) -> {
+                    int cmp = Double.compare(b.getProbability(), a.getProbability());
+                    if (cmp != 0) {
+                        return cmp;
+                    }
+                    return Integer.compare(
+                            Integer.parseInt(a.getClassName()), Integer.parseInt(b.getClassName()));
+                });
+        List<Classification> actual = classifications.topK(50);
+        for (int i = 0; i < actual.size(); ++i) {
+            Assert.assertEquals(actual.get(i).getClassName(), expected.get(i).getClassName());
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        Classifications classifications =
+                new Classifications(Collections.emptyList(), Collections.emptyList());
+        Assert.assertTrue(classifications.topK(5).isEmpty());
+        Assert.assertThrows(classifications::best);
+    }
+}
@@ -18,6 +18,7 @@ import ai.djl.modality.Input;
 import ai.djl.modality.Output;
 import ai.djl.modality.cv.Image;
 import ai.djl.translate.BasicTranslator;
+import ai.djl.translate.Pipeline;
 import ai.djl.translate.Translator;
 
 import org.testng.Assert;
@@ -73,4 +74,25 @@ public class ImageClassificationTranslatorFactoryTest {
                     () -> factory.newInstance(Image.class, Output.class, model, arguments));
         }
     }
+
+    @Test
+    public void testDecodeSize() {
+        Map<String, String> arguments = new HashMap<>();
+        arguments.put("resize", "256");
+        ImageClassificationTranslator translator =
+                ImageClassificationTranslator.builder(arguments).build();
+        // the images are decoded at full resolution unless reduced decoding is enabled
+        Assert.assertNull(translator.getDecodeSize());
+
+        arguments.put("reducedDecoding", "true");
+        translator = ImageClassificationTranslator.builder(arguments).build();
+        Assert.assertEquals(translator.getDecodeSize(), new int[] {256, 256});
+
+        translator =
+                ImageClassificationTranslator.builder()
+                        .setPipeline(new Pipeline())
+                        .optDecodeSize(128, 96)
+                        .build();
+        Assert.assertEquals(translator.getDecodeSize(), new int[] {128, 96});
+    }
 }
@@ -12,6 +12,8 @@
  */
 package ai.djl.ndarray;
 
+import ai.djl.ndarray.types.Shape;
+
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -45,4 +47,48 @@ public class NDScopeTest {
         Assert.assertFalse(detached.isReleased());
         detached.close();
     }
+
+    @Test
+    public void testArenaScope() {
+        NDArray inside;
+        NDArray escaped;
+        try (NDManager manager = NDManager.newBaseManager()) {
+            try (NDScope scope = new NDScope(true)) {
+                inside = manager.create(new float[] {1f, 2f});
+                escaped = scope.escape(inside.add(1));
+            }
+            Assert.assertTrue(inside.isReleased());
+            Assert.assertFalse(escaped.isReleased());
+            Assert.assertEquals(escaped.toFloatArray(), new float[] {2f, 3f});
+
+            // the arena memory is reused and must be zero filled again
+            try (NDScope scope = new NDScope(true)) {
+                scope.suppressNotUsedWarning();
+                NDArray zeros = manager.zeros(new Shape(2));
+                Assert.assertEquals(zeros.toFloatArray(), new float[] {0f, 0f});
+            }
+        }
+        Assert.assertTrue(escaped.isReleased());
+    }
+
+    @Test
+    public void testArenaUnregister() {
+        try (NDManager manager = NDManager.newBaseManager()) {
+            NDArray kept;
+            try (NDScope scope = new NDScope(true)) {
+                scope.suppressNotUsedWarning();
+                kept = manager.create(new float[] {1f, 2f});
+                NDScope.unregister(kept);
+            }
+            Assert.assertFalse(kept.isReleased());
+
+            // the arena memory is reused by the next scope and must not back the kept array
+            try (NDScope scope = new NDScope(true)) {
+                scope.suppressNotUsedWarning();
+                manager.create(new float[] {3f, 4f});
+                Assert.assertEquals(kept.toFloatArray(), new float[] {1f, 2f});
+            }
+            Assert.assertEquals(kept.toFloatArray(), new float[] {1f, 2f});
+        }
+    }
 }
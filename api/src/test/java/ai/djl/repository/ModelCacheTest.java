@@ -0,0 +1,265 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.repository;
+
+import ai.djl.Application;
+import ai.djl.BaseModel;
+import ai.djl.ndarray.NDList;
+import ai.djl.repository.zoo.Criteria;
+import ai.djl.repository.zoo.ModelCache;
+import ai.djl.repository.zoo.ModelLoader;
+import ai.djl.repository.zoo.ModelNotFoundException;
+import ai.djl.repository.zoo.ModelZoo;
+import ai.djl.repository.zoo.ZooModel;
+import ai.djl.translate.NoopTranslator;
+import ai.djl.util.Utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ModelCacheTest {
+
+    @Test
+    public void testModelCache() throws Exception {
+        TestModelZoo zoo = new TestModelZoo();
+        zoo.modelDir = Paths.get("build/model_cache");
+        Files.createDirectories(zoo.modelDir);
+        Files.write(zoo.modelDir.resolve("test.params"), new byte[16]);
+        // only one idle model fits in the memory budget
+        ModelCache cache = ModelCache.builder().optMaxMemory(20).build();
+        Criteria<NDList, NDList> criteria =
+                Criteria.builder()
+                        .setTypes(NDList.class, NDList.class)
+                        .optModelZoo(zoo)
+                        .optOption("mapLocation", "true")
+                        .build();
+
+        ZooModel<NDList, NDList> model1 = cache.get(criteria);
+        ZooModel<NDList, NDList> model2 = cache.get(criteria.toBuilder().build());
+        Assert.assertEquals(zoo.loads.get(), 1);
+        Assert.assertSame(model1.getWrappedModel(), model2.getWrappedModel());
+        Assert.assertEquals(cache.size(), 1);
+
+        // a different option selects a different model
+        ZooModel<NDList, NDList> model3 =
+                cache.get(criteria.toBuilder().optOption("mapLocation", "false").build());
+        Assert.assertEquals(zoo.loads.get(), 2);
+        Assert.assertEquals(cache.size(), 2);
+
+        Assert.assertEquals(cache.getMemoryUsage(), 32);
+
+        // the idle model is evicted since the memory budget is exceeded
+        model3.close();
+        model3.close();
+        Assert.assertEquals(cache.size(), 1);
+        Assert.assertTrue(((TestModel) model3.getWrappedModel()).closed);
+
+        model1.close();
+        Assert.assertFalse(((TestModel) model2.getWrappedModel()).closed);
+        model2.close();
+        Assert.assertFalse(((TestModel) model2.getWrappedModel()).closed);
+        Assert.assertEquals(cache.evictIdle(), 1);
+        Assert.assertTrue(((TestModel) model2.getWrappedModel()).closed);
+        Assert.assertEquals(cache.size(), 0);
+        Utils.deleteQuietly(zoo.modelDir);
+    }
+
+    @Test
+    public void testConcurrentLoad() throws Exception {
+        TestModelZoo zoo = new TestModelZoo();
+        zoo.latch = new CountDownLatch(1);
+        ModelCache cache = ModelCache.builder().build();
+        Criteria<NDList, NDList> criteria =
+                Criteria.builder().setTypes(NDList.class, NDList.class).optModelZoo(zoo).build();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<ZooModel<NDList, NDList>> future1 = executor.submit(() -> cache.get(criteria));
+            Future<ZooModel<NDList, NDList>> future2 = executor.submit(() -> cache.get(criteria));
+            zoo.latch.countDown();
+            try (ZooModel<NDList, NDList> model1 = future1.get();
+                    ZooModel<NDList, NDList> model2 = future2.get()) {
+                Assert.assertSame(model1.getWrappedModel(), model2.getWrappedModel());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertEquals(zoo.loads.get(), 1);
+        Assert.assertEquals(cache.evictIdle(), 1);
+    }
+
+    @Test
+    public void testTranslatorKey() throws Exception {
+        TestModelZoo zoo = new TestModelZoo();
+        ModelCache cache = ModelCache.builder().build();
+        NoopTranslator translator = new NoopTranslator();
+        Criteria<NDList, NDList> criteria1 =
+                Criteria.builder()
+                        .setTypes(NDList.class, NDList.class)
+                        .optModelZoo(zoo)
+                        .optTranslator(translator)
+                        .build();
+        Criteria<NDList, NDList> criteria2 =
+                Criteria.builder()
+                        .setTypes(NDList.class, NDList.class)
+                        .optModelZoo(zoo)
+                        .optTranslator(translator)
+                        .build();
+        Criteria<NDList, NDList> criteria3 =
+                Criteria.builder()
+                        .setTypes(NDList.class, NDList.class)
+                        .optModelZoo(zoo)
+                        .optTranslator(new NoopTranslator())
+                        .build();
+
+        try (ZooModel<NDList, NDList> model1 = cache.get(criteria1);
+                ZooModel<NDList, NDList> model2 = cache.get(criteria2);
+                ZooModel<NDList, NDList> model3 = cache.get(criteria1.toBuilder().build())) {
+            Assert.assertSame(model1.getWrappedModel(), model2.getWrappedModel());
+            Assert.assertSame(model1.getWrappedModel(), model3.getWrappedModel());
+            Assert.assertEquals(zoo.loads.get(), 1);
+        }
+        // a different translator instance doesn't share the model
+        try (ZooModel<NDList, NDList> model = cache.get(criteria3)) {
+            Assert.assertEquals(zoo.loads.get(), 2);
+            Assert.assertEquals(cache.size(), 2);
+        }
+        Assert.assertEquals(cache.evictIdle(), 2);
+    }
+
+    @Test
+    public void testLoadError() throws Exception {
+        TestModelZoo zoo = new TestModelZoo();
+        zoo.error = new UnsatisfiedLinkError("test");
+        ModelCache cache = ModelCache.builder().build();
+        Criteria<NDList, NDList> criteria =
+                Criteria.builder().setTypes(NDList.class, NDList.class).optModelZoo(zoo).build();
+
+        Assert.assertThrows(UnsatisfiedLinkError.class, () -> cache.get(criteria));
+        Assert.assertEquals(cache.size(), 0);
+
+        // the failed load doesn't block the next one
+        zoo.error = null;
+        try (ZooModel<NDList, NDList> model = cache.get(criteria)) {
+            Assert.assertEquals(zoo.loads.get(), 1);
+        }
+        Assert.assertEquals(cache.evictIdle(), 1);
+    }
+
+    private static final class TestModelZoo extends ModelZoo {
+
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch latch;
+        Error error;
+        Path modelDir;
+
+        /** {@inheritDoc} */
+        @Override
+        public String getGroupId() {
+            return "ai.djl.test";
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Set<String> getSupportedEngines() {
+            return Collections.emptySet();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Collection<ModelLoader> getModelLoaders() {
+            return Collections.singletonList(new TestModelLoader(this));
+        }
+    }
+
+    private static final class TestModelLoader implements ModelLoader {
+
+        private TestModelZoo zoo;
+
+        TestModelLoader(TestModelZoo zoo) {
+            this.zoo = zoo;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String getArtifactId() {
+            return "test";
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Application getApplication() {
+            return Application.UNDEFINED;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        @SuppressWarnings("unchecked")
+        public <I, O> ZooModel<I, O> loadModel(Criteria<I, O> criteria) throws IOException {
+            if (zoo.latch != null) {
+                try {
+                    zoo.latch.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+            if (zoo.error != null) {
+                throw zoo.error;
+            }
+            zoo.loads.incrementAndGet();
+            TestModel model = new TestModel(zoo.modelDir);
+            return (ZooModel<I, O>) new ZooModel<>(model, new NoopTranslator());
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public List<Artifact> listModels() throws ModelNotFoundException {
+            throw new ModelNotFoundException("Not supported");
+        }
+    }
+
+    private static final class TestModel extends BaseModel {
+
+        boolean closed;
+
+        TestModel(Path modelDir) {
+            super("test");
+            this.modelDir = modelDir;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void load(Path modelPath, String prefix, Map<String, ?> options) {}
+
+        /** {@inheritDoc} */
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -14,11 +14,15 @@ package ai.djl.repository;
 
 import ai.djl.modality.Input;
 import ai.djl.modality.Output;
+import ai.djl.ndarray.types.Shape;
 import ai.djl.repository.zoo.Criteria;
+import ai.djl.repository.zoo.WarmUp;
 
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.concurrent.Executor;
+
 public class ZooTest {
 
     @Test
@@ -37,4 +41,33 @@ public class ZooTest {
         Assert.assertEquals("testModelName", criteria1.getModelName());
         Assert.assertEquals("testModelName", criteria2.getModelName());
     }
+
+    @Test
+    public void testWarmUp() {
+        WarmUp<Input> warmUp =
+                WarmUp.<Input>builder()
+                        .addShapes(new Shape(1, 3, 224, 224))
+                        .addShapes(new Shape(4, 3, 224, 224))
+                        .addInput(new Input())
+                        .optThreads(4)
+                        .build();
+        Criteria<Input, Output> criteria =
+                Criteria.builder()
+                        .setTypes(Input.class, Output.class)
+                        .optWarmUp(warmUp)
+                        .build();
+        Assert.assertEquals(criteria.toBuilder().build().getWarmUp(), warmUp);
+        Assert.assertEquals(warmUp.getShapes().size(), 2);
+        Assert.assertEquals(warmUp.getInputs().size(), 1);
+        Assert.assertEquals(warmUp.getIterations(), 2);
+        Assert.assertEquals(warmUp.getThreads(), 4);
+        Assert.assertNull(warmUp.getExecutor());
+
+        Executor executor = Runnable::run;
+        warmUp = WarmUp.<Input>builder().optExecutor(executor).build();
+        Assert.assertSame(warmUp.getExecutor(), executor);
+        Assert.assertThrows(
+                IllegalArgumentException.class,
+                () -> WarmUp.builder().optThreads(0).build());
+    }
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.training.listener;
+
+import ai.djl.util.JsonUtils;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+public class TraceTrainingListenerTest {
+
+    @Test
+    public void testTrace() throws IOException {
+        TraceTrainingListener listener = new TraceTrainingListener(null, 5);
+        long time = System.nanoTime();
+        for (int i = 0; i < 2; ++i) {
+            listener.onPhase(null, "data", time, time + 1000);
+            listener.onPhase(null, "forward", time + 1000, time + 3000);
+            listener.onPhase(null, "step", time + 3000, time + 4000);
+        }
+        Assert.assertEquals(listener.getSteps(), 2);
+
+        // the last event is dropped
+        Map<String, Long> totals = listener.getPhaseTotals();
+        Assert.assertEquals(totals.get("data").longValue(), 2000L);
+        Assert.assertEquals(totals.get("forward").longValue(), 4000L);
+        Assert.assertEquals(totals.get("step").longValue(), 1000L);
+
+        Path dir = Paths.get("build/tmp/trace");
+        Files.createDirectories(dir);
+        Path file = dir.resolve("trace.json");
+        listener.writeTrace(file);
+        try (Reader reader = Files.newBufferedReader(file)) {
+            JsonObject json = JsonUtils.GSON.fromJson(reader, JsonObject.class);
+            JsonArray events = json.getAsJsonArray("traceEvents");
+            Assert.assertEquals(events.size(), 5);
+            JsonObject event = events.get(3).getAsJsonObject();
+            Assert.assertEquals(event.get("name").getAsString(), "data");
+            Assert.assertEquals(event.get("ph").getAsString(), "X");
+            Assert.assertEquals(event.get("dur").getAsDouble(), 1.0);
+            Assert.assertEquals(event.getAsJsonObject("args").get("step").getAsInt(), 1);
+        }
+    }
+}
@@ -153,6 +153,12 @@ public class CocoDetection extends ObjectDetectionDataset {
         return ImageFactory.getInstance().fromFile(imagePaths.get(idx));
     }
 
+    /** {@inheritDoc} */
+    @Override
+    protected Optional<Path> getImageFile(long index) {
+        return Optional.of(imagePaths.get(Math.toIntExact(index)));
+    }
+
     /** {@inheritDoc} */
     @Override
     public Optional<Integer> getImageWidth() {
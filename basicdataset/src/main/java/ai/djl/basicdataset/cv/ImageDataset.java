@@ -16,10 +16,12 @@ import ai.djl.basicdataset.cv.classification.ImageClassificationDataset;
 import ai.djl.modality.cv.Image;
 import ai.djl.modality.cv.util.NDImageUtils;
 import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDList;
 import ai.djl.ndarray.NDManager;
 import ai.djl.training.dataset.RandomAccessDataset;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Optional;
 
 /**
@@ -29,6 +31,7 @@ import java.util.Optional;
 public abstract class ImageDataset extends RandomAccessDataset {
 
     protected Image.Flag flag;
+    protected boolean reducedDecoding;
 
     /**
      * Creates a new instance of {@link RandomAccessDataset} with the given necessary
@@ -39,6 +42,7 @@ public abstract class ImageDataset extends RandomAccessDataset {
     public ImageDataset(BaseBuilder<?> builder) {
         super(builder);
         this.flag = builder.flag;
+        this.reducedDecoding = builder.reducedDecoding;
     }
 
     protected NDArray getRecordImage(NDManager manager, long index) throws IOException {
@@ -53,6 +57,21 @@ public abstract class ImageDataset extends RandomAccessDataset {
         return image;
     }
 
+    /**
+     * Returns the labels of the record at the given index, without loading the image.
+     *
+     * <p>The default implementation loads the whole record, subclasses that can read the labels
+     * alone should override it.
+     *
+     * @param manager the manager to create the labels with
+     * @param index the index (if the dataset is a list of data items)
+     * @return the labels of the record
+     * @throws IOException if the labels could not be loaded
+     */
+    protected NDList getRecordLabels(NDManager manager, long index) throws IOException {
+        return get(manager, index).getLabels();
+    }
+
     /**
      * Returns the image at the given index in the dataset.
      *
@@ -62,6 +81,19 @@ public abstract class ImageDataset extends RandomAccessDataset {
      */
     protected abstract Image getImage(long index) throws IOException;
 
+    /**
+     * Returns the file of the encoded image at the given index in the dataset, if any.
+     *
+     * <p>This allows to copy the encoded image without decoding it, for example when packing the
+     * dataset with {@link ImageShardWriter}.
+     *
+     * @param index the index (if the dataset is a list of data items)
+     * @return the file of the encoded image, or empty if the image is not stored in a file
+     */
+    protected Optional<Path> getImageFile(long index) {
+        return Optional.empty();
+    }
+
     /**
      * Returns the number of channels in the images in the dataset.
      *
@@ -97,6 +129,7 @@ public abstract class ImageDataset extends RandomAccessDataset {
             extends RandomAccessDataset.BaseBuilder<T> {
 
         Image.Flag flag;
+        boolean reducedDecoding;
 
         protected BaseBuilder() {
             flag = Image.Flag.COLOR;
@@ -112,5 +145,21 @@ public abstract class ImageDataset extends RandomAccessDataset {
             this.flag = flag;
             return self();
         }
+
+        /**
+         * Sets whether the images can be decoded at a reduced resolution when the dataset resizes
+         * them to a fixed size, the default is {@code false}.
+         *
+         * <p>Depending on the {@link ai.djl.modality.cv.ImageFactory}, this skips most of the
+         * decoding work of large images, but the resized images are not exactly the same.
+         *
+         * @param reducedDecoding whether the images can be decoded at a reduced resolution
+         * @return this builder
+         * @see ai.djl.modality.cv.ImageFactory#fromFile(java.nio.file.Path, int, int)
+         */
+        public T optReducedDecoding(boolean reducedDecoding) {
+            this.reducedDecoding = reducedDecoding;
+            return self();
+        }
     }
 }
@@ -0,0 +1,286 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.basicdataset.cv;
+
+import ai.djl.modality.cv.Image;
+import ai.djl.modality.cv.ImageFactory;
+import ai.djl.modality.cv.transform.ToTensor;
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.training.dataset.Record;
+import ai.djl.translate.Pipeline;
+import ai.djl.util.Progress;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A dataset that reads the images and labels packed by {@link ImageShardWriter}.
+ *
+ * <p>The shards are memory mapped, so reading a record doesn't open any file. When the shards
+ * contain the pre-decoded pixels, the image is neither decoded nor resized, unless the dataset
+ * asks for another color mode than the shards were packed with. Use a {@link
+ * ShardShuffleSampler} to read the shards mostly sequentially, and an executor with {@link
+ * #getData(NDManager, java.util.concurrent.ExecutorService)} to decode the images in parallel:
+ *
+ * <pre>
+ * ImageShardDataset dataset =
+ *     ImageShardDataset.builder()
+ *         .setRepositoryPath(shardDir)
+ *         .setSampling(new BatchSampler(new ShardShuffleSampler(1024), batchSize))
+ *         .optExecutor(executor, prefetchNumber)
+ *         .build();
+ * </pre>
+ */
+public class ImageShardDataset extends ImageDataset {
+
+    private Path root;
+    private boolean decoded;
+    private Image.Flag decodedFlag;
+    private Integer imageWidth;
+    private Integer imageHeight;
+    private List<String> classes;
+    private List<ByteBuffer> shards;
+    private int[] shardIds;
+    private int[] offsets;
+    private int[] imageLengths;
+    private int[] labelLengths;
+    private boolean prepared;
+
+    protected ImageShardDataset(Builder builder) {
+        super(builder);
+        root = builder.root;
+    }
+
+    /**
+     * Creates a new builder to build an {@link ImageShardDataset}.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void prepare(Progress progress) throws IOException {
+        if (prepared) {
+            return;
+        }
+        Path indexFile = root.resolve(ImageShardWriter.INDEX_FILE);
+        try (DataInputStream dis =
+                new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (dis.readInt() != ImageShardWriter.MAGIC
+                    || dis.readInt() != ImageShardWriter.VERSION) {
+                throw new IOException("Invalid image shard index: " + indexFile);
+            }
+            decoded = dis.readBoolean();
+            decodedFlag = Image.Flag.valueOf(dis.readUTF());
+            int width = dis.readInt();
+            int height = dis.readInt();
+            imageWidth = width < 0 ? null : width;
+            imageHeight = height < 0 ? null : height;
+            int numClasses = dis.readInt();
+            classes = new ArrayList<>(numClasses);
+            for (int i = 0; i < numClasses; ++i) {
+                classes.add(dis.readUTF());
+            }
+            int size = dis.readInt();
+            shardIds = new int[size];
+            offsets = new int[size];
+            imageLengths = new int[size];
+            labelLengths = new int[size];
+            for (int i = 0; i < size; ++i) {
+                shardIds[i] = dis.readInt();
+                offsets[i] = dis.readInt();
+                imageLengths[i] = dis.readInt();
+                labelLengths[i] = dis.readInt();
+            }
+        }
+
+        int numShards = shardIds.length == 0 ? 0 : shardIds[shardIds.length - 1] + 1;
+        shards = new ArrayList<>(numShards);
+        for (int i = 0; i < numShards; ++i) {
+            Path file = root.resolve(ImageShardWriter.getShardName(i));
+            try (FileChannel fc = FileChannel.open(file, StandardOpenOption.READ)) {
+                shards.add(fc.map(FileChannel.MapMode.READ_ONLY, 0, fc.size()));
+            }
+        }
+        prepared = true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Record get(NDManager manager, long index) throws IOException {
+        NDList data = new NDList(getRecordImage(manager, index));
+        return new Record(data, getRecordLabels(manager, index));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected NDList getRecordLabels(NDManager manager, long index) {
+        int idx = Math.toIntExact(index);
+        return NDList.decode(manager, read(idx, imageLengths[idx], labelLengths[idx]));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected NDArray getRecordImage(NDManager manager, long index) throws IOException {
+        if (!decoded) {
+            return super.getRecordImage(manager, index);
+        }
+        int idx = Math.toIntExact(index);
+        // the pixels are already resized by the writer
+        NDArray image = NDArray.decode(manager, read(idx, 0, imageLengths[idx]));
+        if (flag != decodedFlag) {
+            // the shards were packed with another color mode
+            Image img = ImageFactory.getInstance().fromNDArray(image);
+            image.close();
+            image = img.toNDArray(manager, flag);
+        }
+        return image;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected Image getImage(long index) throws IOException {
+        int idx = Math.toIntExact(index);
+        byte[] buf = read(idx, 0, imageLengths[idx]);
+        ImageFactory factory = ImageFactory.getInstance();
+        if (!decoded) {
+            InputStream is = new ByteArrayInputStream(buf);
+            if (reducedDecoding && imageWidth != null && imageHeight != null) {
+                // the image is resized right after decoding
+                return factory.fromInputStream(is, imageWidth, imageHeight);
+            }
+            return factory.fromInputStream(is);
+        }
+        try (NDManager manager = NDManager.newBaseManager()) {
+            return factory.fromNDArray(NDArray.decode(manager, buf));
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected long availableSize() {
+        return shardIds.length;
+    }
+
+    /**
+     * Returns whether the shards contain the pre-decoded pixels instead of the encoded images.
+     *
+     * @return {@code true} if the shards contain the pre-decoded pixels
+     */
+    public boolean isDecoded() {
+        return decoded;
+    }
+
+    /**
+     * Returns the classes of the packed dataset, if it was an image classification dataset.
+     *
+     * @return the classes of the packed dataset
+     */
+    public List<String> getClasses() {
+        return classes == null ? Collections.emptyList() : classes;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Optional<Integer> getImageWidth() {
+        return Optional.ofNullable(imageWidth);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Optional<Integer> getImageHeight() {
+        return Optional.ofNullable(imageHeight);
+    }
+
+    /**
+     * Returns the index of the first record of each shard, followed by the number of records.
+     *
+     * @return the index of the first record of each shard
+     */
+    long[] getShardBoundaries() {
+        long[] boundaries = new long[shards.size() + 1];
+        int shard = 0;
+        for (int i = 0; i < shardIds.length; ++i) {
+            while (shard < shardIds[i]) {
+                boundaries[++shard] = i;
+            }
+        }
+        boundaries[shards.size()] = shardIds.length;
+        return boundaries;
+    }
+
+    private byte[] read(int index, int position, int length) {
+        ByteBuffer bb = shards.get(shardIds[index]).duplicate();
+        bb.position(offsets[index] + position);
+        byte[] buf = new byte[length];
+        bb.get(buf);
+        return buf;
+    }
+
+    /** A builder for the {@link ImageShardDataset}. */
+    public static final class Builder extends BaseBuilder<Builder> {
+
+        Path root;
+
+        Builder() {}
+
+        /** {@inheritDoc} */
+        @Override
+        protected Builder self() {
+            return this;
+        }
+
+        /**
+         * Sets the directory containing the shards.
+         *
+         * @param root the directory containing the shards
+         * @return this builder
+         */
+        public Builder setRepositoryPath(Path root) {
+            this.root = root;
+            return this;
+        }
+
+        /**
+         * Builds the {@link ImageShardDataset}.
+         *
+         * @return the {@link ImageShardDataset}
+         */
+        public ImageShardDataset build() {
+            if (root == null) {
+                throw new IllegalArgumentException("The shard directory must be set.");
+            }
+            if (pipeline == null) {
+                pipeline = new Pipeline(new ToTensor());
+            }
+            return new ImageShardDataset(this);
+        }
+    }
+}
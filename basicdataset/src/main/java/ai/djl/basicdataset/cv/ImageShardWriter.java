@@ -0,0 +1,232 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.basicdataset.cv;
+
+import ai.djl.basicdataset.cv.classification.ImageClassificationDataset;
+import ai.djl.modality.cv.Image;
+import ai.djl.ndarray.NDManager;
+import ai.djl.translate.TranslateException;
+import ai.djl.util.Progress;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@code ImageShardWriter} packs an {@link ImageDataset} into a few large shard files that can be
+ * read with {@link ImageShardDataset}.
+ *
+ * <p>Each record of a shard holds the image followed by the encoded labels. The image is either
+ * the bytes of the original image file, or the pre-decoded and resized uint8 pixels when {@link
+ * Builder#optDecoded(boolean)} is set, which saves the image decoding at training time at the cost
+ * of larger shards. The decoded pixels use the color mode of the packed dataset. The offsets of
+ * the records, the color mode and the classes of the dataset are saved in an index file next to
+ * the shards.
+ *
+ * <pre>
+ * ImageFolder dataset = ImageFolder.builder().setRepositoryPath(imageDir).build();
+ * ImageShardWriter.builder().setOutputDir(shardDir).build().write(dataset, new ProgressBar());
+ * </pre>
+ */
+public final class ImageShardWriter {
+
+    static final String INDEX_FILE = "index.bin";
+    static final int MAGIC = 0x444A4C53;
+    static final int VERSION = 2;
+
+    private Path outputDir;
+    private long shardSize;
+    private boolean decoded;
+
+    ImageShardWriter(Builder builder) {
+        outputDir = builder.outputDir;
+        shardSize = builder.shardSize;
+        decoded = builder.decoded;
+    }
+
+    /**
+     * Creates a new builder to build an {@link ImageShardWriter}.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    static String getShardName(int shard) {
+        return String.format("shard-%05d.bin", shard);
+    }
+
+    /**
+     * Writes the records of the dataset into shard files.
+     *
+     * @param dataset the dataset to pack
+     * @param progress the progress tracker
+     * @throws IOException if the dataset cannot be read or the shards cannot be written
+     * @throws TranslateException if there is an error while preparing the dataset
+     */
+    public void write(ImageDataset dataset, Progress progress)
+            throws IOException, TranslateException {
+        dataset.prepare(progress);
+        Files.createDirectories(outputDir);
+        long size = dataset.size();
+        List<String> classes =
+                dataset instanceof ImageClassificationDataset
+                        ? ((ImageClassificationDataset) dataset).getClasses()
+                        : Collections.emptyList();
+        if (progress != null) {
+            progress.reset("Writing shards", size);
+            progress.start(0);
+        }
+
+        Path indexFile = outputDir.resolve(INDEX_FILE);
+        try (NDManager manager = NDManager.newBaseManager();
+                DataOutputStream index =
+                        new DataOutputStream(
+                                new BufferedOutputStream(Files.newOutputStream(indexFile)))) {
+            index.writeInt(MAGIC);
+            index.writeInt(VERSION);
+            index.writeBoolean(decoded);
+            index.writeUTF(dataset.flag.name());
+            index.writeInt(dataset.getImageWidth().orElse(-1));
+            index.writeInt(dataset.getImageHeight().orElse(-1));
+            index.writeInt(classes.size());
+            for (String className : classes) {
+                index.writeUTF(className);
+            }
+            index.writeInt(Math.toIntExact(size));
+
+            OutputStream os = null;
+            int shard = -1;
+            long offset = 0;
+            try {
+                for (long i = 0; i < size; ++i) {
+                    byte[] image;
+                    byte[] labels;
+                    try (NDManager sub = manager.newSubManager()) {
+                        if (decoded) {
+                            image = dataset.getRecordImage(sub, i).encode();
+                        } else {
+                            image = encode(dataset, i);
+                        }
+                        // the labels are read without decoding the image
+                        labels = dataset.getRecordLabels(sub, i).encode();
+                    }
+                    long length = (long) image.length + labels.length;
+                    if (os == null || (offset > 0 && offset + length > shardSize)) {
+                        if (os != null) {
+                            os.close();
+                        }
+                        ++shard;
+                        Path file = outputDir.resolve(getShardName(shard));
+                        os = new BufferedOutputStream(Files.newOutputStream(file));
+                        offset = 0;
+                    }
+                    os.write(image);
+                    os.write(labels);
+                    index.writeInt(shard);
+                    index.writeInt(Math.toIntExact(offset));
+                    index.writeInt(image.length);
+                    index.writeInt(labels.length);
+                    offset += length;
+                    if (progress != null) {
+                        progress.increment(1);
+                    }
+                }
+            } finally {
+                if (os != null) {
+                    os.close();
+                }
+            }
+        }
+        if (progress != null) {
+            progress.end();
+        }
+    }
+
+    private static byte[] encode(ImageDataset dataset, long index) throws IOException {
+        Optional<Path> file = dataset.getImageFile(index);
+        if (file.isPresent()) {
+            return Files.readAllBytes(file.get());
+        }
+        Image image = dataset.getImage(index);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        image.save(bos, "png");
+        return bos.toByteArray();
+    }
+
+    /** A builder for the {@link ImageShardWriter}. */
+    public static final class Builder {
+
+        Path outputDir;
+        long shardSize = 256L * 1024 * 1024;
+        boolean decoded;
+
+        Builder() {}
+
+        /**
+         * Sets the directory to write the shards to.
+         *
+         * @param outputDir the directory to write the shards to
+         * @return this builder
+         */
+        public Builder setOutputDir(Path outputDir) {
+            this.outputDir = outputDir;
+            return this;
+        }
+
+        /**
+         * Sets the maximum size in bytes of a shard, the default is 256 MB.
+         *
+         * @param shardSize the maximum size in bytes of a shard
+         * @return this builder
+         */
+        public Builder optShardSize(long shardSize) {
+            if (shardSize <= 0 || shardSize > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Invalid shard size: " + shardSize);
+            }
+            this.shardSize = shardSize;
+            return this;
+        }
+
+        /**
+         * Sets whether to store the decoded and resized pixels instead of the encoded images.
+         *
+         * @param decoded whether to store the decoded pixels
+         * @return this builder
+         */
+        public Builder optDecoded(boolean decoded) {
+            this.decoded = decoded;
+            return this;
+        }
+
+        /**
+         * Builds the {@link ImageShardWriter}.
+         *
+         * @return the {@link ImageShardWriter}
+         */
+        public ImageShardWriter build() {
+            if (outputDir == null) {
+                throw new IllegalArgumentException("The output directory must be set.");
+            }
+            return new ImageShardWriter(this);
+        }
+    }
+}
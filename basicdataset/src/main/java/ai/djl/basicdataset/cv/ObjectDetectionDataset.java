@@ -41,7 +41,12 @@ public abstract class ObjectDetectionDataset extends ImageDataset {
     @Override
     public Record get(NDManager manager, long index) throws IOException {
         NDList data = new NDList(getRecordImage(manager, index));
+        return new Record(data, getRecordLabels(manager, index));
+    }
 
+    /** {@inheritDoc} */
+    @Override
+    protected NDList getRecordLabels(NDManager manager, long index) throws IOException {
         PairList<Long, Rectangle> objects = getObjects(index);
         float[][] labelsSplit = new float[objects.size()][5];
         for (int i = 0; i < objects.size(); i++) {
@@ -54,8 +59,7 @@ public abstract class ObjectDetectionDataset extends ImageDataset {
             labelsSplit[i][3] = (float) location.getWidth();
             labelsSplit[i][4] = (float) location.getHeight();
         }
-        NDList labels = new NDList(manager.create(labelsSplit));
-        return new Record(data, labels);
+        return new NDList(manager.create(labelsSplit));
     }
 
     /**
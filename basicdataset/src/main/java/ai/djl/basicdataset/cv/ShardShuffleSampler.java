@@ -0,0 +1,142 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.basicdataset.cv;
+
+import ai.djl.training.dataset.RandomAccessDataset;
+import ai.djl.training.dataset.RandomSampler;
+import ai.djl.training.dataset.Sampler;
+import ai.djl.util.RandomUtils;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * {@code ShardShuffleSampler} samples the records of an {@link ImageShardDataset} shard by shard.
+ *
+ * <p>The shards are visited in a random order and their records are read sequentially into a
+ * shuffle buffer, from which the records are sampled randomly. Compared to the {@link
+ * RandomSampler}, the reads stay mostly sequential, while the records are still well mixed as long
+ * as the buffer is large compared to a shard. For other datasets, it behaves like a {@link
+ * RandomSampler}.
+ */
+public class ShardShuffleSampler implements Sampler.SubSampler {
+
+    private int bufferSize;
+    private Integer seed;
+
+    /**
+     * Creates a new instance of {@code ShardShuffleSampler}.
+     *
+     * @param bufferSize the number of records in the shuffle buffer
+     */
+    public ShardShuffleSampler(int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive: " + bufferSize);
+        }
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Creates a new instance of {@code ShardShuffleSampler} with the given seed.
+     *
+     * @param bufferSize the number of records in the shuffle buffer
+     * @param seed the value of the seed
+     */
+    public ShardShuffleSampler(int bufferSize, int seed) {
+        this(bufferSize);
+        this.seed = seed;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Iterator<Long> sample(RandomAccessDataset dataset) {
+        if (!(dataset instanceof ImageShardDataset)) {
+            return seed == null
+                    ? new RandomSampler().sample(dataset)
+                    : new RandomSampler(seed).sample(dataset);
+        }
+        long[] boundaries = ((ImageShardDataset) dataset).getShardBoundaries();
+        Random rnd = seed == null ? RandomUtils.RANDOM : new Random(seed);
+        return new Iterate(boundaries, dataset.size(), rnd);
+    }
+
+    private final class Iterate implements Iterator<Long> {
+
+        private long[] boundaries;
+        private int[] shardOrder;
+        private long limit;
+        private Random rnd;
+        private long[] buffer;
+        private int bufferCount;
+        private int shard;
+        private long next;
+
+        Iterate(long[] boundaries, long limit, Random rnd) {
+            this.boundaries = boundaries;
+            this.limit = limit;
+            this.rnd = rnd;
+            int numShards = boundaries.length - 1;
+            shardOrder = new int[numShards];
+            for (int i = 0; i < numShards; ++i) {
+                shardOrder[i] = i;
+            }
+            for (int i = numShards - 1; i > 0; --i) {
+                int j = rnd.nextInt(i + 1);
+                int tmp = shardOrder[i];
+                shardOrder[i] = shardOrder[j];
+                shardOrder[j] = tmp;
+            }
+            buffer = new long[bufferSize];
+            if (numShards > 0) {
+                next = boundaries[shardOrder[0]];
+            }
+            fill();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean hasNext() {
+            return bufferCount > 0;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Long next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int i = rnd.nextInt(bufferCount);
+            long ret = buffer[i];
+            buffer[i] = buffer[--bufferCount];
+            fill();
+            return ret;
+        }
+
+        private void fill() {
+            while (bufferCount < buffer.length && shard < shardOrder.length) {
+                if (next >= boundaries[shardOrder[shard] + 1]) {
+                    // move on to the next shard
+                    if (++shard < shardOrder.length) {
+                        next = boundaries[shardOrder[shard]];
+                    }
+                    continue;
+                }
+                if (next < limit) {
+                    buffer[bufferCount++] = next;
+                }
+                ++next;
+            }
+        }
+    }
+}
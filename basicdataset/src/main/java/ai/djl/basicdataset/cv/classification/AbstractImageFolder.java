@@ -74,9 +74,20 @@ public abstract class AbstractImageFolder extends ImageClassificationDataset {
         ImageFactory imageFactory = ImageFactory.getInstance();
         Pair<String, Integer> item = items.get(Math.toIntExact(index));
         Path imagePath = getImagePath(item.getKey());
+        if (reducedDecoding && imageWidth != null && imageHeight != null) {
+            // the image is resized right after decoding
+            return imageFactory.fromFile(imagePath, imageWidth, imageHeight);
+        }
         return imageFactory.fromFile(imagePath);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    protected Optional<Path> getImageFile(long index) {
+        Pair<String, Integer> item = items.get(Math.toIntExact(index));
+        return Optional.of(getImagePath(item.getKey()));
+    }
+
     /** {@inheritDoc} */
     @Override
     protected long getClassNumber(long index) {
@@ -56,8 +56,13 @@ public abstract class ImageClassificationDataset extends ImageDataset {
     @Override
     public Record get(NDManager manager, long index) throws IOException {
         NDList data = new NDList(getRecordImage(manager, index));
-        NDList label = new NDList(manager.create(getClassNumber(index)));
-        return new Record(data, label);
+        return new Record(data, getRecordLabels(manager, index));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected NDList getRecordLabels(NDManager manager, long index) throws IOException {
+        return new NDList(manager.create(getClassNumber(index)));
     }
 
     /** {@inheritDoc} */
@@ -12,6 +12,8 @@
  */
 package ai.djl.basicdataset.tabular;
 
+import ai.djl.basicdataset.tabular.utils.Feature;
+import ai.djl.basicdataset.tabular.utils.PreparedFeaturizer;
 import ai.djl.util.Progress;
 
 import org.apache.commons.csv.CSVFormat;
@@ -27,6 +29,7 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.zip.GZIPInputStream;
@@ -38,33 +41,107 @@ public class CsvDataset extends TabularDataset {
     protected CSVFormat csvFormat;
     protected List<CSVRecord> csvRecords;
 
+    private int chunkSize;
+    private long chunkStart;
+    private long numRecords;
+    private List<String> columnNames;
+    private boolean prepared;
+
     protected CsvDataset(CsvBuilder<?> builder) {
         super(builder);
         csvUrl = builder.csvUrl;
         csvFormat = builder.csvFormat;
+        chunkSize = builder.chunkSize;
+        if (chunkSize > 0 && !cacheFeatures) {
+            throw new IllegalArgumentException("Reading the CSV file in chunks requires a cache.");
+        }
     }
 
     /** {@inheritDoc} */
     @Override
     protected String getCell(long rowIndex, String featureName) {
-        CSVRecord record = csvRecords.get(Math.toIntExact(rowIndex));
+        CSVRecord record = csvRecords.get(Math.toIntExact(rowIndex - chunkStart));
         return record.get(featureName);
     }
 
     /** {@inheritDoc} */
     @Override
     protected long availableSize() {
+        if (csvRecords == null) {
+            return numRecords;
+        }
         return csvRecords.size();
     }
 
     /** {@inheritDoc} */
     @Override
     public void prepare(Progress progress) throws IOException {
-        try (Reader reader = new InputStreamReader(getCsvStream(), StandardCharsets.UTF_8)) {
-            CSVParser csvParser = new CSVParser(reader, csvFormat);
-            csvRecords = csvParser.getRecords();
+        if (prepared) {
+            return;
+        }
+        if (chunkSize > 0) {
+            prepareChunks();
+        } else {
+            try (Reader reader = new InputStreamReader(getCsvStream(), StandardCharsets.UTF_8)) {
+                CSVParser csvParser = new CSVParser(reader, csvFormat);
+                csvRecords = csvParser.getRecords();
+            }
+            prepareFeaturizers();
+        }
+        prepared = true;
+    }
+
+    private void prepareChunks() throws IOException {
+        List<Feature> prepared = getPreparedFeatures();
+        if (!prepared.isEmpty()) {
+            // the prepared featurizers need all the values before featurizing any row
+            List<List<String>> inputs = new ArrayList<>(prepared.size());
+            for (int i = 0; i < prepared.size(); ++i) {
+                inputs.add(new ArrayList<>());
+            }
+            readChunks(
+                    () -> {
+                        for (int i = 0; i < prepared.size(); ++i) {
+                            String name = prepared.get(i).getName();
+                            for (long row = 0; row < csvRecords.size(); ++row) {
+                                inputs.get(i).add(getCell(chunkStart + row, name));
+                            }
+                        }
+                    });
+            for (int i = 0; i < prepared.size(); ++i) {
+                PreparedFeaturizer featurizer =
+                        (PreparedFeaturizer) prepared.get(i).getFeaturizer();
+                featurizer.prepare(inputs.get(i));
+            }
+        }
+        clearFeatureCache();
+        readChunks(() -> cacheRowFeatures(chunkStart, csvRecords.size()));
+    }
+
+    private void readChunks(Runnable consumer) throws IOException {
+        try (Reader reader = new InputStreamReader(getCsvStream(), StandardCharsets.UTF_8);
+                CSVParser csvParser = new CSVParser(reader, csvFormat)) {
+            columnNames = csvParser.getHeaderNames();
+            csvRecords = new ArrayList<>(chunkSize);
+            chunkStart = 0;
+            for (CSVRecord record : csvParser) {
+                csvRecords.add(record);
+                if (csvRecords.size() == chunkSize) {
+                    consumer.run();
+                    chunkStart += chunkSize;
+                    csvRecords.clear();
+                }
+            }
+            if (!csvRecords.isEmpty()) {
+                consumer.run();
+                chunkStart += csvRecords.size();
+            }
+            numRecords = chunkStart;
+        } finally {
+            // only the featurized values are kept
+            csvRecords = null;
+            chunkStart = 0;
         }
-        prepareFeaturizers();
     }
 
     private InputStream getCsvStream() throws IOException {
@@ -89,6 +166,9 @@ public class CsvDataset extends TabularDataset {
      * @return a list of column name
      */
     public List<String> getColumnNames() {
+        if (csvRecords == null) {
+            return columnNames == null ? Collections.emptyList() : columnNames;
+        }
         if (csvRecords.isEmpty()) {
             return Collections.emptyList();
         }
@@ -100,6 +180,7 @@ public class CsvDataset extends TabularDataset {
 
         protected URL csvUrl;
         protected CSVFormat csvFormat;
+        protected int chunkSize;
 
         /** {@inheritDoc} */
         @Override
@@ -149,6 +230,21 @@ public class CsvDataset extends TabularDataset {
             return self();
         }
 
+        /**
+         * Sets the number of records to parse at a time, for CSV files that don't fit in memory.
+         *
+         * <p>The records are featurized chunk by chunk and only the featurized values are kept,
+         * which requires {@link #optCacheFeatures(boolean)}. If the dataset has prepared
+         * featurizers, the file is parsed twice.
+         *
+         * @param chunkSize the number of records to parse at a time
+         * @return this builder
+         */
+        public T optChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+            return self();
+        }
+
         /**
          * Builds the new {@link CsvDataset}.
          *
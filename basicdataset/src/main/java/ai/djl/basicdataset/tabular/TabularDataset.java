@@ -16,23 +16,37 @@ import ai.djl.basicdataset.tabular.utils.DynamicBuffer;
 import ai.djl.basicdataset.tabular.utils.Feature;
 import ai.djl.basicdataset.tabular.utils.Featurizers;
 import ai.djl.basicdataset.tabular.utils.PreparedFeaturizer;
+import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDList;
 import ai.djl.ndarray.NDManager;
 import ai.djl.ndarray.types.Shape;
+import ai.djl.training.dataset.Batch;
+import ai.djl.training.dataset.DataIterable;
 import ai.djl.training.dataset.RandomAccessDataset;
 import ai.djl.training.dataset.Record;
+import ai.djl.training.dataset.Sampler;
+import ai.djl.translate.StackBatchifier;
+import ai.djl.translate.TranslateException;
 
+import java.io.IOException;
 import java.nio.FloatBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 /** A abstract class for creating tabular datasets. */
 public abstract class TabularDataset extends RandomAccessDataset {
 
+    private static final int CACHE_CHUNK_ROWS = 4096;
+
     protected List<Feature> features;
     protected List<Feature> labels;
+    protected boolean cacheFeatures;
+
+    private RowCache featureCache;
+    private RowCache labelCache;
 
     /**
      * Creates a new instance of {@link RandomAccessDataset} with the given necessary
@@ -44,6 +58,7 @@ public abstract class TabularDataset extends RandomAccessDataset {
         super(builder);
         features = builder.features;
         labels = builder.labels;
+        cacheFeatures = builder.cacheFeatures;
 
         if (features.isEmpty()) {
             throw new IllegalArgumentException("Missing features.");
@@ -74,6 +89,17 @@ public abstract class TabularDataset extends RandomAccessDataset {
     /** {@inheritDoc} */
     @Override
     public Record get(NDManager manager, long index) {
+        if (featureCache != null) {
+            NDList data = new NDList(featureCache.getRow(manager, index));
+            NDList label;
+            if (labels.isEmpty()) {
+                label = new NDList();
+            } else {
+                label = new NDList(labelCache.getRow(manager, index));
+            }
+            return new Record(data, label);
+        }
+
         NDList data = getRowFeatures(manager, index, features);
 
         NDList label;
@@ -105,21 +131,99 @@ public abstract class TabularDataset extends RandomAccessDataset {
         return new NDList(manager.create(buf, new Shape(bb.getLength())));
     }
 
-    /** Prepares the {@link ai.djl.basicdataset.tabular.utils.PreparedFeaturizer}s. */
+    /** {@inheritDoc} */
+    @Override
+    public Iterable<Batch> getData(
+            NDManager manager, Sampler sampler, ExecutorService executorService)
+            throws IOException, TranslateException {
+        prepare();
+        if (featureCache == null
+                || pipeline != null
+                || targetPipeline != null
+                || !(dataBatchifier instanceof StackBatchifier)
+                || !(labelBatchifier instanceof StackBatchifier)) {
+            return super.getData(manager, sampler, executorService);
+        }
+        return new CachedDataIterable(manager, sampler, executorService);
+    }
+
+    /**
+     * Prepares the {@link ai.djl.basicdataset.tabular.utils.PreparedFeaturizer}s.
+     *
+     * <p>If the features are cached, all the rows are featurized once into the cache.
+     */
     protected void prepareFeaturizers() {
         int availableSize = Math.toIntExact(availableSize());
-        List<Feature> featuresToPrepare = new ArrayList<>(features.size() + labels.size());
-        featuresToPrepare.addAll(features);
-        featuresToPrepare.addAll(labels);
-        for (Feature feature : featuresToPrepare) {
+        for (Feature feature : getPreparedFeatures()) {
+            PreparedFeaturizer featurizer = (PreparedFeaturizer) feature.getFeaturizer();
+            List<String> inputs = new ArrayList<>(Math.toIntExact(availableSize));
+            for (int i = 0; i < availableSize; i++) {
+                inputs.add(getCell(i, feature.getName()));
+            }
+            featurizer.prepare(inputs);
+        }
+        if (cacheFeatures) {
+            clearFeatureCache();
+            for (int start = 0; start < availableSize; start += CACHE_CHUNK_ROWS) {
+                cacheRowFeatures(start, Math.min(CACHE_CHUNK_ROWS, availableSize - start));
+            }
+        }
+    }
+
+    /**
+     * Returns the features and labels that have a {@link PreparedFeaturizer}.
+     *
+     * @return the features and labels that have a {@link PreparedFeaturizer}
+     */
+    protected List<Feature> getPreparedFeatures() {
+        List<Feature> prepared = new ArrayList<>();
+        for (Feature feature : features) {
+            if (feature.getFeaturizer() instanceof PreparedFeaturizer) {
+                prepared.add(feature);
+            }
+        }
+        for (Feature feature : labels) {
             if (feature.getFeaturizer() instanceof PreparedFeaturizer) {
-                PreparedFeaturizer featurizer = (PreparedFeaturizer) feature.getFeaturizer();
-                List<String> inputs = new ArrayList<>(Math.toIntExact(availableSize));
-                for (int i = 0; i < availableSize; i++) {
-                    inputs.add(getCell(i, feature.getName()));
+                prepared.add(feature);
+            }
+        }
+        return prepared;
+    }
+
+    /** Removes all the rows from the feature cache. */
+    protected void clearFeatureCache() {
+        featureCache = new RowCache();
+        labelCache = new RowCache();
+    }
+
+    /**
+     * Featurizes the given rows and appends them to the feature cache.
+     *
+     * <p>The rows must be appended in order, so the dataset can read the rows from its source in
+     * chunks and only keep the featurized values.
+     *
+     * @param start the index of the first row to read with {@link #getCell(long, String)}
+     * @param count the number of rows
+     */
+    protected void cacheRowFeatures(long start, int count) {
+        DynamicBuffer bb = new DynamicBuffer();
+        for (int i = 0; i < count; ++i) {
+            for (Feature feature : features) {
+                String value = getCell(start + i, feature.getName());
+                feature.getFeaturizer().featurize(bb, value);
+            }
+        }
+        featureCache.append(bb, count);
+
+        if (!labels.isEmpty()) {
+            bb = new DynamicBuffer();
+            for (int i = 0; i < count; ++i) {
+                for (Feature feature : labels) {
+                    String value = getCell(start + i, feature.getName());
+                    feature.getFeaturizer().featurize(bb, value);
                 }
-                featurizer.prepare(inputs);
             }
+            labelCache.append(bb, count);
         }
     }
 
@@ -132,6 +236,116 @@ public abstract class TabularDataset extends RandomAccessDataset {
      */
     protected abstract String getCell(long rowIndex, String featureName);
 
+    /** A {@link DataIterable} that gathers the cached rows of a batch into a single array. */
+    private final class CachedDataIterable extends DataIterable {
+
+        CachedDataIterable(NDManager manager, Sampler sampler, ExecutorService executor) {
+            super(
+                    TabularDataset.this,
+                    manager,
+                    sampler,
+                    TabularDataset.this.dataBatchifier,
+                    TabularDataset.this.labelBatchifier,
+                    null,
+                    null,
+                    executor,
+                    TabularDataset.this.prefetchNumber,
+                    TabularDataset.this.device);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected Batch fetch(List<Long> indices, int progress) {
+            NDManager subManager = manager.newSubManager();
+            subManager.setName("dataIter fetch");
+            int batchSize = indices.size();
+            NDList batchData = new NDList(featureCache.gather(subManager, indices));
+            NDList batchLabels;
+            if (labels.isEmpty()) {
+                batchLabels = new NDList();
+            } else {
+                batchLabels = new NDList(labelCache.gather(subManager, indices));
+            }
+            // pin to a specific device
+            if (device != null) {
+                batchData = batchData.toDevice(device, false);
+                batchLabels = batchLabels.toDevice(device, false);
+            }
+            return new Batch(
+                    subManager,
+                    batchData,
+                    batchLabels,
+                    batchSize,
+                    dataBatchifier,
+                    labelBatchifier,
+                    progress,
+                    dataset.size(),
+                    indices);
+        }
+    }
+
+    /**
+     * Stores the featurized rows in fixed size blocks, so the number of cached values is not
+     * limited by the size of a single array.
+     */
+    private static final class RowCache {
+
+        private static final int BLOCK_SIZE = 1 << 20;
+
+        private List<float[]> blocks = new ArrayList<>();
+        private int width = -1;
+        private int rowsPerBlock;
+        private long rows;
+
+        void append(DynamicBuffer bb, int count) {
+            if (count == 0) {
+                return;
+            }
+            int length = bb.getLength();
+            if (length % count != 0 || (width >= 0 && length / count != width)) {
+                throw new IllegalStateException(
+                        "The features must have the same size in every row.");
+            }
+            if (width < 0) {
+                width = length / count;
+                rowsPerBlock = Math.max(1, BLOCK_SIZE / Math.max(1, width));
+            }
+            FloatBuffer buf = bb.getBuffer();
+            for (int i = 0; i < count; ++i) {
+                int slot = (int) (rows % rowsPerBlock);
+                if (slot == 0) {
+                    blocks.add(new float[Math.multiplyExact(rowsPerBlock, width)]);
+                }
+                buf.get(blocks.get(blocks.size() - 1), slot * width, width);
+                ++rows;
+            }
+        }
+
+        NDArray getRow(NDManager manager, long row) {
+            float[] values = new float[Math.max(width, 0)];
+            copyRow(row, values, 0);
+            return manager.create(values);
+        }
+
+        NDArray gather(NDManager manager, List<Long> indices) {
+            float[] buf = new float[Math.multiplyExact(indices.size(), width)];
+            for (int i = 0; i < indices.size(); ++i) {
+                copyRow(indices.get(i), buf, i * width);
+            }
+            return manager.create(buf, new Shape(indices.size(), width));
+        }
+
+        private void copyRow(long row, float[] dest, int offset) {
+            if (row < 0 || row >= rows) {
+                throw new IndexOutOfBoundsException(
+                        "Row " + row + " is out of the " + rows + " cached rows.");
+            }
+            float[] block = blocks.get(Math.toIntExact(row / rowsPerBlock));
+            int position = (int) (row % rowsPerBlock) * width;
+            System.arraycopy(block, position, dest, offset, width);
+        }
+    }
+
     /**
      * Used to build a {@link TabularDataset}.
      *
@@ -143,6 +357,7 @@ public abstract class TabularDataset extends RandomAccessDataset {
         protected List<Feature> features;
         protected List<Feature> labels;
         protected boolean allowNoLabels;
+        protected boolean cacheFeatures;
 
         protected BaseBuilder() {
             features = new ArrayList<>();
@@ -290,6 +505,22 @@ public abstract class TabularDataset extends RandomAccessDataset {
             return self();
         }
 
+        /**
+         * Sets whether to featurize all the rows once at prepare time and to keep the featurized
+         * values in memory.
+         *
+         * <p>This avoids parsing the cells again in every epoch. When the dataset has no {@link
+         * ai.djl.translate.Pipeline} and uses the default {@link StackBatchifier}, the rows of a
+         * batch are gathered directly into a single array.
+         *
+         * @param cacheFeatures true to cache the featurized rows
+         * @return this builder
+         */
+        public T optCacheFeatures(boolean cacheFeatures) {
+            this.cacheFeatures = cacheFeatures;
+            return self();
+        }
+
         /**
          * Indicates the dataset should not have any labels.
          *
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.basicdataset;
+
+import ai.djl.basicdataset.tabular.CsvDataset;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.Shape;
+import ai.djl.training.dataset.Batch;
+import ai.djl.training.dataset.Record;
+import ai.djl.translate.TranslateException;
+
+import org.apache.commons.csv.CSVFormat;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+
+public class CsvDatasetTest {
+
+    @Test
+    public void testFeatureCache() throws IOException, TranslateException {
+        Path csvFile = Paths.get("build/test_cache.csv");
+        Files.createDirectories(csvFile.getParent());
+        StringBuilder sb = new StringBuilder("x,color,y\n");
+        String[] colors = {"red", "green", "blue"};
+        for (int i = 0; i < 10; ++i) {
+            sb.append(i).append(',').append(colors[i % 3]).append(',').append(i * 2).append('\n');
+        }
+        Files.write(csvFile, sb.toString().getBytes(StandardCharsets.UTF_8));
+
+        CSVFormat format =
+                CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build();
+        CsvDataset expected = newDataset(csvFile, format, false, 0);
+        CsvDataset cached = newDataset(csvFile, format, true, 0);
+        CsvDataset chunked = newDataset(csvFile, format, true, 3);
+        expected.prepare();
+        cached.prepare();
+        chunked.prepare();
+        Assert.assertEquals(chunked.size(), 10);
+        Assert.assertEquals(chunked.getColumnNames(), expected.getColumnNames());
+
+        try (NDManager manager = NDManager.newBaseManager()) {
+            for (int i = 0; i < 10; ++i) {
+                Record record = expected.get(manager, i);
+                Record cachedRecord = cached.get(manager, i);
+                Record chunkedRecord = chunked.get(manager, i);
+                Assert.assertEquals(cachedRecord.getData(), record.getData());
+                Assert.assertEquals(chunkedRecord.getData(), record.getData());
+                Assert.assertEquals(chunkedRecord.getLabels(), record.getLabels());
+            }
+
+            Iterator<Batch> it = chunked.getData(manager).iterator();
+            Batch batch = it.next();
+            Assert.assertEquals(batch.getData().head().getShape(), new Shape(4, 4));
+            Assert.assertEquals(batch.getLabels().head().getShape(), new Shape(4, 1));
+            Assert.assertEquals(
+                    batch.getData().head().get(1), expected.get(manager, 1).getData().head());
+            batch.close();
+        }
+        Files.delete(csvFile);
+
+        // the file is parsed once, not at every epoch
+        expected.prepare();
+        chunked.prepare();
+        Assert.assertEquals(chunked.size(), 10);
+    }
+
+    private static CsvDataset newDataset(
+            Path csvFile, CSVFormat format, boolean cache, int chunkSize) {
+        return CsvDataset.builder()
+                .optCsvFile(csvFile)
+                .setCsvFormat(format)
+                .addNumericFeature("x")
+                .addCategoricalFeature("color")
+                .addNumericLabel("y")
+                .optCacheFeatures(cache)
+                .optChunkSize(chunkSize)
+                .setSampling(4, false)
+                .build();
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.basicdataset;
+
+import ai.djl.basicdataset.cv.ImageShardDataset;
+import ai.djl.basicdataset.cv.ImageShardWriter;
+import ai.djl.basicdataset.cv.ShardShuffleSampler;
+import ai.djl.basicdataset.cv.classification.ImageFolder;
+import ai.djl.modality.cv.Image;
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.Shape;
+import ai.djl.training.dataset.Record;
+import ai.djl.translate.TranslateException;
+import ai.djl.util.Utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+public class ImageShardDatasetTest {
+
+    @Test
+    public void testImageShardDataset() throws IOException, TranslateException {
+        Path shardDir = Paths.get("build/image_shards");
+        Utils.deleteQuietly(shardDir);
+        ImageFolder folder =
+                ImageFolder.builder()
+                        .setRepositoryPath("src/test/resources/imagefolder")
+                        .optImageSize(32)
+                        .setSampling(1, false)
+                        .build();
+        // a small shard size puts each image in its own shard
+        ImageShardWriter.builder()
+                .setOutputDir(shardDir)
+                .optShardSize(1024)
+                .optDecoded(true)
+                .build()
+                .write(folder, null);
+        Assert.assertTrue(Files.exists(shardDir.resolve("shard-00002.bin")));
+
+        ImageShardDataset dataset =
+                ImageShardDataset.builder()
+                        .setRepositoryPath(shardDir)
+                        .setSampling(1, false)
+                        .build();
+        dataset.prepare();
+        Assert.assertEquals(dataset.size(), 3);
+        Assert.assertEquals(dataset.getClasses(), folder.getClasses());
+        try (NDManager manager = NDManager.newBaseManager()) {
+            for (int i = 0; i < 3; ++i) {
+                Record expected = folder.get(manager, i);
+                Record record = dataset.get(manager, i);
+                Assert.assertEquals(record.getData().head(), expected.getData().head());
+                Assert.assertEquals(record.getLabels().head(), expected.getLabels().head());
+            }
+        }
+
+        Iterator<Long> it = new ShardShuffleSampler(2, 1).sample(dataset);
+        List<Long> indices = new ArrayList<>();
+        it.forEachRemaining(indices::add);
+        Assert.assertEquals(indices.size(), 3);
+        Assert.assertTrue(indices.containsAll(Arrays.asList(0L, 1L, 2L)));
+
+        // the requested color mode is honoured for the pre-decoded pixels
+        dataset =
+                ImageShardDataset.builder()
+                        .setRepositoryPath(shardDir)
+                        .optFlag(Image.Flag.GRAYSCALE)
+                        .setSampling(1, false)
+                        .build();
+        dataset.prepare();
+        try (NDManager manager = NDManager.newBaseManager()) {
+            NDArray image = dataset.get(manager, 0).getData().head();
+            Assert.assertEquals(image.getShape(), new Shape(32, 32, 1));
+        }
+        Utils.deleteQuietly(shardDir);
+    }
+
+    @Test
+    public void testEncodedImageShardDataset() throws IOException, TranslateException {
+        Path shardDir = Paths.get("build/encoded_image_shards");
+        Utils.deleteQuietly(shardDir);
+        ImageFolder folder =
+                ImageFolder.builder()
+                        .setRepositoryPath("src/test/resources/imagefolder")
+                        .optImageSize(32)
+                        .setSampling(1, false)
+                        .build();
+        ImageShardWriter.builder().setOutputDir(shardDir).build().write(folder, null);
+
+        ImageShardDataset dataset =
+                ImageShardDataset.builder()
+                        .setRepositoryPath(shardDir)
+                        .setSampling(1, false)
+                        .build();
+        dataset.prepare();
+        Assert.assertFalse(dataset.isDecoded());
+        Assert.assertEquals(dataset.size(), 3);
+        Assert.assertEquals(dataset.getClasses(), folder.getClasses());
+        try (NDManager manager = NDManager.newBaseManager()) {
+            for (int i = 0; i < 3; ++i) {
+                Record expected = folder.get(manager, i);
+                Record record = dataset.get(manager, i);
+                // the original image files are decoded and resized when reading the shards
+                Assert.assertEquals(record.getData().head().getShape(), new Shape(32, 32, 3));
+                Assert.assertEquals(record.getLabels().head(), expected.getLabels().head());
+            }
+        }
+        Utils.deleteQuietly(shardDir);
+    }
+}
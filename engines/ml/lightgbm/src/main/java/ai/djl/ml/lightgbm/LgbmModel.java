@@ -55,6 +55,10 @@ public class LgbmModel extends BaseModel {
             }
         }
         block = JniUtils.loadModel((LgbmNDManager) manager, modelFile.toAbsolutePath().toString());
+        if (options != null && options.containsKey("NumThreads")) {
+            ((LgbmSymbolBlock) block)
+                    .setThreads(Integer.parseInt((String) options.get("NumThreads")));
+        }
     }
 
     private Path findModelFile(String prefix) {
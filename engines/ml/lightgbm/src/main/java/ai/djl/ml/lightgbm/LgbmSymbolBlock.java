@@ -15,16 +15,17 @@ package ai.djl.ml.lightgbm;
 import ai.djl.ml.lightgbm.jni.JniUtils;
 import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.types.DataType;
 import ai.djl.ndarray.types.Shape;
 import ai.djl.nn.AbstractSymbolBlock;
 import ai.djl.nn.ParameterList;
 import ai.djl.nn.SymbolBlock;
 import ai.djl.training.ParameterStore;
-import ai.djl.util.Pair;
 import ai.djl.util.PairList;
 
 import com.microsoft.ml.lightgbm.SWIGTYPE_p_p_void;
 
+import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -33,6 +34,8 @@ public class LgbmSymbolBlock extends AbstractSymbolBlock implements AutoCloseabl
 
     private AtomicReference<SWIGTYPE_p_p_void> handle;
     private int iterations;
+    private int numClasses;
+    private String parameters;
     private String uid;
     private LgbmNDManager manager;
 
@@ -50,6 +53,8 @@ public class LgbmSymbolBlock extends AbstractSymbolBlock implements AutoCloseabl
         this.handle = new AtomicReference<>(handle);
         this.iterations = iterations;
         this.manager = manager;
+        numClasses = JniUtils.getNumClasses(handle);
+        parameters = "";
         uid = String.valueOf(handle);
         manager.attachInternal(uid, this);
     }
@@ -62,18 +67,46 @@ public class LgbmSymbolBlock extends AbstractSymbolBlock implements AutoCloseabl
             boolean training,
             PairList<String, Object> params) {
         NDArray array = inputs.singletonOrThrow();
-        try (LgbmNDManager sub = (LgbmNDManager) manager.newSubManager()) {
-            LgbmNDArray lgbmNDArray = sub.from(array);
-            Pair<Integer, ByteBuffer> result =
-                    JniUtils.inference(handle.get(), iterations, lgbmNDArray);
+        NDArray features = array;
+        if (features instanceof LgbmDataset) {
+            features = JniUtils.toMatrix(features);
+        }
+        DataType dataType = features.getDataType();
+        if (dataType != DataType.FLOAT32 && dataType != DataType.FLOAT64) {
+            throw new IllegalArgumentException(
+                    "Unexpected data type for LightGBM inference. Expected Float32 or Float64,"
+                            + " but found "
+                            + dataType);
+        }
+        int length = Math.toIntExact(features.getShape().get(0)) * numClasses;
+        ByteBuffer buf = manager.allocateDirect(length * dataType.getNumOfBytes());
+        Buffer output = dataType == DataType.FLOAT64 ? buf.asDoubleBuffer() : buf.asFloatBuffer();
+        predict(features, output);
+
+        NDArray ret = manager.create(buf, new Shape(length), dataType);
+        ret.attach(array.getManager());
+        return new NDList(ret);
+    }
 
-            NDArray ret =
-                    manager.create(
-                            result.getValue(),
-                            new Shape(result.getKey()),
-                            lgbmNDArray.getDataType());
-            ret.attach(array.getManager());
-            return new NDList(ret);
+    /**
+     * Runs the prediction and writes the result into the given buffer.
+     *
+     * <p>Unlike {@link #forward(ParameterStore, NDList, boolean)}, this does not create an output
+     * {@link NDArray}, so the caller can reuse the same output buffer across calls. A {@link
+     * LgbmNDArray} or {@link LgbmDataset} input is passed to LightGBM without being converted.
+     *
+     * @param features the 2-D float32 or float64 feature matrix, one row per sample
+     * @param output the {@code FloatBuffer} or {@code DoubleBuffer} to write the predictions to,
+     *     starting at its position
+     * @return the number of values written
+     * @throws IllegalArgumentException if the output buffer is too small
+     */
+    public int predict(NDArray features, Buffer output) {
+        if (features instanceof LgbmNDArray || features instanceof LgbmDataset) {
+            return predict(JniUtils.toMatrix(features), output);
+        }
+        try (LgbmNDManager sub = (LgbmNDManager) manager.newSubManager()) {
+            return predict(sub.from(features), output);
         }
     }
 
@@ -101,6 +134,17 @@ public class LgbmSymbolBlock extends AbstractSymbolBlock implements AutoCloseabl
         return pointer;
     }
 
+    void setThreads(int threads) {
+        // LightGBM splits the rows of a prediction across its own threads
+        parameters = "num_threads=" + threads;
+    }
+
+    private int predict(LgbmNDArray matrix, Buffer output) {
+        int length = matrix.getRows() * numClasses;
+        JniUtils.inferenceMat(getHandle(), iterations, matrix, length, parameters, output);
+        return length;
+    }
+
     /** {@inheritDoc} */
     @Override
     public ParameterList getDirectParameters() {
@@ -18,8 +18,6 @@ import ai.djl.ml.lightgbm.LgbmNDArray;
 import ai.djl.ml.lightgbm.LgbmNDManager;
 import ai.djl.ml.lightgbm.LgbmSymbolBlock;
 import ai.djl.ndarray.NDArray;
-import ai.djl.ndarray.types.DataType;
-import ai.djl.util.Pair;
 
 import com.microsoft.ml.lightgbm.SWIGTYPE_p_double;
 import com.microsoft.ml.lightgbm.SWIGTYPE_p_int;
@@ -28,7 +26,7 @@ import com.microsoft.ml.lightgbm.SWIGTYPE_p_p_void;
 import com.microsoft.ml.lightgbm.lightgbmlib;
 import com.microsoft.ml.lightgbm.lightgbmlibJNI;
 
-import java.nio.ByteBuffer;
+import java.nio.Buffer;
 import java.nio.DoubleBuffer;
 import java.nio.FloatBuffer;
 
@@ -59,8 +57,19 @@ public final class JniUtils {
         checkCall(result);
     }
 
-    public static Pair<Integer, ByteBuffer> inference(
-            SWIGTYPE_p_p_void model, int iterations, NDArray a) {
+    public static int getNumClasses(SWIGTYPE_p_p_void model) {
+        SWIGTYPE_p_int outp = lightgbmlib.new_intp();
+        try {
+            int result =
+                    lightgbmlib.LGBM_BoosterGetNumClasses(lightgbmlib.voidpp_value(model), outp);
+            checkCall(result);
+            return lightgbmlib.intp_value(outp);
+        } finally {
+            lightgbmlib.delete_intp(outp);
+        }
+    }
+
+    public static LgbmNDArray toMatrix(NDArray a) {
         if (a instanceof LgbmDataset) {
             LgbmDataset dataset = (LgbmDataset) a;
             switch (dataset.getSrcType()) {
@@ -68,23 +77,36 @@ public final class JniUtils {
                     throw new IllegalArgumentException(
                             "LightGBM can only do inference with an Array LightGBMDataset");
                 case ARRAY:
-                    return inferenceMat(model, iterations, dataset.getSrcArrayConverted());
+                    return dataset.getSrcArrayConverted();
                 default:
                     throw new IllegalArgumentException("Unexpected LgbmDataset SrcType");
             }
         }
         if (a instanceof LgbmNDArray) {
-            return inferenceMat(model, iterations, (LgbmNDArray) a);
+            return (LgbmNDArray) a;
         }
         throw new IllegalArgumentException("LightGBM inference must be called with a LgbmNDArray");
     }
 
-    public static Pair<Integer, ByteBuffer> inferenceMat(
-            SWIGTYPE_p_p_void model, int iterations, LgbmNDArray a) {
+    public static void inferenceMat(
+            SWIGTYPE_p_p_void model,
+            int iterations,
+            LgbmNDArray a,
+            int length,
+            String parameters,
+            Buffer output) {
+        if (!(output instanceof FloatBuffer) && !(output instanceof DoubleBuffer)) {
+            throw new IllegalArgumentException(
+                    "LightGBM output must be a FloatBuffer or a DoubleBuffer");
+        }
+        if (output.remaining() < length) {
+            throw new IllegalArgumentException(
+                    "Output buffer is too small, expected " + length + " elements.");
+        }
         SWIGTYPE_p_long_long outLength = lightgbmlib.new_int64_tp();
         SWIGTYPE_p_double outBuffer = null;
         try {
-            outBuffer = lightgbmlib.new_doubleArray(2L * a.getRows());
+            outBuffer = lightgbmlib.new_doubleArray(length);
             int result =
                     lightgbmlib.LGBM_BoosterPredictForMat(
                             lightgbmlib.voidpp_value(model),
@@ -96,32 +118,21 @@ public final class JniUtils {
                             lightgbmlibJNI.C_API_PREDICT_NORMAL_get(),
                             0,
                             iterations,
-                            "",
+                            parameters,
                             outLength,
                             outBuffer);
             checkCall(result);
-            int length = Math.toIntExact(lightgbmlib.int64_tp_value(outLength));
-            if (a.getDataType() == DataType.FLOAT32) {
-                ByteBuffer bb = ByteBuffer.allocateDirect(length * 4);
-                FloatBuffer wrapped = bb.asFloatBuffer();
-                for (int i = 0; i < length; i++) {
-                    wrapped.put((float) lightgbmlib.doubleArray_getitem(outBuffer, i));
-                }
-                bb.rewind();
-                return new Pair<>(length, bb);
-            } else if (a.getDataType() == DataType.FLOAT64) {
-                ByteBuffer bb = ByteBuffer.allocateDirect(length * 8);
-                DoubleBuffer wrapped = bb.asDoubleBuffer();
-                for (int i = 0; i < length; i++) {
-                    wrapped.put(lightgbmlib.doubleArray_getitem(outBuffer, i));
+            int size = Math.toIntExact(lightgbmlib.int64_tp_value(outLength));
+            if (output instanceof FloatBuffer) {
+                FloatBuffer fb = (FloatBuffer) output;
+                for (int i = 0; i < size; i++) {
+                    fb.put((float) lightgbmlib.doubleArray_getitem(outBuffer, i));
                 }
-                bb.rewind();
-                return new Pair<>(length, bb);
             } else {
-                throw new IllegalArgumentException(
-                        "Unexpected data type for LightGBM inference. Expected Float32 or Float64,"
-                                + " but found "
-                                + a.getDataType());
+                DoubleBuffer db = (DoubleBuffer) output;
+                for (int i = 0; i < size; i++) {
+                    db.put(lightgbmlib.doubleArray_getitem(outBuffer, i));
+                }
             }
         } catch (EngineException e) {
             throw new EngineException("Failed to run inference using LightGBM native engine", e);
@@ -23,6 +23,7 @@ import ai.djl.ndarray.types.Shape;
 import ai.djl.repository.zoo.Criteria;
 import ai.djl.repository.zoo.ZooModel;
 import ai.djl.testing.TestRequirements;
+import ai.djl.training.ParameterStore;
 import ai.djl.training.util.DownloadUtils;
 import ai.djl.translate.TranslateException;
 
@@ -30,6 +31,7 @@ import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.io.IOException;
+import java.nio.FloatBuffer;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
@@ -57,6 +59,21 @@ public class LgbmModelTest {
                 NDList output = predictor.predict(new NDList(array));
                 Assert.assertEquals(output.singletonOrThrow().getDataType(), DataType.FLOAT32);
                 Assert.assertEquals(output.singletonOrThrow().getShape().size(), 10);
+
+                // write the predictions into a caller provided buffer
+                LgbmSymbolBlock block = (LgbmSymbolBlock) model.getBlock();
+                FloatBuffer fb = FloatBuffer.allocate(10);
+                Assert.assertEquals(block.predict(array, fb), 10);
+                Assert.assertEquals(fb.array(), output.singletonOrThrow().toFloatArray());
+                Assert.assertThrows(
+                        IllegalArgumentException.class,
+                        () -> block.predict(array, FloatBuffer.allocate(5)));
+
+                // only float32 and float64 features are supported
+                NDList ints = new NDList(manager.ones(new Shape(10, 4), DataType.INT32));
+                Assert.assertThrows(
+                        IllegalArgumentException.class,
+                        () -> block.forward(new ParameterStore(), ints, false));
             }
         }
     }
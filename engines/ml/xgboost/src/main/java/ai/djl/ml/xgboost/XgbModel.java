@@ -69,6 +69,11 @@ public class XgbModel extends BaseModel {
                 ((XgbSymbolBlock) block)
                         .setTreeLimit(Integer.parseInt((String) options.get("TreeLimit")));
             }
+            if (options.containsKey("NumThreads")) {
+                // XGBoost splits the rows of a prediction across its own threads
+                ((XgbSymbolBlock) block)
+                        .setThreads(Integer.parseInt((String) options.get("NumThreads")));
+            }
         }
     }
 
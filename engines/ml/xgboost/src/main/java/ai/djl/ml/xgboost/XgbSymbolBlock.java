@@ -25,6 +25,7 @@ import ai.djl.util.PairList;
 import ml.dmlc.xgboost4j.java.JniUtils;
 
 import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
 import java.util.concurrent.atomic.AtomicReference;
 
 /** {@code XgbSymbolBlock} is the XGBoost implementation of {@link SymbolBlock}. */
@@ -62,18 +63,38 @@ public class XgbSymbolBlock extends AbstractSymbolBlock implements AutoCloseable
             boolean training,
             PairList<String, Object> params) {
         NDArray array = inputs.singletonOrThrow();
-        try (XgbNDManager sub = (XgbNDManager) manager.newSubManager()) {
-            XgbNDArray xgbNDArray = sub.from(array);
-            // TODO: return DirectBuffer from JNI to avoid copy
-            float[] result = JniUtils.inference(this, xgbNDArray, treeLimit, mode);
-            ByteBuffer buf = manager.allocateDirect(result.length * 4);
-            buf.asFloatBuffer().put(result);
-            buf.rewind();
-
-            NDArray ret = manager.create(buf, new Shape(result.length), DataType.FLOAT32);
-            ret.attach(array.getManager());
-            return new NDList(ret);
+        // XGBoost JNI returns the predictions as a float array
+        float[] result = predict(array);
+        ByteBuffer buf = manager.allocateDirect(result.length * 4);
+        buf.asFloatBuffer().put(result);
+        buf.rewind();
+
+        NDArray ret = manager.create(buf, new Shape(result.length), DataType.FLOAT32);
+        ret.attach(array.getManager());
+        return new NDList(ret);
+    }
+
+    /**
+     * Runs the prediction and writes the result into the given buffer.
+     *
+     * <p>Unlike {@link #forward(ParameterStore, NDList, boolean)}, this does not create an output
+     * {@link NDArray}, so the caller can reuse the same output buffer across calls. An input
+     * created from a direct {@code ByteBuffer} by the {@link XgbNDManager} is passed to XGBoost
+     * without being copied.
+     *
+     * @param features the 2-D float32 feature matrix, one row per sample
+     * @param output the buffer to write the predictions to, starting at its position
+     * @return the number of values written
+     * @throws IllegalArgumentException if the output buffer is too small
+     */
+    public int predict(NDArray features, FloatBuffer output) {
+        float[] result = predict(features);
+        if (output.remaining() < result.length) {
+            throw new IllegalArgumentException(
+                    "Output buffer is too small, expected " + result.length + " elements.");
         }
+        output.put(result);
+        return result.length;
     }
 
     /** {@inheritDoc} */
@@ -100,6 +121,10 @@ public class XgbSymbolBlock extends AbstractSymbolBlock implements AutoCloseable
         return reference;
     }
 
+    void setThreads(int threads) {
+        JniUtils.setParam(this, "nthread", String.valueOf(threads));
+    }
+
     void setMode(Mode mode) {
         this.mode = mode;
     }
@@ -108,6 +133,15 @@ public class XgbSymbolBlock extends AbstractSymbolBlock implements AutoCloseable
         this.treeLimit = treeLimit;
     }
 
+    private float[] predict(NDArray array) {
+        if (array instanceof XgbNDArray) {
+            return JniUtils.inference(this, (XgbNDArray) array, treeLimit, mode);
+        }
+        try (XgbNDManager sub = (XgbNDManager) manager.newSubManager()) {
+            return JniUtils.inference(this, sub.from(array), treeLimit, mode);
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public ParameterList getDirectParameters() {
@@ -86,6 +86,10 @@ public final class JniUtils {
         return output[0];
     }
 
+    public static void setParam(XgbSymbolBlock block, String key, String value) {
+        checkCall(XGBoostJNI.XGBoosterSetParam(block.getHandle(), key, value));
+    }
+
     public static void deleteModel(long handle) {
         checkCall(XGBoostJNI.XGBoosterFree(handle));
     }
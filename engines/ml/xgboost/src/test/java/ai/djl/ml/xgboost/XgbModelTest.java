@@ -85,6 +85,12 @@ public class XgbModelTest {
                 NDList output = predictor.predict(new NDList(array));
                 Assert.assertEquals(output.singletonOrThrow().getDataType(), DataType.FLOAT32);
                 Assert.assertEquals(output.singletonOrThrow().toFloatArray().length, 10);
+
+                // write the predictions into a caller provided buffer
+                XgbSymbolBlock block = (XgbSymbolBlock) model.getBlock();
+                FloatBuffer fb = FloatBuffer.allocate(10);
+                Assert.assertEquals(block.predict(array, fb), 10);
+                Assert.assertEquals(fb.array(), output.singletonOrThrow().toFloatArray());
             }
         }
     }
@@ -16,6 +16,7 @@ import ai.djl.BaseModel;
 import ai.djl.Device;
 import ai.djl.MalformedModelException;
 import ai.djl.Model;
+import ai.djl.engine.CpuTopology;
 import ai.djl.ndarray.NDManager;
 import ai.djl.ndarray.types.DataType;
 import ai.djl.util.Utils;
@@ -144,6 +145,11 @@ public class OrtModel extends BaseModel {
     }
 
     private SessionOptions getSessionOptions(Map<String, ?> options) throws OrtException {
+        CpuTopology topology = CpuTopology.getInstance();
+        if (topology.getCpuQuota() > 0) {
+            // ONNX Runtime sizes its thread pool for the host instead of the cgroup CPU quota
+            sessionOptions.setIntraOpNumThreads(topology.getCpuLimit());
+        }
         if (options == null) {
             return sessionOptions;
         }
@@ -158,7 +164,7 @@ public class OrtModel extends BaseModel {
             ortSession.setInterOpNumThreads(Integer.parseInt(interOpNumThreads));
         }
         String intraOpNumThreads = (String) options.get("intraOpNumThreads");
-        if (interOpNumThreads != null) {
+        if (intraOpNumThreads != null) {
             ortSession.setIntraOpNumThreads(Integer.parseInt(intraOpNumThreads));
         }
         String executionMode = (String) options.get("executionMode");
@@ -34,10 +34,12 @@ import ai.onnxruntime.OrtSession;
 
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * {@code OrtSymbolBlock} is the ONNX Runtime implementation of {@link SymbolBlock}.
@@ -49,6 +51,8 @@ public class OrtSymbolBlock extends AbstractSymbolBlock implements AutoCloseable
 
     private OrtSession session;
     private OrtNDManager manager;
+    private List<String> inputNames;
+    private Set<String> inputNameSet;
 
     /**
      * Constructs a {@code OrtSymbolBlock}.
@@ -62,6 +66,9 @@ public class OrtSymbolBlock extends AbstractSymbolBlock implements AutoCloseable
     public OrtSymbolBlock(OrtSession session, OrtNDManager manager) {
         this.session = session;
         this.manager = manager;
+        // the session metadata is immutable, cache it to avoid copying it on every call
+        inputNames = new ArrayList<>(session.getInputNames());
+        inputNameSet = new HashSet<>(inputNames);
         manager.attachInternal(UUID.randomUUID().toString(), this);
     }
 
@@ -78,42 +85,55 @@ public class OrtSymbolBlock extends AbstractSymbolBlock implements AutoCloseable
             NDList inputs,
             boolean training,
             PairList<String, Object> params) {
-        List<String> inputNames = new ArrayList<>(session.getInputNames());
         if (inputs.size() != inputNames.size()) {
             throw new IllegalArgumentException("Input mismatch, looking for: " + inputNames);
         }
 
-        Map<String, OnnxTensor> container = new ConcurrentHashMap<>();
-        // forward
-        try (OrtNDManager sub = (OrtNDManager) manager.newSubManager()) {
-            // If input data has name
-            if (inputs.get(0).getName() != null) {
-                for (NDArray input : inputs) {
-                    String name = input.getName();
+        boolean named = inputs.get(0).getName() != null;
+        Map<String, OnnxTensor> container = new HashMap<>(inputNames.size() * 4 / 3 + 1);
+        OrtNDManager sub = null;
+        try {
+            for (int i = 0; i < inputNames.size(); ++i) {
+                NDArray input = inputs.get(i);
+                String name;
+                if (named) {
+                    // If input data has name
+                    name = input.getName();
                     if (name == null) {
                         throw new IllegalArgumentException(
                                 "All or none of input tensors must have a name.");
                     }
-                    if (!inputNames.contains(name)) {
+                    if (!inputNameSet.contains(name)) {
                         throw new IllegalArgumentException("Invalid input tensor name: " + name);
                     }
-                    OrtNDArray ortNDArray = sub.from(input);
-                    container.put(name, ortNDArray.getTensor());
+                } else {
+                    // feed data in to match names
+                    name = inputNames.get(i);
                 }
-            } else {
-                // feed data in to match names
-                for (int i = 0; i < inputNames.size(); ++i) {
-                    OrtNDArray ortNDArray = sub.from(inputs.get(i));
-                    container.put(inputNames.get(i), ortNDArray.getTensor());
+                OnnxTensor tensor;
+                if (input instanceof OrtNDArray) {
+                    // bind the existing tensor directly, no need for a temporary manager
+                    tensor = ((OrtNDArray) input).getTensor();
+                } else {
+                    if (sub == null) {
+                        sub = (OrtNDManager) manager.newSubManager();
+                    }
+                    tensor = sub.from(input).getTensor();
                 }
+                container.put(name, tensor);
             }
 
+            // forward
             OrtSession.Result results = session.run(container);
             NDList ret = evaluateOutput(results);
             ret.attach(inputs.head().getManager());
             return ret;
         } catch (OrtException e) {
             throw new EngineException(e);
+        } finally {
+            if (sub != null) {
+                sub.close();
+            }
         }
     }
 
@@ -121,7 +141,7 @@ public class OrtSymbolBlock extends AbstractSymbolBlock implements AutoCloseable
     @Override
     public PairList<String, Shape> describeInput() {
         PairList<String, Shape> result = new PairList<>();
-        for (String name : session.getInputNames()) {
+        for (String name : inputNames) {
             result.add(name, null);
         }
         return result;
@@ -152,40 +172,41 @@ public class OrtSymbolBlock extends AbstractSymbolBlock implements AutoCloseable
     private NDArray seq2Nd(OnnxSequence seq) {
         try {
             List<OnnxMap> values = (List<OnnxMap>) seq.getValue();
-            DataType dp;
-            List<Object> finalData = new ArrayList<>();
             OnnxJavaType type = seq.getInfo().mapInfo.valueType;
+            DataType dataType = OrtUtils.toDataType(type);
+            if (dataType == DataType.STRING || dataType == DataType.UNKNOWN) {
+                throw new UnsupportedOperationException("type is not supported: " + type);
+            }
+            int size = 0;
             for (OnnxMap map : values) {
-                finalData.addAll(((Map<Object, Object>) map.getValue()).values());
+                size += map.size();
             }
-            Shape shape = new Shape(values.size(), finalData.size() / values.size());
-            ByteBuffer buffer = ByteBuffer.allocate(finalData.size() * type.size);
-            switch (type) {
-                case FLOAT:
-                    finalData.forEach(ele -> buffer.putFloat((Float) ele));
-                    buffer.rewind();
-                    return manager.create(buffer.asFloatBuffer(), shape, DataType.FLOAT32);
-                case DOUBLE:
-                    finalData.forEach(ele -> buffer.putDouble((Double) ele));
-                    buffer.rewind();
-                    return manager.create(buffer.asDoubleBuffer(), shape, DataType.FLOAT64);
-                case BOOL:
-                case INT8:
-                    dp = (type == OnnxJavaType.BOOL) ? DataType.BOOLEAN : DataType.INT8;
-                    finalData.forEach(ele -> buffer.put((Byte) ele));
-                    buffer.rewind();
-                    return manager.create(buffer, shape, dp);
-                case INT32:
-                    finalData.forEach(ele -> buffer.putInt((Integer) ele));
-                    buffer.rewind();
-                    return manager.create(buffer.asIntBuffer(), shape, DataType.INT32);
-                case INT64:
-                    finalData.forEach(ele -> buffer.putLong((Long) ele));
-                    buffer.rewind();
-                    return manager.create(buffer.asLongBuffer(), shape, DataType.INT64);
-                default:
-                    throw new UnsupportedOperationException("type is not supported: " + type);
+            // write the values straight into a direct buffer that the tensor can wrap
+            ByteBuffer buffer = manager.allocateDirect(size * type.size);
+            for (OnnxMap map : values) {
+                for (Object ele : ((Map<Object, Object>) map.getValue()).values()) {
+                    switch (type) {
+                        case FLOAT:
+                            buffer.putFloat((Float) ele);
+                            break;
+                        case DOUBLE:
+                            buffer.putDouble((Double) ele);
+                            break;
+                        case INT32:
+                            buffer.putInt((Integer) ele);
+                            break;
+                        case INT64:
+                            buffer.putLong((Long) ele);
+                            break;
+                        default:
+                            buffer.put((Byte) ele);
+                            break;
+                    }
+                }
             }
+            buffer.rewind();
+            Shape shape = new Shape(values.size(), size / values.size());
+            return manager.create(buffer, shape, dataType);
         } catch (OrtException e) {
             throw new EngineException(e);
         }
@@ -20,6 +20,7 @@ import ai.djl.modality.Classifications;
 import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDList;
 import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.NDScope;
 import ai.djl.ndarray.types.Shape;
 import ai.djl.onnxruntime.zoo.tabular.softmax_regression.IrisFlower;
 import ai.djl.repository.zoo.Criteria;
@@ -35,6 +36,7 @@ import org.testng.annotations.Test;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
@@ -123,6 +125,28 @@ public class OrtTest {
         }
     }
 
+    @Test
+    public void testArenaScope() {
+        try (NDManager manager = OrtNDManager.getSystemManager().newSubManager()) {
+            ByteBuffer buf;
+            try (NDScope scope = new NDScope(true)) {
+                scope.suppressNotUsedWarning();
+                buf = manager.allocateDirect(8);
+                buf.asFloatBuffer().put(new float[] {1f, 2f});
+            }
+            // OnnxRuntime doesn't register its arrays with the scope, the buffer must not be
+            // reclaimed with the arena
+            try (NDScope scope = new NDScope(true)) {
+                scope.suppressNotUsedWarning();
+                ByteBuffer other = ((OrtNDManager) manager).allocateStaging(8);
+                other.asFloatBuffer().put(new float[] {3f, 4f});
+                float[] data = new float[2];
+                buf.asFloatBuffer().get(data);
+                Assert.assertEquals(data, new float[] {1f, 2f});
+            }
+        }
+    }
+
     @Test
     public void testStringTensor() throws ModelException, IOException, TranslateException {
         setAlternativeEngineDisabled(true);
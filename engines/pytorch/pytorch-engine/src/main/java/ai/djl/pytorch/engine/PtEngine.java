@@ -14,6 +14,7 @@ package ai.djl.pytorch.engine;
 
 import ai.djl.Device;
 import ai.djl.Model;
+import ai.djl.engine.CpuTopology;
 import ai.djl.engine.Engine;
 import ai.djl.engine.EngineException;
 import ai.djl.ndarray.NDManager;
@@ -56,8 +57,14 @@ public final class PtEngine extends Engine {
                 JniUtils.setNumInteropThreads(
                         Integer.getInteger("ai.djl.pytorch.num_interop_threads"));
             }
+            CpuTopology topology = CpuTopology.getInstance();
             if (Integer.getInteger("ai.djl.pytorch.num_threads") != null) {
                 JniUtils.setNumThreads(Integer.getInteger("ai.djl.pytorch.num_threads"));
+            } else if (topology.getCpuQuota() > 0) {
+                // PyTorch sizes its thread pool for the host instead of the cgroup CPU quota. The
+                // thread count is global to the process, the per pool intra-op threads planned by
+                // the ComputePlanner are only applied with ai.djl.pytorch.num_threads
+                JniUtils.setNumThreads(topology.getCpuLimit());
             }
             // for ConvNN related model speed up
             if (Boolean.getBoolean("ai.djl.pytorch.cudnn_benchmark")) {
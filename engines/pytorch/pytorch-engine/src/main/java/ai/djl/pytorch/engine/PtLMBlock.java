@@ -0,0 +1,119 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.pytorch.engine;
+
+import ai.djl.modality.nlp.generate.CausalLMOutput;
+import ai.djl.modality.nlp.generate.LMBlock;
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
+import ai.djl.pytorch.jni.IValue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code PtLMBlock} is a {@link LMBlock} for TorchScript language models that take and return the
+ * past key values as a tuple of (key, value) tuples, one per layer, as in Hugging Face
+ * transformers.
+ *
+ * <p>The TorchScript module is called with {@code (input_ids, position_ids, attention_mask,
+ * past_key_values)} and must return {@code (logits, past_key_values)}. The key and value tensors
+ * have the shape (batch, heads, sequence, headSize). Before the first step, empty key and value
+ * tensors are passed, so the module can be traced with past key values.
+ */
+public class PtLMBlock implements LMBlock {
+
+    private PtSymbolBlock block;
+    private int numLayers;
+    private long numHeads;
+    private long headSize;
+    private DataType dataType;
+
+    /**
+     * Constructs a new {@code PtLMBlock} instance.
+     *
+     * @param block the TorchScript language model
+     * @param numLayers the number of layers
+     * @param numHeads the number of attention heads
+     * @param headSize the size of each attention head
+     * @param dataType the data type of the key and value tensors
+     */
+    public PtLMBlock(
+            PtSymbolBlock block, int numLayers, long numHeads, long headSize, DataType dataType) {
+        this.block = block;
+        this.numLayers = numLayers;
+        this.numHeads = numHeads;
+        this.headSize = headSize;
+        this.dataType = dataType;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CausalLMOutput forward(NDList input, NDList pastKeyValues) {
+        PtNDArray inputIds = (PtNDArray) input.get(0);
+        PtNDManager manager = inputIds.getManager();
+        NDList past = pastKeyValues;
+        if (past == null) {
+            Shape shape = new Shape(inputIds.getShape().get(0), numHeads, 0, headSize);
+            past = new NDList(numLayers * 2);
+            for (int i = 0; i < numLayers * 2; ++i) {
+                past.add(manager.zeros(shape, dataType));
+            }
+        }
+
+        List<IValue> ivalues = new ArrayList<>();
+        IValue[] layers = new IValue[numLayers];
+        for (int i = 0; i < numLayers; ++i) {
+            IValue key = IValue.from((PtNDArray) past.get(i * 2));
+            IValue value = IValue.from((PtNDArray) past.get(i * 2 + 1));
+            layers[i] = IValue.tupleFrom(key, value);
+            ivalues.add(key);
+            ivalues.add(value);
+            ivalues.add(layers[i]);
+        }
+        IValue[] args = {
+            IValue.from(inputIds),
+            IValue.from((PtNDArray) input.get(1)),
+            IValue.from((PtNDArray) input.get(2)),
+            IValue.tupleFrom(layers)
+        };
+        try (IValue result = block.forward(args)) {
+            IValue[] outputs = result.toIValueTuple();
+            NDArray logits = outputs[0].toTensor(manager);
+            NDList present = new NDList(numLayers * 2);
+            for (IValue layer : outputs[1].toIValueTuple()) {
+                for (IValue tensor : layer.toIValueTuple()) {
+                    present.add(tensor.toTensor(manager));
+                    tensor.close();
+                }
+                layer.close();
+            }
+            for (IValue output : outputs) {
+                output.close();
+            }
+            return new CausalLMOutput(logits, present);
+        } finally {
+            for (IValue arg : args) {
+                arg.close();
+            }
+            for (IValue ivalue : ivalues) {
+                ivalue.close();
+            }
+            if (pastKeyValues == null) {
+                past.close();
+            }
+        }
+    }
+}
@@ -17,6 +17,7 @@ import ai.djl.engine.Engine;
 import ai.djl.ndarray.BaseNDManager;
 import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.NDScope;
 import ai.djl.ndarray.types.DataType;
 import ai.djl.ndarray.types.Shape;
 import ai.djl.ndarray.types.SparseFormat;
@@ -24,7 +25,6 @@ import ai.djl.pytorch.jni.JniUtils;
 
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 
 /** {@code PtNDManager} is the PyTorch implementation of {@link NDManager}. */
@@ -40,12 +40,6 @@ public class PtNDManager extends BaseNDManager {
         return SYSTEM_MANAGER;
     }
 
-    /** {@inheritDoc} */
-    @Override
-    public ByteBuffer allocateDirect(int capacity) {
-        return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
-    }
-
     /** {@inheritDoc} */
     @Override
     public PtNDArray from(NDArray array) {
@@ -72,10 +66,12 @@ public class PtNDManager extends BaseNDManager {
             return JniUtils.createNdFromByteBuffer(
                     this, (ByteBuffer) data, shape, dataType, SparseFormat.DENSE, device);
         }
-        ByteBuffer buf = allocateDirect(size * dataType.getNumOfBytes());
+        ByteBuffer buf = allocateStaging(size * dataType.getNumOfBytes());
         copyBuffer(data, buf);
+        // a CPU tensor wraps the buffer, the arena memory is reused when the scope is closed
+        boolean copy = NDScope.isArenaOpen();
         return JniUtils.createNdFromByteBuffer(
-                this, buf, shape, dataType, SparseFormat.DENSE, device);
+                this, buf, shape, dataType, SparseFormat.DENSE, device, copy);
     }
 
     /** {@inheritDoc} */
@@ -157,6 +157,17 @@ public final class JniUtils {
             DataType dType,
             SparseFormat fmt,
             Device device) {
+        return createNdFromByteBuffer(manager, data, shape, dType, fmt, device, false);
+    }
+
+    public static PtNDArray createNdFromByteBuffer(
+            PtNDManager manager,
+            ByteBuffer data,
+            Shape shape,
+            DataType dType,
+            SparseFormat fmt,
+            Device device,
+            boolean copy) {
         int layout = layoutMapper(fmt, device);
         long handle =
                 PyTorchLibrary.LIB.torchFromBlob(
@@ -172,6 +183,12 @@ public final class JniUtils {
             // so we don't want to hold a reference on Java side
             return new PtNDArray(manager, handle);
         }
+        if (copy) {
+            // the tensor must not outlive the data, make a copy in native code instead
+            long clone = PyTorchLibrary.LIB.tensorClone(handle);
+            PyTorchLibrary.LIB.torchDeleteTensor(handle);
+            return new PtNDArray(manager, clone);
+        }
         return new PtNDArray(manager, handle, data);
     }
 
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.pytorch.integration;
+
+import ai.djl.modality.nlp.generate.CausalLMOutput;
+import ai.djl.modality.nlp.generate.SearchConfig;
+import ai.djl.modality.nlp.generate.TextGenerator;
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
+import ai.djl.pytorch.engine.PtLMBlock;
+import ai.djl.pytorch.engine.PtNDArray;
+import ai.djl.pytorch.engine.PtNDManager;
+import ai.djl.pytorch.engine.PtSymbolBlock;
+import ai.djl.pytorch.jni.IValue;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class PtLMBlockTest {
+
+    private static final int VOCAB_SIZE = 8;
+    private static final int NUM_LAYERS = 2;
+    private static final long NUM_HEADS = 2;
+    private static final long HEAD_SIZE = 3;
+
+    @Test
+    public void testForward() {
+        try (PtNDManager manager = (PtNDManager) NDManager.newBaseManager()) {
+            PtLMBlock block =
+                    new PtLMBlock(
+                            new CountingModule(manager),
+                            NUM_LAYERS,
+                            NUM_HEADS,
+                            HEAD_SIZE,
+                            DataType.FLOAT32);
+            NDArray inputIds = manager.create(new long[] {1, 2, 3, 4, 5, 6}, new Shape(2, 3));
+            NDArray positionIds =
+                    manager.create(new long[] {0, 1, 2, 0, 1, 2}, new Shape(2, 3));
+            NDArray mask = manager.ones(new Shape(2, 3), DataType.INT64);
+            CausalLMOutput output =
+                    block.forward(new NDList(inputIds, positionIds, mask), null);
+            Assert.assertEquals(output.getLogits().getShape(), new Shape(2, 3, VOCAB_SIZE));
+            Assert.assertEquals(
+                    output.getLogits().argMax(-1).toLongArray(), new long[] {2, 3, 4, 5, 6, 7});
+            NDList past = output.getPastKeyValues();
+            Assert.assertEquals(past.size(), NUM_LAYERS * 2);
+            for (NDArray array : past) {
+                Assert.assertEquals(array.getShape(), new Shape(2, NUM_HEADS, 3, HEAD_SIZE));
+            }
+
+            // the cached keys and values are passed back and extended by one position
+            NDArray next = manager.create(new long[] {4, 7}, new Shape(2, 1));
+            NDList input =
+                    new NDList(next, manager.full(new Shape(2, 1), 3L), mask.get(":, :1"));
+            output = block.forward(input, past);
+            Assert.assertEquals(output.getLogits().argMax(-1).toLongArray(), new long[] {5, 0});
+            for (NDArray array : output.getPastKeyValues()) {
+                Assert.assertEquals(array.getShape(), new Shape(2, NUM_HEADS, 4, HEAD_SIZE));
+            }
+        }
+    }
+
+    @Test
+    public void testGenerate() {
+        try (PtNDManager manager = (PtNDManager) NDManager.newBaseManager()) {
+            PtLMBlock block =
+                    new PtLMBlock(
+                            new CountingModule(manager),
+                            NUM_LAYERS,
+                            NUM_HEADS,
+                            HEAD_SIZE,
+                            DataType.FLOAT32);
+            SearchConfig config =
+                    SearchConfig.builder().optMaxNewTokens(4).optEosTokenId(7).build();
+            NDArray inputIds = manager.create(new long[] {2, 3, 5, 6}, new Shape(2, 2));
+            NDArray output = new TextGenerator(block, config).generate(inputIds);
+            long[] expected = {2, 3, 4, 5, 6, 7, 5, 6, 7, 0, 0, 0};
+            Assert.assertEquals(output.toLongArray(), expected);
+
+            // finished beams are extended with padding without turning the scores into NaN
+            config =
+                    SearchConfig.builder()
+                            .optMaxNewTokens(4)
+                            .optBeamSize(3)
+                            .optEosTokenId(7)
+                            .build();
+            output = new TextGenerator(block, config).generate(inputIds);
+            Assert.assertEquals(output.toLongArray(), expected);
+        }
+    }
+
+    /**
+     * A module that predicts the next token to be the last token plus one, and appends the token
+     * ids to the cached keys and values.
+     */
+    private static final class CountingModule extends PtSymbolBlock {
+
+        private PtNDManager manager;
+
+        CountingModule(PtNDManager manager) {
+            super(manager);
+            this.manager = manager;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public IValue forward(IValue... inputs) {
+            PtNDArray inputIds = inputs[0].toTensor(manager);
+            Shape shape = inputIds.getShape();
+            NDArray logits =
+                    inputIds.add(1)
+                            .mod(VOCAB_SIZE)
+                            .oneHot(VOCAB_SIZE)
+                            .toType(DataType.FLOAT32, false)
+                            .mul(10);
+            NDArray step =
+                    inputIds.toType(DataType.FLOAT32, false)
+                            .reshape(shape.get(0), 1, shape.get(1), 1)
+                            .repeat(1, NUM_HEADS)
+                            .repeat(3, HEAD_SIZE);
+            IValue[] layers = inputs[3].toIValueTuple();
+            IValue[] present = new IValue[layers.length];
+            for (int i = 0; i < layers.length; ++i) {
+                IValue[] kv = layers[i].toIValueTuple();
+                IValue[] concat = new IValue[kv.length];
+                for (int j = 0; j < kv.length; ++j) {
+                    NDArray past = kv[j].toTensor(manager);
+                    concat[j] = IValue.from((PtNDArray) past.concat(step, 2));
+                    kv[j].close();
+                }
+                present[i] = IValue.tupleFrom(concat);
+                layers[i].close();
+            }
+            return IValue.tupleFrom(IValue.from((PtNDArray) logits), IValue.tupleFrom(present));
+        }
+    }
+}
@@ -181,6 +181,7 @@ public final class TfEngine extends Engine implements AutoCloseable {
     /** {@inheritDoc} */
     @Override
     public void close() {
+        TfOpExecutor.clearCache();
         TFE_Context handle = eagerSessionHandle.getAndSet(null);
         if (handle != null && !handle.isNull()) {
             handle.close();
@@ -122,7 +122,17 @@ public class TfModel extends BaseModel {
         SavedModelBundle bundle =
                 JavacppUtils.loadSavedModelBundle(
                         exportDir.toString(), tags, configProto, runOptions);
-        block = new TfSymbolBlock(bundle, signatureDefKey);
+        TfSymbolBlock symbolBlock = new TfSymbolBlock(bundle, signatureDefKey);
+        symbolBlock.setRunOptions(runOptions);
+        if (options != null) {
+            Object outputNames = options.get(TfSymbolBlock.OUTPUT_NAMES);
+            if (outputNames instanceof String[]) {
+                symbolBlock.setOutputNames((String[]) outputNames);
+            } else if (outputNames instanceof String) {
+                symbolBlock.setOutputNames(((String) outputNames).split(","));
+            }
+        }
+        block = symbolBlock;
     }
 
     private Path findModelDir(String prefix) {
@@ -28,7 +28,6 @@ import org.tensorflow.internal.c_api.TF_Tensor;
 
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 
 @SuppressWarnings("PMD.UseTryWithResources")
@@ -44,12 +43,6 @@ public class TfNDManager extends BaseNDManager {
         return SYSTEM_MANAGER;
     }
 
-    /** {@inheritDoc} */
-    @Override
-    public ByteBuffer allocateDirect(int capacity) {
-        return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
-    }
-
     /** {@inheritDoc} */
     @Override
     public TfNDArray from(NDArray array) {
@@ -93,7 +86,7 @@ public class TfNDManager extends BaseNDManager {
                             (ByteBuffer) data, shape, dataType, getEagerSession(), device);
             return new TfNDArray(this, handle);
         }
-        ByteBuffer buf = allocateDirect(size * dataType.getNumOfBytes());
+        ByteBuffer buf = allocateStaging(size * dataType.getNumOfBytes());
         copyBuffer(data, buf);
         TFE_TensorHandle handle =
                 JavacppUtils.createTFETensorFromByteBuffer(
@@ -30,21 +30,57 @@ import org.tensorflow.internal.c_api.TFE_TensorHandle;
 import org.tensorflow.internal.c_api.TF_Status;
 import org.tensorflow.internal.c_api.global.tensorflow;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
-/** An {@code TfOpExecutor} for executing TensorFlow operation eagerly. */
+/**
+ * An {@code TfOpExecutor} for executing TensorFlow operation eagerly.
+ *
+ * <p>Creating a {@code TFE_Op} is expensive compared to running it on a small tensor. Once an
+ * operation is executed, its {@code TFE_Op} is reset and kept in a per-thread cache keyed by the
+ * operation name and the device, so the next executor of the same operation on the same thread
+ * reuses it. A thread caches at most 64 ops, the least recently used ones are deleted, and the ops
+ * of a thread are deleted once the thread is gone.
+ */
 final class TfOpExecutor implements AutoCloseable {
 
+    private static final int MAX_CACHED_OPS = 64;
+
+    private static final ThreadLocal<OpCache> CACHE = ThreadLocal.withInitial(OpCache::new);
+    // the ops of all the threads, so they can be released when their thread is gone or before
+    // the eager context is deleted
+    private static final Set<CacheRef> CACHES = ConcurrentHashMap.newKeySet();
+    private static final ReferenceQueue<OpCache> DEAD_CACHES = new ReferenceQueue<>();
+
     private TfNDManager manager;
     private TFE_Op opHandle;
+    private String operation;
+    private String device;
+    private boolean executed;
     private AtomicBoolean closed;
 
     @SuppressWarnings({"unchecked", "try"})
     TfOpExecutor(TfNDManager manager, TFE_Context eagerSessionHandle, String operation) {
         this.manager = manager;
+        this.operation = operation;
+        device = JavacppUtils.toTfDevice(manager.getDevice());
         closed = new AtomicBoolean(false);
+        releaseDeadCaches();
+        Ops ops = CACHE.get().ops;
+        synchronized (ops) {
+            opHandle = ops.remove(getCacheKey());
+        }
+        if (opHandle != null) {
+            return;
+        }
         try (PointerScope ignore = new PointerScope()) {
             TF_Status status = TF_Status.newStatus();
             opHandle = TFE_Op.newOp(eagerSessionHandle, operation, status);
@@ -55,6 +91,22 @@ final class TfOpExecutor implements AutoCloseable {
         setDevice(manager.getDevice());
     }
 
+    // releases all the cached ops, must be called before the eager context is closed
+    static void clearCache() {
+        for (CacheRef ref : CACHES) {
+            ref.ops.closeAll();
+        }
+        releaseDeadCaches();
+    }
+
+    private static void releaseDeadCaches() {
+        for (Reference<?> ref = DEAD_CACHES.poll(); ref != null; ref = DEAD_CACHES.poll()) {
+            CacheRef cacheRef = (CacheRef) ref;
+            CACHES.remove(cacheRef);
+            cacheRef.ops.closeAll();
+        }
+    }
+
     public NDArray[] build(int numOutputs) {
         TFE_TensorHandle[] handles = buildRawPointer(numOutputs);
         NDArray[] outputs = new NDArray[handles.length];
@@ -90,6 +142,7 @@ final class TfOpExecutor implements AutoCloseable {
             // in sacrifice of performance
             tensorflow.TFE_Execute(opHandle, returnValues, numReturnValues, status);
             status.throwExceptionIfNotOK();
+            executed = true;
 
             TFE_TensorHandle[] results = new TFE_TensorHandle[numReturnValues.get()];
             for (int i = 0; i < results.length; ++i) {
@@ -141,6 +194,7 @@ final class TfOpExecutor implements AutoCloseable {
             TF_Status status = TF_Status.newStatus();
             tensorflow.TFE_OpSetDevice(opHandle, deviceStr, status);
             status.throwExceptionIfNotOK();
+            this.device = deviceStr;
             return this;
         } catch (Exception e) {
             close();
@@ -187,6 +241,78 @@ final class TfOpExecutor implements AutoCloseable {
         if (closed.getAndSet(true) || opHandle == null || opHandle.isNull()) {
             return;
         }
+        if (executed && recycle()) {
+            return;
+        }
         opHandle.close();
     }
+
+    @SuppressWarnings({"unchecked", "try"})
+    private boolean recycle() {
+        // reset right away, so the op doesn't keep its inputs alive while it is cached
+        try (PointerScope ignore = new PointerScope()) {
+            TF_Status status = TF_Status.newStatus();
+            tensorflow.TFE_OpReset(opHandle, operation, device, status);
+            if (tensorflow.TF_GetCode(status) != tensorflow.TF_OK) {
+                return false;
+            }
+        }
+        Ops ops = CACHE.get().ops;
+        synchronized (ops) {
+            // an op of the same name can be outstanding on this thread, keep only one of them
+            return ops.putIfAbsent(getCacheKey(), opHandle) == null;
+        }
+    }
+
+    private String getCacheKey() {
+        return operation + '@' + device;
+    }
+
+    /** The cache of a thread, it is only reachable from its thread. */
+    private static final class OpCache {
+
+        Ops ops = new Ops();
+
+        OpCache() {
+            CACHES.add(new CacheRef(this));
+        }
+    }
+
+    /** The cached ops of a thread, in least recently used order. */
+    private static final class Ops extends LinkedHashMap<String, TFE_Op> {
+
+        private static final long serialVersionUID = 1L;
+
+        Ops() {
+            super(16, 0.75f, true);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, TFE_Op> eldest) {
+            if (size() > MAX_CACHED_OPS) {
+                eldest.getValue().close();
+                return true;
+            }
+            return false;
+        }
+
+        synchronized void closeAll() {
+            for (TFE_Op op : values()) {
+                op.close();
+            }
+            clear();
+        }
+    }
+
+    /** Keeps the ops of a thread, which are released once the cache of the thread is collected. */
+    private static final class CacheRef extends WeakReference<OpCache> {
+
+        Ops ops;
+
+        CacheRef(OpCache cache) {
+            super(cache, DEAD_CACHES);
+            ops = cache.ops;
+        }
+    }
 }
@@ -27,13 +27,16 @@ import ai.djl.util.Pair;
 import ai.djl.util.PairList;
 
 import org.bytedeco.javacpp.Pointer;
+import org.bytedeco.javacpp.PointerPointer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.tensorflow.internal.c_api.TF_Graph;
 import org.tensorflow.internal.c_api.TF_Operation;
+import org.tensorflow.internal.c_api.TF_Output;
 import org.tensorflow.internal.c_api.TF_Session;
 import org.tensorflow.internal.c_api.TF_Tensor;
 import org.tensorflow.proto.framework.MetaGraphDef;
+import org.tensorflow.proto.framework.RunOptions;
 import org.tensorflow.proto.framework.SignatureDef;
 import org.tensorflow.proto.framework.TensorInfo;
 import org.tensorflow.proto.framework.TensorShapeProto;
@@ -44,10 +47,20 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /** {@code TfSymbolBlock} is the TensorFlow implementation of {@link SymbolBlock}. */
 public class TfSymbolBlock extends AbstractSymbolBlock implements AutoCloseable {
 
+    /**
+     * The forward parameter key of the names of the outputs to fetch, either a {@code String[]} or
+     * a comma separated {@code String}.
+     */
+    public static final String OUTPUT_NAMES = "OutputNames";
+
+    /** The forward parameter key of the {@link RunOptions} used to run the session. */
+    public static final String RUN_OPTIONS = "RunOptions";
+
     private static final Logger logger = LoggerFactory.getLogger(TfSymbolBlock.class);
 
     private SavedModelBundle bundle;
@@ -62,6 +75,12 @@ public class TfSymbolBlock extends AbstractSymbolBlock implements AutoCloseable
     private TF_Operation[] outputOpHandles;
     private int[] outputOpIndices;
     private TF_Operation[] targetOpHandles;
+    private TF_Output inputTfOutput;
+    private PointerPointer<TF_Operation> targets;
+    private OutputSubset allOutputs;
+    private Map<String, OutputSubset> outputSubsets;
+    private String[] outputNames;
+    private RunOptions runOptions;
 
     public TfSymbolBlock(SavedModelBundle bundle, String signatureDefKey) {
         this.bundle = bundle;
@@ -90,6 +109,37 @@ public class TfSymbolBlock extends AbstractSymbolBlock implements AutoCloseable
         }
         describeInput();
         describeOutput();
+        // the native input, output and target descriptions are built once and reused by all calls
+        inputTfOutput = JavacppUtils.createTfOutput(inputOpHandles, inputOpIndices);
+        targets = JavacppUtils.createTargets(targetOpHandles);
+        String[] names = outputDescriptions.keyArray(new String[0]);
+        allOutputs =
+                new OutputSubset(
+                        names, JavacppUtils.createTfOutput(outputOpHandles, outputOpIndices));
+        outputSubsets = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Sets the {@link RunOptions} used to run the session.
+     *
+     * @param runOptions the {@link RunOptions}, or {@code null} for the default options
+     */
+    public void setRunOptions(RunOptions runOptions) {
+        this.runOptions = runOptions;
+    }
+
+    /**
+     * Sets the names of the signature outputs to fetch when the forward parameters do not specify
+     * them.
+     *
+     * <p>Only the operations needed by these outputs are run, so a translator that only uses one
+     * head of a multi-head model can skip computing and copying the others.
+     *
+     * @param outputNames the names of the outputs to fetch, or {@code null} to fetch all the
+     *     outputs
+     */
+    public void setOutputNames(String... outputNames) {
+        this.outputNames = outputNames == null ? null : outputNames.clone();
     }
 
     /** {@inheritDoc} */
@@ -128,22 +178,27 @@ public class TfSymbolBlock extends AbstractSymbolBlock implements AutoCloseable
             }
         }
 
+        OutputSubset subset = getOutputSubset(params);
+        RunOptions options = runOptions;
+        if (params != null && params.get(RUN_OPTIONS) instanceof RunOptions) {
+            options = (RunOptions) params.get(RUN_OPTIONS);
+        }
         TF_Tensor[] outputs =
                 JavacppUtils.runSession(
                         sessionHandle,
-                        null,
+                        options,
                         inputTensorHandles,
-                        inputOpHandles,
-                        inputOpIndices,
-                        outputOpHandles,
-                        outputOpIndices,
-                        targetOpHandles);
+                        inputTfOutput,
+                        subset.tfOutput,
+                        subset.names.length,
+                        targets,
+                        targetOpHandles.length);
 
         TfNDManager tfNDManager = (TfNDManager) inputs.head().getManager();
-        NDList resultNDList = new NDList();
+        NDList resultNDList = new NDList(outputs.length);
         for (int i = 0; i < outputs.length; i++) {
             TfNDArray array = new TfNDArray(tfNDManager, JavacppUtils.createTFETensor(outputs[i]));
-            array.setName(outputDescriptions.get(i).getKey());
+            array.setName(subset.names[i]);
             resultNDList.add(array);
         }
 
@@ -237,15 +292,70 @@ public class TfSymbolBlock extends AbstractSymbolBlock implements AutoCloseable
         return new Shape[0];
     }
 
+    private OutputSubset getOutputSubset(PairList<String, Object> params) {
+        String[] names = outputNames;
+        Object value = params == null ? null : params.get(OUTPUT_NAMES);
+        if (value instanceof String[]) {
+            names = (String[]) value;
+        } else if (value != null) {
+            names = value.toString().split(",");
+        }
+        if (names == null) {
+            return allOutputs;
+        }
+        String key = String.join(",", names);
+        OutputSubset subset = outputSubsets.get(key);
+        if (subset == null) {
+            subset = outputSubsets.computeIfAbsent(key, k -> createOutputSubset(k.split(",")));
+        }
+        return subset;
+    }
+
+    private OutputSubset createOutputSubset(String[] names) {
+        TF_Operation[] handles = new TF_Operation[names.length];
+        int[] indices = new int[names.length];
+        for (int i = 0; i < names.length; ++i) {
+            names[i] = names[i].trim();
+            int index = outputDescriptions.indexOf(names[i]);
+            if (index < 0) {
+                throw new IllegalArgumentException(
+                        "Invalid output name: "
+                                + names[i]
+                                + ", available outputs: "
+                                + outputDescriptions.keys());
+            }
+            handles[i] = outputOpHandles[index];
+            indices[i] = outputOpIndices[index];
+        }
+        return new OutputSubset(names, JavacppUtils.createTfOutput(handles, indices));
+    }
+
     /** {@inheritDoc} */
     @Override
     public void close() {
         if (bundle != null) {
             bundle.close();
         }
+        inputTfOutput.close();
+        targets.close();
+        allOutputs.tfOutput.close();
+        outputSubsets.values().forEach(subset -> subset.tfOutput.close());
+        outputSubsets.clear();
         // free cached input & output native resources
         Arrays.stream(inputOpHandles).forEach(Pointer::close);
         Arrays.stream(outputOpHandles).forEach(Pointer::close);
         Arrays.stream(targetOpHandles).forEach(Pointer::close);
     }
+
+    /** The native description of a subset of the signature outputs. */
+    private static final class OutputSubset {
+
+        String[] names;
+        TF_Output tfOutput;
+
+        OutputSubset(String[] names, TF_Output tfOutput) {
+            this.names = names;
+            this.tfOutput = tfOutput;
+        }
+    }
 }
@@ -145,38 +145,44 @@ public final class JavacppUtils {
             TF_Operation[] outputOpHandles,
             int[] outputOpIndices,
             TF_Operation[] targetOpHandles) {
-        int numInputs = inputTensorHandles.length;
-        int numOutputs = outputOpHandles.length;
-        int numTargets = targetOpHandles.length;
         try (PointerScope ignored = new PointerScope()) {
             // TODO: check with sig-jvm if TF_Output here is freed
-            TF_Output inputs = new TF_Output(numInputs);
+            TF_Output inputs = createTfOutput(inputOpHandles, inputOpIndices);
+            TF_Output outputs = createTfOutput(outputOpHandles, outputOpIndices);
+            PointerPointer<TF_Operation> targets = createTargets(targetOpHandles);
+            return runSession(
+                    handle,
+                    runOptions,
+                    inputTensorHandles,
+                    inputs,
+                    outputs,
+                    outputOpHandles.length,
+                    targets,
+                    targetOpHandles.length);
+        }
+    }
+
+    // the TF_Outputs and targets are only read, they can be built once and shared across calls
+    @SuppressWarnings({"unchecked", "try"})
+    public static TF_Tensor[] runSession(
+            TF_Session handle,
+            RunOptions runOptions,
+            TF_Tensor[] inputTensorHandles,
+            TF_Output inputs,
+            TF_Output outputs,
+            int numOutputs,
+            PointerPointer<TF_Operation> targets,
+            int numTargets) {
+        int numInputs = inputTensorHandles.length;
+        try (PointerScope ignored = new PointerScope()) {
             PointerPointer<TF_Tensor> inputValues = new PointerPointer<>(numInputs);
-            TF_Output outputs = new TF_Output(numOutputs);
             PointerPointer<TF_Tensor> outputValues = new PointerPointer<>(numOutputs);
-            PointerPointer<TF_Operation> targets = new PointerPointer<>(numTargets);
 
             // set input
             for (int i = 0; i < numInputs; ++i) {
                 inputValues.put(i, inputTensorHandles[i]);
             }
 
-            // set TF_Output for inputs
-            for (int i = 0; i < numInputs; ++i) {
-                inputs.position(i).oper(inputOpHandles[i]).index(inputOpIndices[i]);
-            }
-            inputs.position(0);
-
-            // set TF_Output for outputs
-            for (int i = 0; i < numOutputs; ++i) {
-                outputs.position(i).oper(outputOpHandles[i]).index(outputOpIndices[i]);
-            }
-            outputs.position(0);
-
-            // set target
-            for (int i = 0; i < numTargets; ++i) {
-                targets.put(i, targetOpHandles[i]);
-            }
             TF_Status status = TF_Status.newStatus();
             TF_Buffer runOpts = TF_Buffer.newBufferFromString(runOptions);
 
@@ -203,6 +209,22 @@ public final class JavacppUtils {
         }
     }
 
+    public static TF_Output createTfOutput(TF_Operation[] opHandles, int[] opIndices) {
+        TF_Output output = new TF_Output(opHandles.length);
+        for (int i = 0; i < opHandles.length; ++i) {
+            output.position(i).oper(opHandles[i]).index(opIndices[i]);
+        }
+        return output.position(0);
+    }
+
+    public static PointerPointer<TF_Operation> createTargets(TF_Operation[] targetOpHandles) {
+        PointerPointer<TF_Operation> targets = new PointerPointer<>(targetOpHandles.length);
+        for (int i = 0; i < targetOpHandles.length; ++i) {
+            targets.put(i, targetOpHandles[i]);
+        }
+        return targets;
+    }
+
     @SuppressWarnings({"unchecked", "try"})
     public static TFE_Context createEagerSession(
             boolean async, int devicePlacementPolicy, ConfigProto config) {
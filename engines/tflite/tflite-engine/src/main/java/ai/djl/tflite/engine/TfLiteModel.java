@@ -17,10 +17,12 @@ import ai.djl.Model;
 import ai.djl.engine.Engine;
 import ai.djl.ndarray.NDManager;
 import ai.djl.ndarray.types.DataType;
+import ai.djl.translate.ArgumentsUtil;
 import ai.djl.util.Utils;
 
 import org.tensorflow.lite.Interpreter;
 
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
@@ -64,8 +66,12 @@ public class TfLiteModel extends BaseModel {
                 throw new FileNotFoundException("TFLite model file not found in: " + modelPath);
             }
         }
-        Interpreter interpreter = new Interpreter(modelFile.toFile());
-        setBlock(new TfLiteSymbolBlock(interpreter, getNDManager()));
+        File file = modelFile.toFile();
+        Interpreter.Options interpreterOptions = getInterpreterOptions(options);
+        int poolSize = getPoolSize(options);
+        setBlock(
+                new TfLiteSymbolBlock(
+                        () -> new Interpreter(file, interpreterOptions), poolSize, getNDManager()));
     }
 
     /** {@inheritDoc} */
@@ -80,8 +86,12 @@ public class TfLiteModel extends BaseModel {
         Engine engine = Engine.getEngine(TfLiteEngine.ENGINE_NAME);
         ByteBuffer bb = engine.newBaseManager().allocateDirect(buf.length);
         bb.put(buf);
-        Interpreter interpreter = new Interpreter(bb);
-        setBlock(new TfLiteSymbolBlock(interpreter, getNDManager()));
+        // the model buffer is read-only, so it is shared by all the interpreters
+        Interpreter.Options interpreterOptions = getInterpreterOptions(options);
+        int poolSize = getPoolSize(options);
+        setBlock(
+                new TfLiteSymbolBlock(
+                        () -> new Interpreter(bb, interpreterOptions), poolSize, getNDManager()));
     }
 
     /** {@inheritDoc} */
@@ -90,6 +100,22 @@ public class TfLiteModel extends BaseModel {
         return (TfLiteNDManager) super.getNDManager();
     }
 
+    private Interpreter.Options getInterpreterOptions(Map<String, ?> options) {
+        Interpreter.Options interpreterOptions = new Interpreter.Options();
+        if (options != null && options.containsKey("numThreads")) {
+            interpreterOptions.setNumThreads(ArgumentsUtil.intValue(options, "numThreads"));
+        }
+        return interpreterOptions;
+    }
+
+    private int getPoolSize(Map<String, ?> options) {
+        int defaultSize = Runtime.getRuntime().availableProcessors();
+        if (options == null) {
+            return defaultSize;
+        }
+        return ArgumentsUtil.intValue(options, "interpreterPoolSize", defaultSize);
+    }
+
     private Path findModelFile(String prefix) {
         if (Files.isRegularFile(modelDir)) {
             Path file = modelDir;
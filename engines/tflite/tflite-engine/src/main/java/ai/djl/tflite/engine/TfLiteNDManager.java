@@ -20,11 +20,8 @@ import ai.djl.ndarray.NDManager;
 import ai.djl.ndarray.types.DataType;
 import ai.djl.ndarray.types.Shape;
 
-import org.tensorflow.lite.Tensor;
-
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 
 /** {@code TfLiteNDManager} is the TFLite implementation of {@link NDManager}. */
 public class TfLiteNDManager extends BaseNDManager {
@@ -39,12 +36,6 @@ public class TfLiteNDManager extends BaseNDManager {
         return SYSTEM_MANAGER;
     }
 
-    /** {@inheritDoc} */
-    @Override
-    public ByteBuffer allocateDirect(int capacity) {
-        return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
-    }
-
     /** {@inheritDoc} */
     @Override
     public TfLiteNDArray from(NDArray array) {
@@ -56,10 +47,6 @@ public class TfLiteNDManager extends BaseNDManager {
         return result;
     }
 
-    TfLiteNDArray createInternal(Tensor tensor) {
-        return new TfLiteNDArray(this, alternativeManager, tensor);
-    }
-
     /** {@inheritDoc} */
     @Override
     public TfLiteNDArray create(Buffer data, Shape shape, DataType dataType) {
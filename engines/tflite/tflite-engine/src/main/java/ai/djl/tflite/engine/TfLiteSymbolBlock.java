@@ -15,6 +15,8 @@ package ai.djl.tflite.engine;
 
 import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
 import ai.djl.nn.AbstractSymbolBlock;
 import ai.djl.nn.ParameterList;
 import ai.djl.nn.SymbolBlock;
@@ -22,26 +24,52 @@ import ai.djl.training.ParameterStore;
 import ai.djl.util.PairList;
 
 import org.tensorflow.lite.Interpreter;
+import org.tensorflow.lite.Tensor;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * {@code TfLiteSymbolBlock} is the TFLite implementation of {@link SymbolBlock}.
  *
  * <p>You can create a {@code TfLiteSymbolBlock} using {@link ai.djl.Model#load(java.nio.file.Path,
  * String)}.
+ *
+ * <p>TFLite {@link Interpreter}s are not thread-safe, so the block keeps a pool of interpreters.
+ * Each forward pass borrows an interpreter, which keeps its input and output tensors allocated
+ * across calls. Interpreters are created on demand, up to the pool size, so the number of
+ * interpreters follows the number of concurrent predictors. Once the block is closed, forward
+ * passes fail, and interpreters still in use are closed when they are returned.
  */
 public class TfLiteSymbolBlock extends AbstractSymbolBlock implements AutoCloseable {
 
-    private TfLiteNDManager manager;
-    private Interpreter interpreter;
-
     private static final Map<Integer, Object> EMPTY = new ConcurrentHashMap<>();
 
-    TfLiteSymbolBlock(Interpreter interpreter, TfLiteNDManager manager) {
-        this.interpreter = interpreter;
+    private TfLiteNDManager manager;
+    private Supplier<Interpreter> factory;
+    private int poolSize;
+    private List<Interpreter> interpreters;
+    private BlockingQueue<Interpreter> idle;
+    private volatile boolean closed;
+
+    TfLiteSymbolBlock(Supplier<Interpreter> factory, int poolSize, TfLiteNDManager manager) {
+        this.factory = factory;
+        this.poolSize = poolSize;
         this.manager = manager;
+        interpreters = new ArrayList<>();
+        idle = new LinkedBlockingQueue<>();
+        // create the first interpreter eagerly to fail fast on an invalid model
+        Interpreter interpreter = factory.get();
+        interpreters.add(interpreter);
+        idle.add(interpreter);
     }
 
     /** {@inheritDoc} */
@@ -51,22 +79,69 @@ public class TfLiteSymbolBlock extends AbstractSymbolBlock implements AutoClosea
             NDList inputs,
             boolean training,
             PairList<String, Object> params) {
-        Object[] intInput = inputs.stream().map(NDArray::toByteBuffer).toArray();
-        interpreter.runForMultipleInputsOutputs(intInput, EMPTY);
+        NDList result;
+        Interpreter interpreter = acquire();
+        try {
+            Object[] intInput = new Object[inputs.size()];
+            for (int i = 0; i < intInput.length; ++i) {
+                NDArray array = inputs.get(i);
+                Tensor tensor = interpreter.getInputTensor(i);
+                int[] dims =
+                        Arrays.stream(array.getShape().getShape())
+                                .mapToInt(Math::toIntExact)
+                                .toArray();
+                if (!Arrays.equals(tensor.shape(), dims)) {
+                    // only reallocate the tensors when the input shape changes
+                    interpreter.resizeInput(i, dims);
+                }
+                intInput[i] = array.toByteBuffer();
+            }
+            interpreter.runForMultipleInputsOutputs(intInput, EMPTY);
 
-        int outputSize = interpreter.getOutputTensorCount();
-        NDList result = new NDList(outputSize);
-        for (int i = 0; i < outputSize; i++) {
-            result.add(manager.createInternal(interpreter.getOutputTensor(i)));
+            // the output tensors are reused by the next call, copy them out
+            int outputSize = interpreter.getOutputTensorCount();
+            result = new NDList(outputSize);
+            for (int i = 0; i < outputSize; i++) {
+                Tensor tensor = interpreter.getOutputTensor(i);
+                ByteBuffer src = tensor.buffer();
+                src.rewind();
+                ByteBuffer buf = manager.allocateDirect(src.remaining());
+                buf.put(src);
+                buf.rewind();
+                Shape shape = new Shape(Arrays.stream(tensor.shape()).mapToLong(d -> d).toArray());
+                DataType dataType = TfLiteDataType.fromTf(tensor.dataType());
+                result.add(manager.create(buf, shape, dataType));
+            }
+        } finally {
+            release(interpreter);
         }
         result.attach(inputs.head().getManager());
         return result;
     }
 
+    /**
+     * Returns the number of interpreters created so far.
+     *
+     * @return the number of interpreters created so far
+     */
+    public synchronized int getInterpreterCount() {
+        return interpreters.size();
+    }
+
     /** {@inheritDoc} */
     @Override
-    public void close() {
-        interpreter.close();
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        // interpreters still in use are closed when they are returned
+        List<Interpreter> unused = new ArrayList<>();
+        idle.drainTo(unused);
+        for (Interpreter interpreter : unused) {
+            interpreter.close();
+        }
+        interpreters.removeAll(unused);
     }
 
     /** {@inheritDoc} */
@@ -74,4 +149,45 @@ public class TfLiteSymbolBlock extends AbstractSymbolBlock implements AutoClosea
     public ParameterList getDirectParameters() {
         throw new UnsupportedOperationException("Not yet supported");
     }
+
+    private Interpreter acquire() {
+        Interpreter interpreter = idle.poll();
+        if (interpreter != null) {
+            return interpreter;
+        }
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("The TfLiteSymbolBlock is closed");
+            }
+            if (interpreters.size() < poolSize) {
+                interpreter = factory.get();
+                interpreters.add(interpreter);
+                return interpreter;
+            }
+        }
+        try {
+            while (true) {
+                interpreter = idle.poll(1, TimeUnit.SECONDS);
+                if (interpreter != null) {
+                    return interpreter;
+                }
+                if (closed) {
+                    throw new IllegalStateException("The TfLiteSymbolBlock is closed");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an interpreter", e);
+        }
+    }
+
+    private synchronized void release(Interpreter interpreter) {
+        if (closed) {
+            // the block was closed while the interpreter was in use
+            interpreter.close();
+            interpreters.remove(interpreter);
+        } else {
+            idle.add(interpreter);
+        }
+    }
 }
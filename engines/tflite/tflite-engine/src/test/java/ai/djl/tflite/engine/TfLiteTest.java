@@ -30,6 +30,12 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class TfLiteTest {
 
@@ -61,4 +67,46 @@ public class TfLiteTest {
             m.close();
         }
     }
+
+    @Test
+    void testConcurrentPredictors()
+            throws IOException, ModelException, InterruptedException, ExecutionException {
+        TestRequirements.notWindows();
+        TestRequirements.notArm();
+
+        Criteria<Image, Classifications> criteria =
+                Criteria.builder()
+                        .setTypes(Image.class, Classifications.class)
+                        .optEngine("TFLite")
+                        .optFilter("dataset", "aiyDish")
+                        .optOption("interpreterPoolSize", "2")
+                        .build();
+        Image image =
+                ImageFactory.getInstance()
+                        .fromUrl("https://resources.djl.ai/images/sachertorte.jpg");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        TfLiteSymbolBlock block;
+        try (ZooModel<Image, Classifications> model = criteria.loadModel()) {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; ++i) {
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    try (Predictor<Image, Classifications> predictor =
+                                            model.newPredictor()) {
+                                        return predictor.predict(image).best().getClassName();
+                                    }
+                                }));
+            }
+            for (Future<String> future : futures) {
+                Assert.assertEquals(future.get(), "Sachertorte");
+            }
+            block = (TfLiteSymbolBlock) model.getBlock();
+            Assert.assertTrue(block.getInterpreterCount() <= 2);
+        } finally {
+            executor.shutdown();
+        }
+        // closing the model releases every interpreter
+        Assert.assertEquals(block.getInterpreterCount(), 0);
+    }
 }
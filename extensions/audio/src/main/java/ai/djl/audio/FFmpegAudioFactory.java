@@ -25,8 +25,8 @@ import java.nio.Buffer;
 import java.nio.IntBuffer;
 import java.nio.ShortBuffer;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.function.Consumer;
 
 /**
  * {@code FFmpegAudioFactory} is a high performance implementation of {@link AudioFactory} using
@@ -60,6 +60,48 @@ public class FFmpegAudioFactory extends AudioFactory {
         }
     }
 
+    /**
+     * Decodes the audio file frame by frame and passes the samples of each frame to the consumer.
+     *
+     * <p>Unlike {@link #fromFile(Path)}, the samples are processed while the audio is being
+     * decoded, so the whole audio never needs to be held in memory.
+     *
+     * @param path the path of the audio file
+     * @param consumer the consumer of the samples of channel 0, called once per decoded frame
+     * @throws IOException if the audio cannot be decoded
+     */
+    public void streamFromFile(Path path, Consumer<float[]> consumer) throws IOException {
+        try (FFmpegFrameGrabber grabber = new FFmpegFrameGrabber(path.toFile())) {
+            applyConfig(grabber);
+            grabber.start();
+            grab(grabber, consumer);
+        } catch (FrameGrabber.Exception e) {
+            throw new IOException("Unsupported Audio file", e);
+        }
+    }
+
+    /**
+     * Decodes the audio stream frame by frame and passes the samples of each frame to the
+     * consumer.
+     *
+     * <p>The consumer is called as soon as a frame is decoded, so a live stream can be processed
+     * before it ends.
+     *
+     * @param is the audio input stream
+     * @param consumer the consumer of the samples of channel 0, called once per decoded frame
+     * @throws IOException if the audio cannot be decoded
+     */
+    public void streamFromInputStream(InputStream is, Consumer<float[]> consumer)
+            throws IOException {
+        try (FFmpegFrameGrabber grabber = new FFmpegFrameGrabber(is)) {
+            applyConfig(grabber);
+            grabber.start();
+            grab(grabber, consumer);
+        } catch (FrameGrabber.Exception e) {
+            throw new IOException("Unsupported Audio file", e);
+        }
+    }
+
     private void applyConfig(FFmpegFrameGrabber grabber) {
         if (channels > 0) {
             grabber.setAudioChannels(channels);
@@ -82,29 +124,55 @@ public class FFmpegAudioFactory extends AudioFactory {
      * @throws FFmpegFrameGrabber.Exception if error occurs
      */
     private float[] grab(FFmpegFrameGrabber grabber) throws FFmpegFrameGrabber.Exception {
-        List<Float> list = new ArrayList<>();
+        SampleBuffer samples = new SampleBuffer();
+        grab(grabber, samples);
+        return samples.toArray();
+    }
+
+    private void grab(FFmpegFrameGrabber grabber, Consumer<float[]> consumer)
+            throws FFmpegFrameGrabber.Exception {
         Frame frame;
         while ((frame = grabber.grabFrame(true, false, true, false, false)) != null) {
             Buffer buf = frame.samples[0];
+            float[] chunk;
             if (buf instanceof ShortBuffer) {
                 ShortBuffer buffer = (ShortBuffer) buf;
-                for (int i = 0; i < buffer.limit(); i++) {
-                    list.add(buffer.get() / (float) Short.MAX_VALUE);
+                chunk = new float[buffer.limit()];
+                for (int i = 0; i < chunk.length; i++) {
+                    chunk[i] = buffer.get() / (float) Short.MAX_VALUE;
                 }
             } else if (buf instanceof IntBuffer) {
                 IntBuffer buffer = (IntBuffer) buf;
-                for (int i = 0; i < buffer.limit(); i++) {
-                    list.add(buffer.get() / (float) Integer.MAX_VALUE);
+                chunk = new float[buffer.limit()];
+                for (int i = 0; i < chunk.length; i++) {
+                    chunk[i] = buffer.get() / (float) Integer.MAX_VALUE;
                 }
             } else {
                 throw new UnsupportedOperationException(
                         "Unsupported sample format: " + sampleFormat);
             }
+            consumer.accept(chunk);
+        }
+    }
+
+    /** A growable buffer of samples. */
+    private static final class SampleBuffer implements Consumer<float[]> {
+
+        private float[] data = new float[16384];
+        private int size;
+
+        /** {@inheritDoc} */
+        @Override
+        public void accept(float[] chunk) {
+            if (size + chunk.length > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, size + chunk.length));
+            }
+            System.arraycopy(chunk, 0, data, size, chunk.length);
+            size += chunk.length;
         }
-        float[] ret = new float[list.size()];
-        for (int i = 0; i < list.size(); i++) {
-            ret[i] = list.get(i);
+
+        float[] toArray() {
+            return Arrays.copyOf(data, size);
         }
-        return ret;
     }
 }
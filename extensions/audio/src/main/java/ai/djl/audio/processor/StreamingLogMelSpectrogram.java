@@ -0,0 +1,228 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.audio.processor;
+
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.Shape;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Computes the Log Mel spectrogram of an audio stream incrementally.
+ *
+ * <p>The audio is passed in chunks of any size. The samples that are still needed by the next STFT
+ * windows are kept between calls, and each call only returns the mel frames that became complete.
+ * Once {@link #finish(NDManager)} is called, the concatenated frames are the same frames as {@link
+ * LogMelSpectrogram} computes on the whole audio, except for the normalization: the dynamic range
+ * is clamped against the maximum seen so far instead of the maximum of the whole audio.
+ *
+ * <p>The most recent frames are kept in a ring buffer of a fixed size, so a model with a fixed
+ * input window can run on {@link #getWindow(NDManager)} while the audio is still arriving.
+ */
+public class StreamingLogMelSpectrogram {
+
+    private static final int N_FFT = 400;
+    private static final int HOP_LENGTH = 160;
+    private static final int PAD = N_FFT / 2;
+
+    private NDArray melFilters;
+    private int numMel;
+    private float[] pending;
+    private int pendingSize;
+    private boolean started;
+    private boolean finished;
+    private float maxLogSpec;
+
+    private float[][] frames;
+    private int frameStart;
+    private int frameCount;
+
+    /**
+     * Constructs a new instance of {@code StreamingLogMelSpectrogram}.
+     *
+     * @param melFilter the mel filter
+     * @param maxFrames the number of the most recent frames to keep
+     */
+    public StreamingLogMelSpectrogram(NDArray melFilter, int maxFrames) {
+        if (maxFrames <= 0) {
+            throw new IllegalArgumentException("maxFrames must be positive: " + maxFrames);
+        }
+        this.melFilters = melFilter;
+        numMel = Math.toIntExact(melFilter.getShape().get(0));
+        pending = new float[N_FFT * 2];
+        frames = new float[maxFrames][];
+        maxLogSpec = Float.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Loads the mel filterbank matrix for projecting STFT into a Mel spectrogram.
+     *
+     * @param melFile the mdel file saved in .npz format
+     * @param numMel number of mel
+     * @param maxFrames the number of the most recent frames to keep
+     * @param manager manager to set for the content
+     * @return a new instance of {@code StreamingLogMelSpectrogram}
+     * @throws IOException file not loadable
+     * @see LogMelSpectrogram#newInstance(Path, int, NDManager)
+     */
+    public static StreamingLogMelSpectrogram newInstance(
+            Path melFile, int numMel, int maxFrames, NDManager manager) throws IOException {
+        try (InputStream is = Files.newInputStream(melFile)) {
+            NDArray melFilter = NDList.decode(manager, is).get("mel_" + numMel);
+            return new StreamingLogMelSpectrogram(melFilter, maxFrames);
+        }
+    }
+
+    /**
+     * Appends a chunk of samples and returns the new mel frames.
+     *
+     * @param manager the manager used for extracting features
+     * @param samples the next samples of the audio
+     * @return the new Log Mel frames of shape (numMel, newFrames), possibly empty
+     */
+    public NDArray accept(NDManager manager, float[] samples) {
+        if (finished) {
+            throw new IllegalStateException("The audio stream is already finished.");
+        }
+        append(samples, 0, samples.length);
+        if (!started) {
+            if (pendingSize <= PAD) {
+                // not enough samples yet to reflect pad the beginning of the audio
+                return manager.create(new Shape(numMel, 0));
+            }
+            // same as the centered STFT: reflect pad the beginning of the audio
+            float[] head = new float[PAD + pendingSize];
+            for (int i = 0; i < PAD; ++i) {
+                head[i] = pending[PAD - i];
+            }
+            System.arraycopy(pending, 0, head, PAD, pendingSize);
+            pendingSize = 0;
+            append(head, 0, head.length);
+            started = true;
+        }
+        return computeFrames(manager, false);
+    }
+
+    /**
+     * Ends the audio stream and returns the last mel frames.
+     *
+     * @param manager the manager used for extracting features
+     * @return the last Log Mel frames of shape (numMel, newFrames), possibly empty
+     */
+    public NDArray finish(NDManager manager) {
+        if (finished) {
+            throw new IllegalStateException("The audio stream is already finished.");
+        }
+        finished = true;
+        if (!started) {
+            return manager.create(new Shape(numMel, 0));
+        }
+        // same as the centered STFT: reflect pad the end of the audio
+        float[] tail = new float[PAD];
+        for (int i = 0; i < PAD; ++i) {
+            tail[i] = pending[pendingSize - 2 - i];
+        }
+        append(tail, 0, tail.length);
+        return computeFrames(manager, true);
+    }
+
+    /**
+     * Returns the most recent mel frames, up to the number of frames to keep.
+     *
+     * @param manager the manager used to create the window
+     * @return the most recent Log Mel frames of shape (numMel, frames) in time order
+     */
+    public NDArray getWindow(NDManager manager) {
+        float[] data = new float[numMel * frameCount];
+        for (int t = 0; t < frameCount; ++t) {
+            float[] frame = frames[(frameStart + t) % frames.length];
+            for (int m = 0; m < numMel; ++m) {
+                data[m * frameCount + t] = frame[m];
+            }
+        }
+        return manager.create(data, new Shape(numMel, frameCount));
+    }
+
+    /**
+     * Returns the number of frames in the window.
+     *
+     * @return the number of frames in the window
+     */
+    public int getWindowSize() {
+        return frameCount;
+    }
+
+    private NDArray computeFrames(NDManager manager, boolean last) {
+        int numFrames = pendingSize < N_FFT ? 0 : 1 + (pendingSize - N_FFT) / HOP_LENGTH;
+        if (last) {
+            // the centered STFT drops the last frame
+            --numFrames;
+        }
+        if (numFrames <= 0) {
+            return manager.create(new Shape(numMel, 0));
+        }
+        int length = (numFrames - 1) * HOP_LENGTH + N_FFT;
+        NDArray logSpec;
+        try (NDManager sub = manager.newSubManager()) {
+            float[] data = new float[length];
+            System.arraycopy(pending, 0, data, 0, length);
+            NDArray samples = sub.create(data);
+            NDArray window = sub.hanningWindow(N_FFT);
+            NDArray stft = samples.stft(N_FFT, HOP_LENGTH, false, window, true);
+            NDArray magnitudes = stft.abs().pow(2);
+            NDArray melSpec = melFilters.matMul(magnitudes);
+            melSpec.attach(sub);
+            logSpec = melSpec.clip(1e-10, Float.MAX_VALUE).log10();
+            maxLogSpec = Math.max(maxLogSpec, logSpec.max().getFloat());
+            logSpec = logSpec.maximum(maxLogSpec - 8.0f);
+            logSpec = logSpec.add(4.0f).div(4.0f);
+            logSpec.attach(manager);
+        }
+
+        // keep the samples still needed by the next windows
+        int consumed = numFrames * HOP_LENGTH;
+        pendingSize -= consumed;
+        System.arraycopy(pending, consumed, pending, 0, pendingSize);
+
+        float[] values = logSpec.toFloatArray();
+        for (int t = 0; t < numFrames; ++t) {
+            float[] frame = new float[numMel];
+            for (int m = 0; m < numMel; ++m) {
+                frame[m] = values[m * numFrames + t];
+            }
+            if (frameCount < frames.length) {
+                frames[(frameStart + frameCount) % frames.length] = frame;
+                ++frameCount;
+            } else {
+                frames[frameStart] = frame;
+                frameStart = (frameStart + 1) % frames.length;
+            }
+        }
+        return logSpec;
+    }
+
+    private void append(float[] samples, int offset, int length) {
+        if (pendingSize + length > pending.length) {
+            float[] buf = new float[Math.max(pending.length * 2, pendingSize + length)];
+            System.arraycopy(pending, 0, buf, 0, pendingSize);
+            pending = buf;
+        }
+        System.arraycopy(samples, offset, pending, pendingSize, length);
+        pendingSize += length;
+    }
+}
@@ -17,6 +17,8 @@ import ai.djl.Device;
 import ai.djl.audio.dataset.AudioData;
 import ai.djl.audio.util.AudioUtils;
 import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDArrays;
+import ai.djl.ndarray.NDList;
 import ai.djl.ndarray.NDManager;
 import ai.djl.ndarray.types.Shape;
 import ai.djl.training.util.DownloadUtils;
@@ -26,6 +28,7 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collections;
@@ -78,6 +81,46 @@ public class AudioProcessorTest {
         }
     }
 
+    @Test
+    void testStreamingLogMelSpectrogram() throws IOException {
+        try (NDManager manager = NDManager.newBaseManager()) {
+            Path melFile = Paths.get("build/test/mel_80_filters.npz");
+            float[] samples = new float[16000];
+            for (int i = 0; i < samples.length; ++i) {
+                samples[i] = (float) Math.sin(i * 0.05) * 0.5f;
+            }
+            LogMelSpectrogram processor = LogMelSpectrogram.newInstance(melFile, 80, manager);
+            NDArray expected = processor.extractFeatures(manager, manager.create(samples));
+
+            StreamingLogMelSpectrogram streaming =
+                    StreamingLogMelSpectrogram.newInstance(melFile, 80, 50, manager);
+            NDList frames = new NDList();
+            int[] chunkSizes = {100, 333, 1000, 4567};
+            int offset = 0;
+            for (int i = 0; offset < samples.length; ++i) {
+                int size = Math.min(chunkSizes[i % chunkSizes.length], samples.length - offset);
+                float[] chunk = Arrays.copyOfRange(samples, offset, offset + size);
+                frames.add(streaming.accept(manager, chunk));
+                offset += size;
+            }
+            NDArray last = streaming.finish(manager);
+            frames.add(last);
+            NDArray result = NDArrays.concat(frames, 1);
+            Assert.assertEquals(result.getShape(), expected.getShape());
+
+            // the last frames are normalized with the maximum of the whole audio
+            long numLast = last.getShape().get(1);
+            long total = expected.getShape().get(1);
+            Assert.assertTrue(numLast > 0);
+            NDArray expectedLast = expected.get(":, {}:", total - numLast);
+            Assert.assertTrue(last.allClose(expectedLast, 1e-4, 1e-4, false));
+
+            Assert.assertEquals(streaming.getWindowSize(), 50);
+            NDArray window = streaming.getWindow(manager);
+            Assert.assertTrue(window.allClose(result.get(":, {}:", total - 50)));
+        }
+    }
+
     @Test
     public static void testLinearSpecgram() {
         NDManager manager = NDManager.newBaseManager(Device.cpu());
@@ -28,11 +28,17 @@ import org.opencv.core.MatOfByte;
 import org.opencv.imgcodecs.Imgcodecs;
 import org.opencv.imgproc.Imgproc;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.IntBuffer;
 import java.nio.file.Path;
+import java.util.Iterator;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 
 /** {@code OpenCVImageFactory} is a high performance implementation of {@link ImageFactory}. */
 public class OpenCVImageFactory extends ImageFactory {
@@ -68,6 +74,37 @@ public class OpenCVImageFactory extends ImageFactory {
         return new OpenCVImage(img);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Image fromFile(Path path, int width, int height) throws IOException {
+        int flag;
+        try (ImageInputStream iis = ImageIO.createImageInputStream(path.toFile())) {
+            flag = getReadFlag(iis, width, height);
+        }
+        Mat img = Imgcodecs.imread(path.toAbsolutePath().toString(), flag);
+        if (img.empty()) {
+            throw new IOException("Read image failed: " + path);
+        }
+        return new OpenCVImage(img);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Image fromInputStream(InputStream is, int width, int height) throws IOException {
+        byte[] buf = Utils.toByteArray(is);
+        int flag;
+        try (ImageInputStream iis =
+                ImageIO.createImageInputStream(new ByteArrayInputStream(buf))) {
+            flag = getReadFlag(iis, width, height);
+        }
+        Mat mat = new MatOfByte(buf);
+        Mat img = Imgcodecs.imdecode(mat, flag);
+        if (img.empty()) {
+            throw new IOException("Read image failed.");
+        }
+        return new OpenCVImage(img);
+    }
+
     /** {@inheritDoc} */
     @Override
     public Image fromImage(Object image) {
@@ -118,4 +155,32 @@ public class OpenCVImageFactory extends ImageFactory {
         img.put(0, 0, data);
         return new OpenCVImage(img);
     }
+
+    private static int getReadFlag(ImageInputStream iis, int width, int height)
+            throws IOException {
+        if (iis == null) {
+            return Imgcodecs.IMREAD_COLOR;
+        }
+        Iterator<ImageReader> it = ImageIO.getImageReaders(iis);
+        if (!it.hasNext()) {
+            return Imgcodecs.IMREAD_COLOR;
+        }
+        ImageReader reader = it.next();
+        try {
+            // only reads the header to get the size of the image
+            reader.setInput(iis, true, true);
+            int scale = Math.min(reader.getWidth(0) / width, reader.getHeight(0) / height);
+            // JPEG images are scaled down while decoding the DCT blocks
+            if (scale >= 8) {
+                return Imgcodecs.IMREAD_REDUCED_COLOR_8;
+            } else if (scale >= 4) {
+                return Imgcodecs.IMREAD_REDUCED_COLOR_4;
+            } else if (scale >= 2) {
+                return Imgcodecs.IMREAD_REDUCED_COLOR_2;
+            }
+            return Imgcodecs.IMREAD_COLOR;
+        } finally {
+            reader.dispose();
+        }
+    }
 }
@@ -32,6 +32,7 @@ import org.testng.annotations.Test;
 
 import java.awt.Color;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -127,6 +128,22 @@ public class OpenCVImageFactoryTest {
         }
     }
 
+    @Test
+    public void testReducedResolution() throws IOException {
+        ImageFactory factory = ImageFactory.getInstance();
+        Path path = Paths.get("../../examples/src/test/resources/kitten.jpg");
+        // the JPEG image is decoded at half of the resolution
+        Image img = factory.fromFile(path, 100, 100);
+        Assert.assertEquals(img.getWidth(), 225);
+        Assert.assertEquals(img.getHeight(), 150);
+
+        try (InputStream is = Files.newInputStream(path)) {
+            img = factory.fromInputStream(is, 300, 300);
+            Assert.assertEquals(img.getWidth(), 450);
+            Assert.assertEquals(img.getHeight(), 300);
+        }
+    }
+
     @Test
     public void testBoundingBoxes() {
         ImageFactory factory = ImageFactory.getInstance();
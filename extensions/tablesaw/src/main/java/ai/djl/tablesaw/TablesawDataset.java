@@ -27,6 +27,7 @@ public class TablesawDataset extends TabularDataset {
 
     protected ReadOptions readOptions;
     protected Table table;
+    private boolean prepared;
 
     protected TablesawDataset(TablesawBuilder<?> builder) {
         super(builder);
@@ -49,8 +50,12 @@ public class TablesawDataset extends TabularDataset {
     /** {@inheritDoc} */
     @Override
     public void prepare(Progress progress) {
+        if (prepared) {
+            return;
+        }
         table = Table.read().usingOptions(readOptions);
         prepareFeaturizers();
+        prepared = true;
     }
 
     /**
@@ -13,6 +13,7 @@
 package ai.djl.timeseries;
 
 import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDManager;
 
 import java.time.LocalDateTime;
 
@@ -22,6 +23,7 @@ import java.time.LocalDateTime;
 public class SampleForecast extends Forecast {
 
     private NDArray samples;
+    private NDArray sortedSamples;
     private int numSamples;
 
     /**
@@ -38,13 +40,32 @@ public class SampleForecast extends Forecast {
         this.numSamples = (int) samples.getShape().head();
     }
 
+    SampleForecast(NDArray samples, NDArray sortedSamples, LocalDateTime startDate, String freq) {
+        this(samples, startDate, freq);
+        this.sortedSamples = sortedSamples;
+    }
+
     /**
      * Returns the sorted sample array.
      *
+     * <p>The returned array is a copy that the caller owns, the sorted samples used by the
+     * quantiles are not affected when it is closed.
+     *
      * @return the sorted sample array
      */
     public NDArray getSortedSamples() {
-        return samples.sort(0);
+        return sortedSamples().duplicate();
+    }
+
+    private NDArray sortedSamples() {
+        if (sortedSamples == null) {
+            sortedSamples = samples.sort(0);
+        }
+        return sortedSamples;
+    }
+
+    NDArray getSamples() {
+        return samples;
     }
 
     /**
@@ -60,7 +81,28 @@ public class SampleForecast extends Forecast {
     @Override
     public NDArray quantile(float q) {
         int sampleIdx = Math.round((numSamples - 1) * q);
-        return getSortedSamples().get("{}, :", sampleIdx);
+        return sortedSamples().get("{}, :", sampleIdx);
+    }
+
+    /**
+     * Computes several quantiles from the predicted distribution at once.
+     *
+     * @param qs the quantiles to compute
+     * @return the values of the quantiles across the prediction range, the first axis is the
+     *     quantile
+     */
+    public NDArray quantiles(float... qs) {
+        try (NDArray index = quantileIndices(samples.getManager(), numSamples, qs)) {
+            return sortedSamples().get(index);
+        }
+    }
+
+    static NDArray quantileIndices(NDManager manager, int numSamples, float... qs) {
+        long[] indices = new long[qs.length];
+        for (int i = 0; i < qs.length; ++i) {
+            indices[i] = Math.round((numSamples - 1) * qs[i]);
+        }
+        return manager.create(indices);
     }
 
     /**
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.timeseries;
+
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDArrays;
+import ai.djl.ndarray.NDList;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A batch of {@link SampleForecast}s that share the number of samples and the prediction length.
+ *
+ * <p>The samples of all the series are sorted together once, and the quantiles of all the series
+ * are gathered with a single indexing operation.
+ */
+public class SampleForecastBatch {
+
+    private NDArray samples;
+    private NDArray sortedSamples;
+    private List<LocalDateTime> startDates;
+    private String freq;
+    private int numSamples;
+
+    /**
+     * Constructs a {@code SampleForecastBatch}.
+     *
+     * @param samples {@link NDArray} array of size (batch, num_samples, prediction_length) (1D
+     *     case), (batch, num_samples, prediction_length, target_dim) (multivariate case)
+     * @param startDates the start of the forecast of each series
+     * @param freq frequency of the forecast
+     */
+    public SampleForecastBatch(NDArray samples, List<LocalDateTime> startDates, String freq) {
+        if (samples.getShape().get(0) != startDates.size()) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "Expect %d start dates, but got %d",
+                            samples.getShape().get(0), startDates.size()));
+        }
+        this.samples = samples;
+        this.startDates = startDates;
+        this.freq = freq;
+        this.numSamples = (int) samples.getShape().get(1);
+    }
+
+    /**
+     * Creates a {@code SampleForecastBatch} from several {@link SampleForecast}s.
+     *
+     * @param forecasts the forecasts with the same number of samples and prediction length
+     * @return a new {@code SampleForecastBatch}
+     */
+    public static SampleForecastBatch of(List<SampleForecast> forecasts) {
+        if (forecasts.isEmpty()) {
+            throw new IllegalArgumentException("forecasts cannot be empty");
+        }
+        NDList list = new NDList(forecasts.size());
+        List<LocalDateTime> startDates = new ArrayList<>(forecasts.size());
+        for (SampleForecast forecast : forecasts) {
+            list.add(forecast.getSamples());
+            startDates.add(forecast.startDate);
+        }
+        return new SampleForecastBatch(NDArrays.stack(list), startDates, forecasts.get(0).freq());
+    }
+
+    /**
+     * Returns the number of series in the batch.
+     *
+     * @return the number of series in the batch
+     */
+    public int size() {
+        return startDates.size();
+    }
+
+    /**
+     * Returns the number of samples representing each forecast.
+     *
+     * @return the number of samples
+     */
+    public int getNumSamples() {
+        return numSamples;
+    }
+
+    /**
+     * Returns the sorted sample array of all the series.
+     *
+     * <p>The returned array is a copy that the caller owns, the sorted samples used by the
+     * quantiles are not affected when it is closed.
+     *
+     * @return the sorted sample array
+     */
+    public NDArray getSortedSamples() {
+        return sortedSamples().duplicate();
+    }
+
+    private NDArray sortedSamples() {
+        if (sortedSamples == null) {
+            sortedSamples = samples.sort(1);
+        }
+        return sortedSamples;
+    }
+
+    /**
+     * Computes a quantile from the predicted distribution of all the series.
+     *
+     * @param q quantile to compute
+     * @return the value of the quantile across the prediction range, the first axis is the series
+     */
+    public NDArray quantile(float q) {
+        int sampleIdx = Math.round((numSamples - 1) * q);
+        return sortedSamples().get(":, {}", sampleIdx);
+    }
+
+    /**
+     * Computes several quantiles from the predicted distribution of all the series at once.
+     *
+     * @param qs the quantiles to compute
+     * @return the values of the quantiles across the prediction range, the first axis is the
+     *     series and the second axis is the quantile
+     */
+    public NDArray quantiles(float... qs) {
+        try (NDArray index =
+                SampleForecast.quantileIndices(samples.getManager(), numSamples, qs)) {
+            return sortedSamples().get(":, {}", index);
+        }
+    }
+
+    /**
+     * Computes the forecast mean of all the series.
+     *
+     * @return the forecast mean, the first axis is the series
+     */
+    public NDArray mean() {
+        return samples.mean(new int[] {1});
+    }
+
+    /**
+     * Returns the forecast of a series of the batch.
+     *
+     * <p>The returned forecast reuses the sorted samples if they are already computed.
+     *
+     * @param index the index of the series
+     * @return the forecast of the series
+     */
+    public SampleForecast get(int index) {
+        NDArray sorted = sortedSamples == null ? null : sortedSamples.get(index);
+        return new SampleForecast(samples.get(index), sorted, startDates.get(index), freq);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.timeseries;
+
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.Shape;
+import ai.djl.testing.TestRequirements;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+public class SampleForecastTest {
+
+    @BeforeClass
+    public void setUp() {
+        // TODO: Remove this once we support PyTorch support for timeseries extension
+        TestRequirements.notArm();
+    }
+
+    @Test
+    public void testQuantiles() {
+        try (NDManager manager = NDManager.newBaseManager()) {
+            LocalDateTime start = LocalDateTime.parse("2011-01-29T00:00");
+            // 5 samples of a prediction length of 2, in reverse order
+            NDArray samples = manager.arange(10f, 0f, -1f).reshape(5, 2);
+            SampleForecast forecast = new SampleForecast(samples, start, "D");
+
+            // closing the returned sorted samples does not affect the quantiles
+            try (NDArray sorted = forecast.getSortedSamples()) {
+                float[] expected = {2, 1, 4, 3, 6, 5, 8, 7, 10, 9};
+                Assert.assertEquals(sorted.toFloatArray(), expected);
+            }
+            NDArray quantiles = forecast.quantiles(0f, 0.5f, 1f);
+            Assert.assertEquals(quantiles.getShape(), new Shape(3, 2));
+            Assert.assertEquals(quantiles.toFloatArray(), new float[] {2, 1, 6, 5, 10, 9});
+            Assert.assertEquals(quantiles.get(1), forecast.median());
+
+            NDArray other = samples.add(10f);
+            SampleForecastBatch batch =
+                    SampleForecastBatch.of(
+                            Arrays.asList(forecast, new SampleForecast(other, start, "D")));
+            Assert.assertEquals(batch.size(), 2);
+            quantiles = batch.quantiles(0f, 0.5f, 1f);
+            Assert.assertEquals(quantiles.getShape(), new Shape(2, 3, 2));
+            Assert.assertEquals(quantiles.get(0), forecast.quantiles(0f, 0.5f, 1f));
+            Assert.assertEquals(batch.quantile(0.5f).get(1).toFloatArray(), new float[] {16, 15});
+            Assert.assertEquals(batch.mean().get(1), batch.get(1).mean());
+            Assert.assertEquals(batch.get(1).quantile(1f).toFloatArray(), new float[] {20, 19});
+            batch.getSortedSamples().close();
+            Assert.assertEquals(batch.quantile(0f).toFloatArray(), new float[] {2, 1, 12, 11});
+        }
+    }
+}
@@ -98,12 +98,13 @@ public class FillMaskTranslator implements Translator<String, Classifications> {
     static Classifications toClassifications(
             HuggingFaceTokenizer tokenizer, NDList output, int maskIndex, int topK) {
         NDArray prob = output.get(0).get(maskIndex).softmax(0);
-        NDArray array = prob.argSort(0, false);
-        long[] classIds = new long[topK];
-        List<Double> probabilities = new ArrayList<>(topK);
-        for (int i = 0; i < topK; ++i) {
-            classIds[i] = array.getLong(i);
-            probabilities.add((double) prob.getFloat(classIds[i]));
+        // gather the top K on the device and only copy those values back
+        NDArray indices = prob.argSort(0, false).get(":{}", topK);
+        long[] classIds = indices.toLongArray();
+        float[] values = prob.get(indices).toFloatArray();
+        List<Double> probabilities = new ArrayList<>(values.length);
+        for (float value : values) {
+            probabilities.add((double) value);
         }
         String[] classes = tokenizer.decode(classIds).trim().split(" ");
         return new Classifications(Arrays.asList(classes), probabilities);
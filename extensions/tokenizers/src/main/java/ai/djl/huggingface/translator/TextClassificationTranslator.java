@@ -87,16 +87,13 @@ public class TextClassificationTranslator implements Translator<String, Classifi
         } else if ("single_label_classification".equals(config.problemType) || size > 1) {
             logits = logits.softmax(0);
         }
-        long[] indices = logits.argSort(-1, false).toLongArray();
-        float[] buf = logits.toFloatArray();
+        // the classes are sorted by probability, the probabilities are gathered on the device
+        NDArray indices = logits.argSort(-1, false);
         List<String> classes = new ArrayList<>(size);
-        List<Double> probabilities = new ArrayList<>(size);
-        for (long l : indices) {
-            int index = Math.toIntExact(l);
+        for (long index : indices.toLongArray()) {
             classes.add(config.id2label.get(String.valueOf(index)));
-            probabilities.add((double) buf[index]);
         }
-        return new Classifications(classes, probabilities);
+        return new Classifications(classes, logits.get(indices));
     }
 
     /**
@@ -16,7 +16,9 @@ import ai.djl.Device;
 import ai.djl.Model;
 import ai.djl.basicmodelzoo.basic.Mlp;
 import ai.djl.inference.Predictor;
+import ai.djl.inference.PredictorPool;
 import ai.djl.integration.util.TestUtils;
+import ai.djl.metric.Metrics;
 import ai.djl.ndarray.NDList;
 import ai.djl.ndarray.NDManager;
 import ai.djl.ndarray.types.Shape;
@@ -28,10 +30,19 @@ import ai.djl.training.TrainingConfig;
 import ai.djl.training.loss.Loss;
 import ai.djl.translate.NoopTranslator;
 import ai.djl.translate.TranslateException;
+import ai.djl.translate.TranslatorContext;
 
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class PredictorTest {
 
     @Test
@@ -50,6 +61,85 @@ public class PredictorTest {
         predictWithDeviceHelper(Device.gpu(), Device.cpu());
     }
 
+    @Test
+    public void testPredictorPool() throws InterruptedException, ExecutionException {
+        try (Model model = Model.newInstance("mlp", TestUtils.getEngine())) {
+            model.setBlock(new Mlp(10, 10, new int[] {10}));
+            TrainingConfig config = new DefaultTrainingConfig(Loss.softmaxCrossEntropyLoss());
+            try (Trainer trainer = model.newTrainer(config)) {
+                trainer.initialize(new Shape(1, 10));
+            }
+
+            Metrics metrics = new Metrics();
+            try (PredictorPool<NDList, NDList> pool =
+                    PredictorPool.builder(model, new NoopTranslator()).optSize(2).build()) {
+                pool.setMetrics(metrics);
+                ExecutorService executor = Executors.newFixedThreadPool(4);
+                try {
+                    List<Future<Shape>> futures = new ArrayList<>();
+                    for (int i = 0; i < 8; ++i) {
+                        futures.add(
+                                executor.submit(
+                                        () -> {
+                                            NDManager manager = model.getNDManager();
+                                            try (NDManager sub = manager.newSubManager()) {
+                                                Shape shape = new Shape(1, 10);
+                                                NDList input = new NDList(sub.ones(shape));
+                                                return pool.predict(input).head().getShape();
+                                            }
+                                        }));
+                    }
+                    for (Future<Shape> future : futures) {
+                        Assert.assertEquals(future.get(), new Shape(1, 10));
+                    }
+                } finally {
+                    executor.shutdown();
+                }
+                Assert.assertEquals(pool.getActiveCount(), 0);
+                Assert.assertEquals(metrics.getMetric(PredictorPool.WAIT_METRIC).size(), 8);
+                Assert.assertTrue(metrics.hasMetric(PredictorPool.UTILIZATION_METRIC));
+            }
+        }
+    }
+
+    @Test
+    public void testPredictorPoolKeepsPredictorOnTranslateError() throws TranslateException {
+        try (Model model = Model.newInstance("mlp", TestUtils.getEngine())) {
+            model.setBlock(new Mlp(10, 10, new int[] {10}));
+            TrainingConfig config = new DefaultTrainingConfig(Loss.softmaxCrossEntropyLoss());
+            try (Trainer trainer = model.newTrainer(config)) {
+                trainer.initialize(new Shape(1, 10));
+            }
+
+            AtomicInteger prepared = new AtomicInteger();
+            NoopTranslator translator =
+                    new NoopTranslator() {
+
+                        @Override
+                        public void prepare(TranslatorContext ctx) {
+                            prepared.incrementAndGet();
+                        }
+
+                        @Override
+                        public NDList processInput(TranslatorContext ctx, NDList input) {
+                            if (input.isEmpty()) {
+                                throw new IllegalArgumentException("Empty input");
+                            }
+                            return input;
+                        }
+                    };
+            try (PredictorPool<NDList, NDList> pool =
+                            PredictorPool.builder(model, translator).optSize(1).build();
+                    NDManager manager = model.getNDManager().newSubManager()) {
+                Assert.assertThrows(TranslateException.class, () -> pool.predict(new NDList()));
+                NDList input = new NDList(manager.ones(new Shape(1, 10)));
+                Assert.assertEquals(pool.predict(input).head().getShape(), new Shape(1, 10));
+                // the predictor was reused instead of being replaced
+                Assert.assertEquals(prepared.get(), 1);
+            }
+        }
+    }
+
     public void predictWithDeviceHelper(Device device, Device predictorDevice)
             throws TranslateException {
         // Create simple model on modelDevice
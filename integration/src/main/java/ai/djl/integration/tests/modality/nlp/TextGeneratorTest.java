@@ -0,0 +1,146 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.integration.tests.modality.nlp;
+
+import ai.djl.integration.util.TestUtils;
+import ai.djl.modality.nlp.generate.CausalLMOutput;
+import ai.djl.modality.nlp.generate.LMBlock;
+import ai.djl.modality.nlp.generate.SearchConfig;
+import ai.djl.modality.nlp.generate.TextGenerator;
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TextGeneratorTest {
+
+    private static final int VOCAB_SIZE = 8;
+
+    @Test
+    public void testGreedySearch() {
+        try (NDManager manager = NDManager.newBaseManager(TestUtils.getDevices(1)[0])) {
+            CountingLM lm = new CountingLM();
+            SearchConfig config =
+                    SearchConfig.builder().optMaxNewTokens(6).optEosTokenId(7).build();
+            TextGenerator generator = new TextGenerator(lm, config);
+
+            // the second sequence is shorter and padded on the left
+            NDArray inputIds = manager.create(new long[] {1, 2, 3, 0, 0, 4}, new Shape(2, 3));
+            NDArray mask = manager.create(new long[] {1, 1, 1, 0, 0, 1}, new Shape(2, 3));
+            List<long[]> emitted = new ArrayList<>();
+            NDArray output = generator.generate(inputIds, mask, emitted::add);
+
+            // generation stops once both sequences produced the end of sequence token
+            long[] expected = {1, 2, 3, 4, 5, 6, 7, 0, 0, 4, 5, 6, 7, 0};
+            Assert.assertEquals(output.getShape(), new Shape(2, 7));
+            Assert.assertEquals(output.toLongArray(), expected);
+            Assert.assertEquals(emitted.size(), 4);
+            Assert.assertEquals(emitted.get(0), new long[] {4, 5});
+            Assert.assertEquals(emitted.get(3), new long[] {7, 0});
+
+            // only the new token is processed once the keys and values are cached
+            Assert.assertEquals(lm.inputLengths, new long[] {3, 1, 1, 1});
+            Assert.assertEquals(lm.pastLengths, new long[] {0, 3, 4, 5});
+        }
+    }
+
+    @Test
+    public void testBeamSearch() {
+        try (NDManager manager = NDManager.newBaseManager(TestUtils.getDevices(1)[0])) {
+            SearchConfig config =
+                    SearchConfig.builder()
+                            .optMaxNewTokens(4)
+                            .optBeamSize(3)
+                            .optEosTokenId(7)
+                            .build();
+            TextGenerator generator = new TextGenerator(new CountingLM(), config);
+            NDArray inputIds = manager.create(new long[] {2, 3, 5, 6}, new Shape(2, 2));
+            NDArray output = generator.generate(inputIds);
+            long[] expected = {2, 3, 4, 5, 6, 7, 5, 6, 7, 0, 0, 0};
+            Assert.assertEquals(output.toLongArray(), expected);
+        }
+    }
+
+    @Test
+    public void testSampling() {
+        try (NDManager manager = NDManager.newBaseManager(TestUtils.getDevices(1)[0])) {
+            // with top-k of 1, sampling is the same as greedy search
+            SearchConfig config =
+                    SearchConfig.builder()
+                            .optMaxNewTokens(3)
+                            .optSampling(true)
+                            .optTopK(1)
+                            .optTemperature(0.5f)
+                            .build();
+            TextGenerator generator = new TextGenerator(new CountingLM(), config);
+            NDArray inputIds = manager.create(new long[] {1}, new Shape(1, 1));
+            NDArray output = generator.generate(inputIds);
+            Assert.assertEquals(output.toLongArray(), new long[] {1, 2, 3, 4});
+
+            config =
+                    SearchConfig.builder()
+                            .optMaxNewTokens(3)
+                            .optSampling(true)
+                            .optTopP(0.5f)
+                            .build();
+            generator = new TextGenerator(new CountingLM(), config);
+            output = generator.generate(inputIds);
+            Assert.assertEquals(output.toLongArray(), new long[] {1, 2, 3, 4});
+        }
+    }
+
+    /** A language model that always predicts the next token to be the last token plus one. */
+    private static final class CountingLM implements LMBlock {
+
+        long[] inputLengths = new long[0];
+        long[] pastLengths = new long[0];
+
+        /** {@inheritDoc} */
+        @Override
+        public CausalLMOutput forward(NDList input, NDList pastKeyValues) {
+            NDArray inputIds = input.get(0);
+            NDManager manager = inputIds.getManager();
+            Shape shape = inputIds.getShape();
+            long[] ids = inputIds.toLongArray();
+            float[] logits = new float[ids.length * VOCAB_SIZE];
+            for (int i = 0; i < ids.length; ++i) {
+                logits[i * VOCAB_SIZE + (int) ((ids[i] + 1) % VOCAB_SIZE)] = 10;
+            }
+            // the cache stores the token ids, which is enough to check its length
+            NDArray key = inputIds.toType(DataType.FLOAT32, false).expandDims(-1);
+            long pastLength = 0;
+            if (pastKeyValues != null) {
+                pastLength = pastKeyValues.head().getShape().get(1);
+                key = pastKeyValues.head().concat(key, 1);
+            }
+            inputLengths = append(inputLengths, shape.get(1));
+            pastLengths = append(pastLengths, pastLength);
+            Shape logitsShape = new Shape(shape.get(0), shape.get(1), VOCAB_SIZE);
+            return new CausalLMOutput(manager.create(logits, logitsShape), new NDList(key));
+        }
+
+        private static long[] append(long[] values, long value) {
+            long[] ret = new long[values.length + 1];
+            System.arraycopy(values, 0, ret, 0, values.length);
+            ret[values.length] = value;
+            return ret;
+        }
+    }
+}
@@ -16,6 +16,7 @@ import ai.djl.integration.util.TestUtils;
 import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDManager;
 import ai.djl.ndarray.index.NDIndex;
+import ai.djl.ndarray.index.NDIndexTemplate;
 import ai.djl.ndarray.types.DataType;
 import ai.djl.ndarray.types.Shape;
 
@@ -179,6 +180,40 @@ public class NDIndexTest {
         }
     }
 
+    @Test
+    public void testGetTemplate() {
+        try (NDManager manager = NDManager.newBaseManager(TestUtils.getEngine())) {
+            NDArray original = manager.arange(120).reshape(2, 3, 4, 5);
+            NDIndexTemplate template = NDIndexTemplate.compile("1,...,2,3:5:2");
+            Assert.assertEquals(template.getNumArgs(), 0);
+            NDArray expected = original.get("1,...,2,3:5:2");
+            Assert.assertEquals(template.get(original), expected);
+            // the resolved slice is reused for the same shape
+            Assert.assertEquals(template.get(original), expected);
+            Assert.assertEquals(template.get(original.add(1)), expected.add(1));
+            original = original.reshape(2, 3, 20, 1);
+            Assert.assertEquals(template.get(original), original.get("1,...,2,3:5:2"));
+
+            NDIndexTemplate args = NDIndexTemplate.compile(":{}, {}, {}:{}");
+            Assert.assertEquals(args.getNumArgs(), 4);
+            Assert.assertEquals(args.get(original, 1, 2, 3, 6), original.get(":1, 2, 3:6"));
+            Assert.assertEquals(args.bind(1, 2, 3, 6).getRank(), 3);
+            Assert.assertThrows(IllegalArgumentException.class, () -> args.bind(1, 2));
+        }
+    }
+
+    @Test
+    public void testTemplateCache() {
+        NDIndexTemplate template = NDIndexTemplate.compile("0, :");
+        Assert.assertSame(NDIndexTemplate.compile("0, :"), template);
+        // many dynamic index strings clear the bounded cache, the template is cached again
+        for (int i = 0; i < 2000; ++i) {
+            Assert.assertEquals(NDIndexTemplate.compile(i + ":").getNumArgs(), 0);
+        }
+        template = NDIndexTemplate.compile("0, :");
+        Assert.assertSame(NDIndexTemplate.compile("0, :"), template);
+    }
+
     @Test
     public void testEmptyArrayClosing() {
         // This is to check the resource closing issue in MXNet engine is circumvented.
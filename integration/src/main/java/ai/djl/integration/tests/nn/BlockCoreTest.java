@@ -24,10 +24,17 @@ import ai.djl.ndarray.NDManager;
 import ai.djl.ndarray.types.DataType;
 import ai.djl.ndarray.types.LayoutType;
 import ai.djl.ndarray.types.Shape;
+import ai.djl.nn.Activation;
 import ai.djl.nn.Block;
+import ai.djl.nn.BlockFusion;
+import ai.djl.nn.BlockProfiler;
+import ai.djl.nn.BlockQuantization;
+import ai.djl.nn.Blocks;
+import ai.djl.nn.FusedBlock;
 import ai.djl.nn.LambdaBlock;
 import ai.djl.nn.ParallelBlock;
 import ai.djl.nn.Parameter;
+import ai.djl.nn.QuantizedBlock;
 import ai.djl.nn.SequentialBlock;
 import ai.djl.nn.convolutional.Conv1d;
 import ai.djl.nn.convolutional.Conv1dTranspose;
@@ -47,11 +54,14 @@ import ai.djl.nn.recurrent.RNN;
 import ai.djl.testing.Assertions;
 import ai.djl.training.DefaultTrainingConfig;
 import ai.djl.training.GradientCollector;
+import ai.djl.training.ParameterStore;
 import ai.djl.training.Trainer;
 import ai.djl.training.TrainingConfig;
+import ai.djl.training.dataset.ArrayDataset;
 import ai.djl.training.initializer.Initializer;
 import ai.djl.training.loss.Loss;
 import ai.djl.training.loss.SoftmaxCrossEntropyLoss;
+import ai.djl.translate.TranslateException;
 import ai.djl.util.PairList;
 
 import org.testng.Assert;
@@ -63,6 +73,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.List;
 import java.util.stream.IntStream;
 
 public class BlockCoreTest {
@@ -1010,6 +1021,194 @@ public class BlockCoreTest {
         }
     }
 
+    @Test
+    public void testCompiledSequentialBlock() {
+        TrainingConfig config =
+                new DefaultTrainingConfig(Loss.l2Loss())
+                        .optInitializer(Initializer.ONES, Parameter.Type.WEIGHT);
+        NDArray[] intermediate = new NDArray[1];
+        SequentialBlock block = new SequentialBlock();
+        block.add(Linear.builder().setUnits(10).build());
+        block.add(
+                list -> {
+                    intermediate[0] = list.singletonOrThrow();
+                    return new NDList(intermediate[0].mul(2));
+                });
+        block.add(new SequentialBlock().add(Linear.builder().setUnits(5).build()));
+
+        try (Model model = Model.newInstance("model", TestUtils.getEngine())) {
+            model.setBlock(block);
+
+            try (Trainer trainer = model.newTrainer(config)) {
+                Shape inputShape = new Shape(2, 3);
+                trainer.initialize(inputShape);
+                NDManager manager = trainer.getManager();
+                NDArray data = manager.ones(inputShape);
+                NDArray expected = trainer.evaluate(new NDList(data)).singletonOrThrow();
+                Assert.assertFalse(intermediate[0].isReleased());
+
+                block.compile(inputShape);
+                Assert.assertTrue(block.isCompiled());
+                Assert.assertEquals(block.getPlannedShapes()[2][0], new Shape(2, 5));
+
+                NDArray result = trainer.evaluate(new NDList(data)).singletonOrThrow();
+                Assertions.assertAlmostEquals(result, expected);
+                Assert.assertTrue(intermediate[0].isReleased());
+                Assert.assertFalse(data.isReleased());
+
+                // arrays that are not created by the forward pass are kept
+                NDArray constant = manager.ones(new Shape(2, 5));
+                SequentialBlock cached = new SequentialBlock();
+                cached.add(list -> new NDList(constant));
+                cached.add(list -> new NDList(list.singletonOrThrow().add(1)));
+                cached.initialize(manager, DataType.FLOAT32, inputShape);
+                cached.compile(inputShape);
+                cached.forward(new ParameterStore(manager, false), new NDList(data), false);
+                Assert.assertFalse(constant.isReleased());
+            }
+        }
+    }
+
+    @Test
+    public void testBlockFusion() {
+        TrainingConfig config = new DefaultTrainingConfig(Loss.l2Loss());
+        SequentialBlock block = new SequentialBlock();
+        block.add(Conv2d.builder().setKernelShape(new Shape(3, 3)).setFilters(4).build());
+        block.add(BatchNorm.builder().build());
+        block.add(Activation.reluBlock());
+        block.add(Blocks.batchFlattenBlock());
+        block.add(Linear.builder().setUnits(3).optBias(false).build());
+        block.add(BatchNorm.builder().build());
+
+        try (Model model = Model.newInstance("model", TestUtils.getEngine())) {
+            model.setBlock(block);
+
+            try (Trainer trainer = model.newTrainer(config)) {
+                Shape inputShape = new Shape(2, 2, 5, 5);
+                trainer.initialize(inputShape);
+                NDManager manager = trainer.getManager();
+                NDArray data = manager.randomUniform(0, 1, inputShape);
+                // update the running statistics of the batch norms
+                for (int i = 0; i < 3; ++i) {
+                    trainer.forward(new NDList(data.add(i)));
+                }
+                NDArray expected = trainer.evaluate(new NDList(data)).singletonOrThrow();
+
+                Assert.assertEquals(BlockFusion.fuse(block), 2);
+                Assert.assertEquals(block.getChildren().size(), 3);
+                FusedBlock fused = (FusedBlock) block.getChildren().get(0).getValue();
+                Assert.assertNotNull(fused.getActivation());
+
+                NDArray result = trainer.evaluate(new NDList(data)).singletonOrThrow();
+                Assertions.assertAlmostEquals(result, expected);
+
+                // axis 1 of a (N, T, units) output is not the output channel
+                SequentialBlock sequence = new SequentialBlock();
+                sequence.add(Linear.builder().setUnits(3).build());
+                sequence.add(BatchNorm.builder().build());
+                sequence.initialize(manager, DataType.FLOAT32, new Shape(2, 4, 5));
+                Assert.assertEquals(BlockFusion.fuse(sequence), 0);
+            }
+        }
+    }
+
+    @Test
+    public void testBlockQuantization() throws IOException, MalformedModelException {
+        TrainingConfig config = new DefaultTrainingConfig(Loss.l2Loss());
+        SequentialBlock block = newQuantizationBlock();
+
+        try (Model model = Model.newInstance("model", TestUtils.getEngine())) {
+            model.setBlock(block);
+
+            try (Trainer trainer = model.newTrainer(config)) {
+                Shape inputShape = new Shape(2, 2, 5, 5);
+                trainer.initialize(inputShape);
+                NDManager manager = trainer.getManager();
+                NDArray data = manager.randomUniform(0, 1, inputShape);
+                NDArray expected = trainer.evaluate(new NDList(data)).singletonOrThrow();
+
+                Assert.assertEquals(BlockQuantization.quantize(block, DataType.INT8), 2);
+                QuantizedBlock quantized = (QuantizedBlock) block.getChildren().get(0).getValue();
+                Assert.assertEquals(quantized.getQuantizedType(), DataType.INT8);
+                Parameter weight = quantized.getDirectParameters().get("weight");
+                Assert.assertEquals(weight.getArray().getDataType(), DataType.INT8);
+
+                NDArray result = trainer.evaluate(new NDList(data)).singletonOrThrow();
+                Assertions.assertAlmostEquals(result, expected, 5e-2, 5e-2);
+
+                // the quantized parameters are loaded into the quantized architecture
+                Path temp = Files.createTempFile("block", ".param");
+                try (DataOutputStream os = new DataOutputStream(Files.newOutputStream(temp))) {
+                    block.saveParameters(os);
+                }
+                SequentialBlock loaded = newQuantizationBlock();
+                Assert.assertEquals(BlockQuantization.quantize(loaded, DataType.INT8), 2);
+                try (DataInputStream is = new DataInputStream(Files.newInputStream(temp))) {
+                    loaded.loadParameters(manager, is);
+                }
+                Files.delete(temp);
+                NDList output =
+                        loaded.forward(
+                                new ParameterStore(manager, false), new NDList(data), false);
+                Assertions.assertAlmostEquals(output.singletonOrThrow(), result);
+            }
+        }
+    }
+
+    @Test
+    public void testCalibratedQuantization()
+            throws IOException, MalformedModelException, TranslateException {
+        TrainingConfig config = new DefaultTrainingConfig(Loss.l2Loss());
+        SequentialBlock block = newQuantizationBlock();
+
+        try (Model model = Model.newInstance("model", TestUtils.getEngine())) {
+            model.setBlock(block);
+
+            try (Trainer trainer = model.newTrainer(config)) {
+                Shape inputShape = new Shape(2, 2, 5, 5);
+                trainer.initialize(inputShape);
+                NDManager manager = trainer.getManager();
+                NDArray data = manager.randomUniform(0, 1, new Shape(4, 2, 5, 5));
+                ArrayDataset calibration =
+                        new ArrayDataset.Builder()
+                                .setData(data)
+                                .optLabels(manager.zeros(new Shape(4)))
+                                .setSampling(2, false)
+                                .build();
+                List<String> paths =
+                        BlockQuantization.quantize(
+                                block, DataType.INT8, calibration, manager, 0.5f);
+                Assert.assertEquals(paths, Arrays.asList("01Conv2d", "04Linear"));
+                NDArray result = trainer.evaluate(new NDList(data)).singletonOrThrow();
+
+                // the paths rebuild the quantized architecture to load the parameters
+                Path temp = Files.createTempFile("block", ".param");
+                try (DataOutputStream os = new DataOutputStream(Files.newOutputStream(temp))) {
+                    block.saveParameters(os);
+                }
+                SequentialBlock loaded = newQuantizationBlock();
+                Assert.assertEquals(BlockQuantization.quantize(loaded, DataType.INT8, paths), 2);
+                try (DataInputStream is = new DataInputStream(Files.newInputStream(temp))) {
+                    loaded.loadParameters(manager, is);
+                }
+                Files.delete(temp);
+                NDList output =
+                        loaded.forward(
+                                new ParameterStore(manager, false), new NDList(data), false);
+                Assertions.assertAlmostEquals(output.singletonOrThrow(), result);
+
+                // a path that is not a quantizable block of the architecture is rejected
+                Assert.assertThrows(
+                        IllegalArgumentException.class,
+                        () ->
+                                BlockQuantization.quantize(
+                                        newQuantizationBlock(),
+                                        DataType.INT8,
+                                        Arrays.asList("02LambdaBlock")));
+            }
+        }
+    }
+
     @Test
     public void testParallelBlock() throws IOException, MalformedModelException {
         TrainingConfig config =
@@ -1050,6 +1249,65 @@ public class BlockCoreTest {
         }
     }
 
+    @Test
+    public void testBlockProfiler() {
+        TrainingConfig config =
+                new DefaultTrainingConfig(Loss.l2Loss())
+                        .optInitializer(Initializer.ONES, Parameter.Type.WEIGHT);
+        SequentialBlock block = new SequentialBlock();
+        block.add(Linear.builder().setUnits(10).build());
+        block.add(Activation::relu);
+        block.add(Linear.builder().setUnits(5).build());
+
+        try (Model model = Model.newInstance("model", TestUtils.getEngine())) {
+            model.setBlock(block);
+
+            try (Trainer trainer = model.newTrainer(config)) {
+                trainer.initialize(new Shape(2, 3));
+                NDManager manager = trainer.getManager();
+                NDArray data = manager.ones(new Shape(2, 3));
+
+                try (BlockProfiler profiler = new BlockProfiler(true)) {
+                    trainer.evaluate(new NDList(data));
+                    trainer.evaluate(new NDList(data));
+
+                    List<BlockProfiler.Node> roots = profiler.getRoots();
+                    Assert.assertEquals(roots.size(), 1);
+                    BlockProfiler.Node root = roots.get(0);
+                    Assert.assertEquals(root.getName(), "SequentialBlock");
+                    Assert.assertEquals(root.getCalls(), 2);
+                    Assert.assertTrue(root.getInclusiveNanos() >= root.getSelfNanos());
+
+                    List<BlockProfiler.Node> children = root.getChildren();
+                    Assert.assertEquals(children.size(), 3);
+                    BlockProfiler.Node linear = children.get(2);
+                    Assert.assertEquals(linear.getPath(), "SequentialBlock/03Linear");
+                    Assert.assertEquals(linear.getCalls(), 2);
+                    Assert.assertEquals(linear.getOutputElements(), 20);
+                    Assert.assertTrue(profiler.toJson().contains("01Linear"));
+
+                    // another instance at the same path is labeled with its own child names
+                    SequentialBlock other = new SequentialBlock().add(Activation::relu);
+                    other.initialize(manager, DataType.FLOAT32, new Shape(2, 3));
+                    other.forward(new ParameterStore(manager, false), new NDList(data), false);
+                    Assert.assertTrue(
+                            profiler.getRoots().get(0).getChildren().stream()
+                                    .anyMatch(n -> "01LambdaBlock".equals(n.getName())));
+                }
+                Assert.assertNull(BlockProfiler.current());
+            }
+        }
+    }
+
+    private static SequentialBlock newQuantizationBlock() {
+        SequentialBlock block = new SequentialBlock();
+        block.add(Conv2d.builder().setKernelShape(new Shape(3, 3)).setFilters(4).build());
+        block.add(Activation.reluBlock());
+        block.add(Blocks.batchFlattenBlock());
+        block.add(Linear.builder().setUnits(3).build());
+        return block;
+    }
+
     private void testEncode(NDManager manager, Block block)
             throws IOException, MalformedModelException {
         PairList<String, Parameter> original = block.getParameters();
@@ -18,6 +18,7 @@ import ai.djl.Model;
 import ai.djl.ModelException;
 import ai.djl.inference.Predictor;
 import ai.djl.integration.util.TestUtils;
+import ai.djl.metric.Metrics;
 import ai.djl.modality.Classifications;
 import ai.djl.modality.cv.Image;
 import ai.djl.ndarray.NDList;
@@ -30,6 +31,7 @@ import ai.djl.nn.SymbolBlock;
 import ai.djl.nn.core.Linear;
 import ai.djl.repository.zoo.Criteria;
 import ai.djl.repository.zoo.ModelNotFoundException;
+import ai.djl.repository.zoo.WarmUp;
 import ai.djl.repository.zoo.ZooModel;
 import ai.djl.training.ParameterStore;
 import ai.djl.training.util.ProgressBar;
@@ -45,6 +47,8 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class BlockFactoryTest {
 
@@ -60,19 +64,31 @@ public class BlockFactoryTest {
             throw new UnsupportedOperationException(
                     "No test model for engine: " + TestUtils.getEngine(), e);
         }
-        // load model from here
+        // load model from here, warming it up on the threads that call it
+        ExecutorService executor = Executors.newFixedThreadPool(2);
         Criteria<NDList, NDList> criteria =
                 Criteria.builder()
                         .setTypes(NDList.class, NDList.class)
                         .optModelPath(zipPath)
                         .optModelName("exported")
                         .optEngine(TestUtils.getEngine())
+                        .optWarmUp(
+                                WarmUp.<NDList>builder()
+                                        .addShapes(new Shape(1, 3, 32, 32))
+                                        .optThreads(2)
+                                        .optExecutor(executor)
+                                        .build())
                         .build();
         try (ZooModel<NDList, NDList> model = criteria.loadModel();
                 Predictor<NDList, NDList> pred = model.newPredictor()) {
+            // 2 iterations on each of the 2 threads
+            Metrics metrics = model.getWarmUpMetrics();
+            Assert.assertEquals(metrics.getMetric(WarmUp.METRIC_NAME).size(), 4);
             NDManager manager = model.getNDManager();
             NDList destOut = pred.predict(new NDList(manager.ones(new Shape(1, 3, 32, 32))));
             Assert.assertEquals(destOut.singletonOrThrow().getShape(), new Shape(1, 10));
+        } finally {
+            executor.shutdown();
         }
     }
 
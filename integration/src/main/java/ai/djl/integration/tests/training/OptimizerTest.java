@@ -19,6 +19,7 @@ import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDArrays;
 import ai.djl.ndarray.NDList;
 import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.DataType;
 import ai.djl.ndarray.types.Shape;
 import ai.djl.nn.Block;
 import ai.djl.nn.Parameter;
@@ -26,6 +27,9 @@ import ai.djl.nn.core.Linear;
 import ai.djl.testing.Assertions;
 import ai.djl.training.DefaultTrainingConfig;
 import ai.djl.training.EasyTrain;
+import ai.djl.training.LocalParameterServer;
+import ai.djl.training.ParameterServer;
+import ai.djl.training.ShardedParameterServer;
 import ai.djl.training.Trainer;
 import ai.djl.training.TrainingConfig;
 import ai.djl.training.dataset.Batch;
@@ -35,12 +39,19 @@ import ai.djl.training.optimizer.Optimizer;
 import ai.djl.training.tracker.Tracker;
 import ai.djl.translate.Batchifier;
 
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class OptimizerTest {
 
     private static final int BATCH_SIZE = 10;
     private static final int CHANNELS = 10;
+    private static final int[] SHARDED_SIZES = {8, 4, 4, 2};
 
     @Test
     public void testSgd() {
@@ -327,6 +338,95 @@ public class OptimizerTest {
         }
     }
 
+    @Test
+    public void testShardedAdam() {
+        Device[] devices = TestUtils.getDevices(2);
+        if (devices.length < 2) {
+            // DJL has a single CPU device, the replicas of a CPU-only machine share it
+            devices = new Device[] {Device.cpu(), Device.cpu()};
+        }
+        try (NDManager manager = NDManager.newBaseManager(TestUtils.getEngine())) {
+            RecordingAdam localOptim = new RecordingAdam();
+            NDArray[][] local;
+            try (ParameterServer server = new LocalParameterServer(localOptim)) {
+                local = updateParameters(manager, devices, server);
+            }
+
+            RecordingAdam shardedOptim = new RecordingAdam();
+            try (ShardedParameterServer server = new ShardedParameterServer(shardedOptim)) {
+                NDArray[][] sharded = updateParameters(manager, devices, server);
+                // each parameter goes to the device that owns the fewest elements so far
+                Assert.assertEquals(server.getShardSizes(), new long[] {10, 8});
+                int last = devices.length - 1;
+                for (int i = 0; i < SHARDED_SIZES.length; ++i) {
+                    String parameterId = "weight" + i;
+                    int owner = server.getShard(parameterId);
+                    Assert.assertEquals(owner, i == 1 || i == 2 ? 1 : 0);
+                    // the optimizer state is only kept for the replica of the owner
+                    List<NDArray> updated = shardedOptim.updated.get(parameterId);
+                    Assert.assertEquals(updated.size(), 3);
+                    for (NDArray weight : updated) {
+                        Assert.assertSame(weight, sharded[i][owner]);
+                    }
+                    Assert.assertEquals(localOptim.updated.get(parameterId).size(), 6);
+
+                    NDArray expected = updateReference(manager, SHARDED_SIZES[i], parameterId);
+                    for (NDArray replica : sharded[i]) {
+                        NDArray value = replica.toDevice(Device.cpu(), false);
+                        Assertions.assertAlmostEquals(value, expected);
+                    }
+                    if (!devices[0].equals(devices[last])) {
+                        // the replicas of the local server only share its state on the same device
+                        Assertions.assertAlmostEquals(
+                                sharded[i][last].toDevice(Device.cpu(), false),
+                                local[i][last].toDevice(Device.cpu(), false));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Replays what the {@link LocalParameterServer} computes for the last of 2 replicas on their
+     * own devices: the update count of the first replica, then the update with the sum of the
+     * gradients.
+     */
+    private static NDArray updateReference(NDManager manager, int size, String parameterId) {
+        Optimizer adam = Optimizer.adam().optLearningRateTracker(Tracker.fixed(0.1f)).build();
+        NDArray weight = manager.ones(new Shape(size));
+        for (int step = 0; step < 3; ++step) {
+            NDArray grad = manager.zeros(new Shape(size));
+            for (int i = 0; i < 2; ++i) {
+                grad = grad.add(manager.arange(size).toType(DataType.FLOAT32, false).add(step + i));
+            }
+            adam.skipUpdate(parameterId);
+            adam.update(parameterId, weight, grad);
+        }
+        return weight;
+    }
+
+    private static NDArray[][] updateParameters(
+            NDManager manager, Device[] devices, ParameterServer server) {
+        NDArray[][] replicas = new NDArray[SHARDED_SIZES.length][];
+        for (int p = 0; p < SHARDED_SIZES.length; ++p) {
+            int size = SHARDED_SIZES[p];
+            NDArray[] params = new NDArray[devices.length];
+            for (int i = 0; i < devices.length; ++i) {
+                params[i] = manager.ones(new Shape(size), DataType.FLOAT32, devices[i]);
+            }
+            for (int step = 0; step < 3; ++step) {
+                NDArray[] grads = new NDArray[devices.length];
+                for (int i = 0; i < devices.length; ++i) {
+                    NDArray grad = manager.arange(size).toType(DataType.FLOAT32, false);
+                    grads[i] = grad.add(step + i).toDevice(devices[i], false);
+                }
+                server.update("weight" + p, grads, params);
+            }
+            replicas[p] = params;
+        }
+        return replicas;
+    }
+
     private NDArray runOptimizer(NDManager manager, Trainer trainer, Block block, int batchSize) {
         NDArray data = manager.ones(new Shape(batchSize, CHANNELS)).mul(2);
         NDArray label = data.mul(2);
@@ -348,4 +448,29 @@ public class OptimizerTest {
                                 .map(paramPair -> paramPair.getValue().getArray().mean())
                                 .toArray(NDArray[]::new)));
     }
+
+    /** An Adam {@link Optimizer} that records the replicas it updates. */
+    private static final class RecordingAdam extends Optimizer {
+
+        Map<String, List<NDArray>> updated = new ConcurrentHashMap<>();
+        private Optimizer adam;
+
+        RecordingAdam() {
+            super(Optimizer.adam());
+            adam = Optimizer.adam().optLearningRateTracker(Tracker.fixed(0.1f)).build();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void skipUpdate(String parameterId) {
+            adam.skipUpdate(parameterId);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void update(String parameterId, NDArray weight, NDArray grad) {
+            updated.computeIfAbsent(parameterId, k -> new ArrayList<>()).add(weight);
+            adam.update(parameterId, weight, grad);
+        }
+    }
 }
@@ -12,6 +12,7 @@
  */
 package ai.djl.integration.util;
 
+import ai.djl.engine.CpuTopology;
 import ai.djl.engine.Engine;
 
 import java.io.IOException;
@@ -48,6 +49,7 @@ public final class DebugEnvironment {
 
         /* Total number of processors or cores available to the JVM */
         System.out.println("Available processors (cores): " + rt.availableProcessors());
+        System.out.println("CPU topology: " + CpuTopology.getInstance());
 
         System.out.println("Byte Order: " + ByteOrder.nativeOrder().toString());
 